@@ -11,11 +11,7 @@ data class ProductDto(
 )
 
 data class PageDto<T>(
-    val content: List<T>,
-    val totalElements: Long,
-    val totalPages: Int,
-    val first: Boolean,
-    val last: Boolean,
-    val numberOfElements: Int
-    // pageable exists too, but you don't need it for UI
+    val items: List<T>,
+    val nextCursor: String? = null, // null on the last page
+    val total: Long? = null         // only sent with includeTotal=true
 )
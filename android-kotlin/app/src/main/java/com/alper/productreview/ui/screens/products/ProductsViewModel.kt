@@ -47,7 +47,7 @@ class ProductsViewModel(
                 val base = if (reset) emptyList() else s.items
 
                 // Merge + dedupe by stable key (id) to avoid Compose duplicate-key crashes
-                val merged = (base + resp.content).distinctBy { it.id }
+                val merged = (base + resp.items).distinctBy { it.id }
 
                 // If this page adds nothing new (overlap due to unstable sort),
                 // don't keep advancing forever.
@@ -57,7 +57,7 @@ class ProductsViewModel(
                     items = merged,
                     isLoading = false,
                     page = if (addedSomething) nextPage + 1 else nextPage,
-                    isLast = resp.last || !addedSomething
+                    isLast = resp.nextCursor == null || !addedSomething
                 )
             } catch (e: Exception) {
                 _state.value = _state.value.copy(
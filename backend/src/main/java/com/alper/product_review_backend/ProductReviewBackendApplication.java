@@ -2,8 +2,10 @@ package com.alper.product_review_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProductReviewBackendApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,178 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.CatalogFacetsDto;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Product counts per category, price range and rating band.
+ *
+ * Counts are adjusted per changed product rather than recounted: each product's current buckets
+ * are remembered, so an upsert moves it from its old buckets to its new ones and a removal takes
+ * it out. Rating bands are stored disjoint (by whole star) and summed into "at least n stars"
+ * counts when read, matching the listing's {@code minRating} filter. Categories are counted by
+ * the id of their row, as stored on the product, and named when the counts are read.
+ */
+final class CatalogFacets {
+
+    // Lower bounds of the price ranges in cents; the last range has no upper bound
+    static final long[] PRICE_BOUNDS = {0, 25_00, 50_00, 100_00, 250_00, 500_00, 1_000_00};
+
+    // "At least n stars" bands reported, highest first
+    static final int[] MIN_RATINGS = {4, 3, 2, 1};
+
+    private final ToIntFunction<String> categoryIds;
+    private final IntFunction<String> categoryNames;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Long> categoryCounts = new HashMap<>();
+    private final long[] priceCounts = new long[PRICE_BOUNDS.length];
+    // Index = whole stars of the average rating, 0-5
+    private final long[] starCounts = new long[6];
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private CatalogFacets(ToIntFunction<String> categoryIds, IntFunction<String> categoryNames) {
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+    }
+
+    /**
+     * Count {@code rows}, resolving category names to ids and back through the given functions.
+     */
+    static CatalogFacets build(Collection<CatalogRow> rows, ToIntFunction<String> categoryIds,
+                               IntFunction<String> categoryNames) {
+        CatalogFacets facets = new CatalogFacets(categoryIds, categoryNames);
+        for (CatalogRow row : rows) {
+            facets.add(facets.entry(row));
+        }
+        return facets;
+    }
+
+    /**
+     * Apply committed changes. Upserts older than the counted version of the product are ignored.
+     */
+    void apply(Collection<CatalogRow> upserts, Collection<Long> removedIds) {
+        // Resolved before taking the lock, so readers never wait on a category lookup
+        List<Entry> added = new ArrayList<>(upserts.size());
+        for (CatalogRow row : upserts) {
+            added.add(entry(row));
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : removedIds) {
+                Entry existing = entries.get(id);
+                if (existing != null) {
+                    remove(existing);
+                }
+            }
+            for (Entry entry : added) {
+                Entry existing = entries.get(entry.id);
+                if (existing != null && entry.version < existing.version) {
+                    continue;
+                }
+                if (existing != null) {
+                    remove(existing);
+                }
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Current counts; categories by count (largest first), then name.
+     */
+    CatalogFacetsDto counts() {
+        lock.readLock().lock();
+        try {
+            List<CatalogFacetsDto.CategoryFacet> categories = new ArrayList<>(categoryCounts.size());
+            categoryCounts.forEach((categoryId, count) -> categories.add(
+                    new CatalogFacetsDto.CategoryFacet(categoryNames.apply(categoryId), count)));
+            categories.sort(Comparator.comparingLong(CatalogFacetsDto.CategoryFacet::getCount).reversed()
+                    .thenComparing(CatalogFacetsDto.CategoryFacet::getCategory));
+
+            List<CatalogFacetsDto.PriceRangeFacet> priceRanges = new ArrayList<>(PRICE_BOUNDS.length);
+            for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+                BigDecimal max = i + 1 < PRICE_BOUNDS.length ? BigDecimal.valueOf(PRICE_BOUNDS[i + 1], 2) : null;
+                priceRanges.add(new CatalogFacetsDto.PriceRangeFacet(
+                        BigDecimal.valueOf(PRICE_BOUNDS[i], 2), max, priceCounts[i]));
+            }
+
+            List<CatalogFacetsDto.RatingFacet> ratings = new ArrayList<>(MIN_RATINGS.length);
+            for (int minRating : MIN_RATINGS) {
+                long count = 0;
+                for (int stars = minRating; stars < starCounts.length; stars++) {
+                    count += starCounts[stars];
+                }
+                ratings.add(new CatalogFacetsDto.RatingFacet(minRating, count));
+            }
+            return new CatalogFacetsDto(entries.size(), categories, priceRanges, ratings);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the counts per category id equal {@code expected}, e.g. as counted by the database.
+     */
+    boolean categoryCountsEqual(Map<Integer, Long> expected) {
+        lock.readLock().lock();
+        try {
+            return categoryCounts.equals(expected);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int priceRange(long priceCents) {
+        int range = 0;
+        while (range + 1 < PRICE_BOUNDS.length && priceCents >= PRICE_BOUNDS[range + 1]) {
+            range++;
+        }
+        return range;
+    }
+
+    private Entry entry(CatalogRow row) {
+        return new Entry(row, categoryIds.applyAsInt(row.getCategory()));
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        categoryCounts.merge(entry.categoryId, 1L, Long::sum);
+        priceCounts[entry.priceRange]++;
+        starCounts[entry.stars]++;
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.id);
+        categoryCounts.computeIfPresent(entry.categoryId, (categoryId, count) -> count > 1 ? count - 1 : null);
+        priceCounts[entry.priceRange]--;
+        starCounts[entry.stars]--;
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final int categoryId;
+        private final int priceRange;
+        private final int stars;
+        private final long version;
+
+        private Entry(CatalogRow row, int categoryId) {
+            this.id = row.getId();
+            this.categoryId = categoryId;
+            this.priceRange = priceRange(row.getPriceCents());
+            this.stars = (int) Math.max(0, Math.min(5, Math.floor(row.getAverageRating())));
+            this.version = row.getVersion();
+        }
+    }
+}
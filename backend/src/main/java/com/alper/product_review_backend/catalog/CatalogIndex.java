@@ -0,0 +1,248 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.CatalogFacetsDto;
+import com.alper.product_review_backend.dto.LeaderboardEntryDto;
+import com.alper.product_review_backend.dto.ProductSuggestionDto;
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.projection.CatalogFreshness;
+import com.alper.product_review_backend.repository.projection.CategoryCount;
+import com.alper.product_review_backend.service.CategoryDictionary;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serves product listings from an in-memory {@link CatalogSnapshot}, name completions from a
+ * {@link ProductNameIndex}, typo-tolerant name lookups from a {@link FuzzyNameIndex}, facet
+ * counts from {@link CatalogFacets} and per-category top-rated lists from {@link CategoryLeaderboards}.
+ *
+ * The snapshot is loaded once at startup and replaced copy-on-write as products change:
+ * writes stage their changed rows on the current transaction and the whole batch is applied
+ * in one copy after commit, so readers never see uncommitted rows and a 1000-row import chunk
+ * costs one copy rather than a thousand. A periodic check against the database's catalog
+ * watermark reloads the snapshot if a change was missed (e.g. written by another node); the
+ * same check compares the facet counts with a per-category count from the database.
+ */
+@Slf4j
+@Component
+public class CatalogIndex {
+
+    private final ProductRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final Object writeLock = new Object();
+
+    private volatile CatalogSnapshot snapshot;
+    // Replaced together with the snapshot on reload, written before it so a loaded snapshot implies them
+    private volatile ProductNameIndex nameIndex;
+    private volatile FuzzyNameIndex fuzzyIndex;
+    private volatile CatalogFacets facets;
+    private volatile CategoryLeaderboards leaderboards;
+
+    public CatalogIndex(ProductRepository productRepository, CategoryDictionary categoryDictionary) {
+        this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    /**
+     * The current snapshot, loading it first if the index has not been built yet.
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    /**
+     * Rebuild the snapshot from the database. Commits applied concurrently wait for the load
+     * and are then applied on top of it.
+     */
+    public CatalogSnapshot reload() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            List<CatalogRow> rows = productRepository.findCatalogRows();
+            CatalogSnapshot loaded = CatalogSnapshot.build(rows);
+            nameIndex = ProductNameIndex.build(rows);
+            fuzzyIndex = FuzzyNameIndex.build(rows);
+            facets = CatalogFacets.build(rows, categoryDictionary::idOf, categoryDictionary::nameOf);
+            leaderboards = CategoryLeaderboards.build(rows);
+            snapshot = loaded;
+            log.info("Catalog index loaded {} products in {} ms",
+                    loaded.size(), (System.nanoTime() - start) / 1_000_000);
+            return loaded;
+        }
+    }
+
+    /**
+     * Up to {@code limit} products whose name or a word in it starts with {@code prefix},
+     * most reviewed first. Matching ignores case, accents and punctuation.
+     *
+     * @throws IllegalArgumentException if limit is not between 1 and {@value ProductNameIndex#MAX_SUGGESTIONS}
+     */
+    public List<ProductSuggestionDto> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > ProductNameIndex.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException(
+                    "'limit' must be between 1 and " + ProductNameIndex.MAX_SUGGESTIONS);
+        }
+        current();
+        return nameIndex.suggest(prefix, limit).stream()
+                .map(entry -> new ProductSuggestionDto(
+                        entry.getId(), entry.getName(), entry.getCategory(), entry.getReviewCount()))
+                .toList();
+    }
+
+    /**
+     * Up to {@code limit} products whose name contains a close match (a typo or two, depending on
+     * length) for every word of {@code query}, fewest typos first, then most reviewed.
+     *
+     * @throws IllegalArgumentException if limit is not between 1 and {@value FuzzyNameIndex#MAX_RESULTS}
+     */
+    public List<ProductSummaryDto> fuzzySearch(String query, int limit) {
+        if (limit < 1 || limit > FuzzyNameIndex.MAX_RESULTS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + FuzzyNameIndex.MAX_RESULTS);
+        }
+        CatalogSnapshot catalog = current();
+        return fuzzyIndex.search(query, limit).stream()
+                .map(catalog::find)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Product counts per category, price range and minimum rating across the whole catalog.
+     */
+    public CatalogFacetsDto facets() {
+        current();
+        return facets.counts();
+    }
+
+    /**
+     * Up to {@code limit} products of {@code category} with the highest Bayesian rating, best first;
+     * empty for an unknown category. Costs the same however large the catalog or category.
+     *
+     * @throws IllegalArgumentException if category is blank or limit is not between 1 and
+     *         {@value CategoryLeaderboards#MAX_RESULTS}
+     */
+    public List<LeaderboardEntryDto> leaderboard(String category, int limit) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("'category' is required");
+        }
+        if (limit < 1 || limit > CategoryLeaderboards.MAX_RESULTS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + CategoryLeaderboards.MAX_RESULTS);
+        }
+        current();
+        List<CatalogRow> rows = leaderboards.top(category, limit);
+        List<LeaderboardEntryDto> entries = new ArrayList<>(rows.size());
+        for (CatalogRow row : rows) {
+            entries.add(new LeaderboardEntryDto(entries.size() + 1, row.getId(), row.getName(),
+                    BigDecimal.valueOf(row.getPriceCents(), 2), row.getAverageRating(), row.getReviewCount(),
+                    row.getBayesianRating()));
+        }
+        return entries;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.index.reconcile-interval:30s}",
+            initialDelayString = "${catalog.index.reconcile-interval:30s}")
+    public void reconcile() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        CatalogFreshness database = productRepository.findCatalogFreshness();
+        if (!current.matches(database)) {
+            log.info("Catalog index out of date (index: {} products, database: {}); reloading",
+                    current.getProductCount(), database.getProductCount());
+            reload();
+            return;
+        }
+        Map<Integer, Long> categoryCounts = productRepository.findCategoryCounts().stream()
+                .collect(Collectors.toMap(CategoryCount::getCategoryId, CategoryCount::getProductCount));
+        if (!facets.categoryCountsEqual(categoryCounts)) {
+            log.warn("Catalog facet counts differ from the database; reloading");
+            reload();
+        }
+    }
+
+    /**
+     * Record a created or updated product, applied to the index when the surrounding transaction commits.
+     */
+    public void stageUpsert(CatalogRow row) {
+        stage(List.of(row), List.of());
+    }
+
+    /**
+     * Record a deleted product, applied to the index when the surrounding transaction commits.
+     */
+    public void stageRemoval(Long productId) {
+        stage(List.of(), List.of(productId));
+    }
+
+    private void stage(List<CatalogRow> upserts, List<Long> removedIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Outside a transaction the change is already committed
+            apply(upserts, removedIds);
+            return;
+        }
+        PendingChanges pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges candidate && candidate.owner() == this) {
+                pending = candidate;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        // Removals are applied before upserts, so a product written and then deleted in one transaction is dropped here
+        if (!removedIds.isEmpty()) {
+            pending.upserts.removeIf(row -> removedIds.contains(row.getId()));
+        }
+        pending.upserts.addAll(upserts);
+        pending.removedIds.addAll(removedIds);
+    }
+
+    private void apply(List<CatalogRow> upserts, List<Long> removedIds) {
+        synchronized (writeLock) {
+            CatalogSnapshot current = snapshot;
+            // Not loaded yet: the initial load will read these rows from the database
+            if (current != null) {
+                snapshot = current.apply(upserts, removedIds);
+                nameIndex.apply(upserts, removedIds);
+                fuzzyIndex.apply(upserts, removedIds);
+                facets.apply(upserts, removedIds);
+                leaderboards.apply(upserts, removedIds);
+            }
+        }
+    }
+
+    // One per transaction; collects every product change so the index is copied once per commit
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<CatalogRow> upserts = new ArrayList<>();
+        private final List<Long> removedIds = new ArrayList<>();
+
+        private CatalogIndex owner() {
+            return CatalogIndex.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(upserts, removedIds);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.domain.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the {@link CatalogIndex} in step with entity writes to {@link Product}, and drops deleted
+ * products from the {@link TrendingIndex}.
+ * Bulk JPQL updates bypass entity callbacks and stage their rows explicitly.
+ * Instantiated by Hibernate through Spring's bean container; the indexes are looked up lazily
+ * because they depend on the repositories that are still being built when listeners are created.
+ */
+public class CatalogIndexListener {
+
+    private final ObjectProvider<CatalogIndex> catalogIndex;
+    private final ObjectProvider<TrendingIndex> trendingIndex;
+
+    public CatalogIndexListener(ObjectProvider<CatalogIndex> catalogIndex, ObjectProvider<TrendingIndex> trendingIndex) {
+        this.catalogIndex = catalogIndex;
+        this.trendingIndex = trendingIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Product product) {
+        catalogIndex.ifAvailable(index -> index.stageUpsert(CatalogRow.of(product)));
+    }
+
+    @PostRemove
+    void onRemoved(Product product) {
+        catalogIndex.ifAvailable(index -> index.stageRemoval(product.getId()));
+        trendingIndex.ifAvailable(index -> index.stageRemoval(product.getId()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One window of a catalog query; {@code total} is only set when the query asked for it.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogPage {
+
+    private final List<ProductSummaryDto> items;
+    private final boolean hasNext;
+    private final Long total;
+}
@@ -0,0 +1,98 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.ProductFilter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A listing request translated to index terms: one sort key, filters in index units, and an offset window.
+ */
+@Getter
+public class CatalogQuery {
+
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final String category;
+    private final Long minPriceCents;
+    private final Long maxPriceCents;
+    private final Double minRating;
+    private final long offset;
+    private final int limit;
+    private final boolean countTotal;
+
+    public CatalogQuery(SortKey sortKey, boolean descending, String category,
+                        Long minPriceCents, Long maxPriceCents, Double minRating,
+                        long offset, int limit, boolean countTotal) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.category = category;
+        this.minPriceCents = minPriceCents;
+        this.maxPriceCents = maxPriceCents;
+        this.minRating = minRating;
+        this.offset = offset;
+        this.limit = limit;
+        this.countTotal = countTotal;
+    }
+
+    /**
+     * Builds the query for a listing request. Prices are converted to cents, rounded inwards.
+     *
+     * @throws IllegalArgumentException if the sort is on an unsupported property or has more than one order,
+     *                                  or the filter bounds are inconsistent
+     */
+    public static CatalogQuery from(ProductFilter filter, Pageable pageable, boolean countTotal) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("Sorting by more than one property is not supported");
+        }
+
+        SortKey key = SortKey.ID;
+        boolean descending = false;
+        if (!orders.isEmpty()) {
+            Sort.Order order = orders.get(0);
+            key = SortKey.fromProperty(order.getProperty())
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort property: " + order.getProperty()
+                            + " (supported: " + supportedProperties() + ")"));
+            descending = order.isDescending();
+        }
+
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("'minPrice' must not be greater than 'maxPrice'");
+        }
+        if (filter.getMinRating() != null && (filter.getMinRating() < 0 || filter.getMinRating() > 5)) {
+            throw new IllegalArgumentException("'minRating' must be between 0 and 5");
+        }
+
+        return new CatalogQuery(
+                key,
+                descending,
+                filter.getCategory(),
+                toCents(filter.getMinPrice(), RoundingMode.CEILING),
+                toCents(filter.getMaxPrice(), RoundingMode.FLOOR),
+                filter.getMinRating(),
+                pageable.getOffset(),
+                pageable.getPageSize(),
+                countTotal);
+    }
+
+    boolean hasFilters() {
+        return category != null || minPriceCents != null || maxPriceCents != null || minRating != null;
+    }
+
+    private static Long toCents(BigDecimal price, RoundingMode rounding) {
+        return price != null ? price.setScale(2, rounding).unscaledValue().longValueExact() : null;
+    }
+
+    private static String supportedProperties() {
+        return Arrays.stream(SortKey.values())
+                .map(SortKey::getProperty)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,58 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.domain.Product;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The listing columns of one product, as loaded into or patched into the catalog index.
+ */
+@Getter
+@ToString
+public class CatalogRow {
+
+    private final long id;
+    private final String name;
+    private final String category;
+    private final long priceCents;
+    private final double averageRating;
+    private final long reviewCount;
+    private final double bayesianRating;
+    private final double wilsonScore;
+    private final long version;
+    private final Instant updatedAt;
+
+    // Used by the JPQL constructor expression in ProductRepository.findCatalogRows
+    public CatalogRow(Long id, String name, String category, BigDecimal price,
+                      double averageRating, long reviewCount, double bayesianRating, double wilsonScore,
+                      Long version, Instant updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        // Same rounding the numeric(10, 2) column applies on insert
+        this.priceCents = price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.bayesianRating = bayesianRating;
+        this.wilsonScore = wilsonScore;
+        this.version = version != null ? version : 0L;
+        this.updatedAt = updatedAt;
+    }
+
+    public static CatalogRow of(Product product) {
+        return new CatalogRow(
+                product.getId(),
+                product.getName(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getAverageRating(),
+                product.getReviewCount(),
+                product.getBayesianRating(),
+                product.getWilsonScore(),
+                product.getVersion(),
+                product.getUpdatedAt());
+    }
+}
@@ -0,0 +1,391 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.repository.projection.CatalogFreshness;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable, columnar copy of the product listing columns.
+ *
+ * Rows are stored by position in id order across parallel primitive arrays; categories are
+ * dictionary-encoded against a sorted dictionary so code order is alphabetical order. Sort
+ * permutations are computed on first use and cached per snapshot. Writers never mutate a
+ * snapshot: {@link #apply} returns a new one, carrying over cached orders the change cannot affect.
+ */
+public final class CatalogSnapshot implements CatalogFreshness {
+
+    private static final CatalogSnapshot EMPTY = build(List.of());
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] categoryDictionary;
+    private final int[] categoryCodes;
+    private final long[] priceCents;
+    private final double[] averageRatings;
+    private final long[] reviewCounts;
+    private final double[] bayesianRatings;
+    private final double[] wilsonScores;
+    private final long[] versions;
+    private final Instant[] updatedAts;
+
+    private final long versionSum;
+    private final Instant lastUpdatedAt;
+
+    // Slot = key.ordinal() * 2 + (descending ? 1 : 0)
+    private final AtomicReferenceArray<int[]> orders = new AtomicReferenceArray<>(SortKey.values().length * 2);
+
+    private CatalogSnapshot(long[] ids, String[] names, String[] categoryDictionary, int[] categoryCodes,
+                            long[] priceCents, double[] averageRatings, long[] reviewCounts,
+                            double[] bayesianRatings, double[] wilsonScores, long[] versions, Instant[] updatedAts) {
+        this.ids = ids;
+        this.names = names;
+        this.categoryDictionary = categoryDictionary;
+        this.categoryCodes = categoryCodes;
+        this.priceCents = priceCents;
+        this.averageRatings = averageRatings;
+        this.reviewCounts = reviewCounts;
+        this.bayesianRatings = bayesianRatings;
+        this.wilsonScores = wilsonScores;
+        this.versions = versions;
+        this.updatedAts = updatedAts;
+
+        long sum = 0;
+        Instant latest = null;
+        for (int i = 0; i < ids.length; i++) {
+            sum += versions[i];
+            if (latest == null || updatedAts[i].isAfter(latest)) {
+                latest = updatedAts[i];
+            }
+        }
+        this.versionSum = sum;
+        this.lastUpdatedAt = latest;
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot build(Collection<CatalogRow> rows) {
+        CatalogRow[] sorted = rows.toArray(CatalogRow[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(CatalogRow::getId));
+
+        Set<String> categories = new TreeSet<>();
+        for (CatalogRow row : sorted) {
+            categories.add(row.getCategory());
+        }
+        String[] dictionary = categories.toArray(String[]::new);
+
+        int n = sorted.length;
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        int[] categoryCodes = new int[n];
+        long[] priceCents = new long[n];
+        double[] averageRatings = new double[n];
+        long[] reviewCounts = new long[n];
+        double[] bayesianRatings = new double[n];
+        double[] wilsonScores = new double[n];
+        long[] versions = new long[n];
+        Instant[] updatedAts = new Instant[n];
+        for (int i = 0; i < n; i++) {
+            CatalogRow row = sorted[i];
+            ids[i] = row.getId();
+            names[i] = row.getName();
+            categoryCodes[i] = Arrays.binarySearch(dictionary, row.getCategory());
+            priceCents[i] = row.getPriceCents();
+            averageRatings[i] = row.getAverageRating();
+            reviewCounts[i] = row.getReviewCount();
+            bayesianRatings[i] = row.getBayesianRating();
+            wilsonScores[i] = row.getWilsonScore();
+            versions[i] = row.getVersion();
+            updatedAts[i] = row.getUpdatedAt();
+        }
+        return new CatalogSnapshot(ids, names, dictionary, categoryCodes,
+                priceCents, averageRatings, reviewCounts, bayesianRatings, wilsonScores, versions, updatedAts);
+    }
+
+    /**
+     * Returns a new snapshot with {@code upserts} applied and {@code removedIds} dropped.
+     * An upsert older than the row already indexed (lower version) is ignored, so
+     * out-of-order commit notifications cannot roll a row back.
+     */
+    public CatalogSnapshot apply(Collection<CatalogRow> upserts, Collection<Long> removedIds) {
+        if (upserts.isEmpty() && removedIds.isEmpty()) {
+            return this;
+        }
+        if (removedIds.isEmpty() && canPatchInPlace(upserts)) {
+            return patch(upserts);
+        }
+
+        Map<Long, CatalogRow> merged = new HashMap<>(ids.length + upserts.size());
+        for (int i = 0; i < ids.length; i++) {
+            merged.put(ids[i], row(i));
+        }
+        for (CatalogRow upsert : upserts) {
+            merged.merge(upsert.getId(), upsert,
+                    (existing, incoming) -> incoming.getVersion() >= existing.getVersion() ? incoming : existing);
+        }
+        removedIds.forEach(merged::remove);
+        return build(merged.values());
+    }
+
+    // Fast path for the common case (rating updates, edits): same ids, known categories
+    private boolean canPatchInPlace(Collection<CatalogRow> upserts) {
+        for (CatalogRow upsert : upserts) {
+            if (Arrays.binarySearch(ids, upsert.getId()) < 0
+                    || Arrays.binarySearch(categoryDictionary, upsert.getCategory()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CatalogSnapshot patch(Collection<CatalogRow> upserts) {
+        String[] newNames = names.clone();
+        int[] newCategoryCodes = categoryCodes.clone();
+        long[] newPriceCents = priceCents.clone();
+        double[] newAverageRatings = averageRatings.clone();
+        long[] newReviewCounts = reviewCounts.clone();
+        double[] newBayesianRatings = bayesianRatings.clone();
+        double[] newWilsonScores = wilsonScores.clone();
+        long[] newVersions = versions.clone();
+        Instant[] newUpdatedAts = updatedAts.clone();
+
+        boolean[] changed = new boolean[SortKey.values().length];
+        for (CatalogRow upsert : upserts) {
+            int i = Arrays.binarySearch(ids, upsert.getId());
+            if (upsert.getVersion() < newVersions[i]) {
+                continue;
+            }
+            int categoryCode = Arrays.binarySearch(categoryDictionary, upsert.getCategory());
+            changed[SortKey.NAME.ordinal()] |= !Objects.equals(newNames[i], upsert.getName());
+            changed[SortKey.CATEGORY.ordinal()] |= newCategoryCodes[i] != categoryCode;
+            changed[SortKey.PRICE.ordinal()] |= newPriceCents[i] != upsert.getPriceCents();
+            changed[SortKey.AVERAGE_RATING.ordinal()] |= newAverageRatings[i] != upsert.getAverageRating();
+            changed[SortKey.REVIEW_COUNT.ordinal()] |= newReviewCounts[i] != upsert.getReviewCount();
+            changed[SortKey.BAYESIAN_RATING.ordinal()] |= newBayesianRatings[i] != upsert.getBayesianRating();
+            changed[SortKey.WILSON_SCORE.ordinal()] |= newWilsonScores[i] != upsert.getWilsonScore();
+
+            newNames[i] = upsert.getName();
+            newCategoryCodes[i] = categoryCode;
+            newPriceCents[i] = upsert.getPriceCents();
+            newAverageRatings[i] = upsert.getAverageRating();
+            newReviewCounts[i] = upsert.getReviewCount();
+            newBayesianRatings[i] = upsert.getBayesianRating();
+            newWilsonScores[i] = upsert.getWilsonScore();
+            newVersions[i] = upsert.getVersion();
+            newUpdatedAts[i] = upsert.getUpdatedAt();
+        }
+
+        CatalogSnapshot next = new CatalogSnapshot(ids, newNames, categoryDictionary, newCategoryCodes,
+                newPriceCents, newAverageRatings, newReviewCounts, newBayesianRatings, newWilsonScores,
+                newVersions, newUpdatedAts);
+        // Positions are unchanged, so orders over columns no upsert touched stay valid
+        for (SortKey key : SortKey.values()) {
+            if (!changed[key.ordinal()]) {
+                next.orders.set(key.ordinal() * 2, orders.get(key.ordinal() * 2));
+                next.orders.set(key.ordinal() * 2 + 1, orders.get(key.ordinal() * 2 + 1));
+            }
+        }
+        return next;
+    }
+
+    public CatalogPage query(CatalogQuery query) {
+        int[] order = order(query.getSortKey(), query.isDescending());
+        long offset = query.getOffset();
+        int limit = query.getLimit();
+
+        if (!query.hasFilters()) {
+            List<ProductSummaryDto> items = new ArrayList<>();
+            for (long i = offset; i < Math.min(order.length, offset + limit); i++) {
+                items.add(summary(order[(int) i]));
+            }
+            Long total = query.isCountTotal() ? (long) order.length : null;
+            return new CatalogPage(items, offset + limit < order.length, total);
+        }
+
+        int categoryCode = -1;
+        if (query.getCategory() != null) {
+            categoryCode = Arrays.binarySearch(categoryDictionary, query.getCategory());
+            if (categoryCode < 0) {
+                return new CatalogPage(List.of(), false, query.isCountTotal() ? 0L : null);
+            }
+        }
+
+        List<ProductSummaryDto> items = new ArrayList<>();
+        boolean hasNext = false;
+        long matched = 0;
+        for (int position : order) {
+            if (!matches(position, query, categoryCode)) {
+                continue;
+            }
+            if (matched >= offset + limit) {
+                hasNext = true;
+                if (!query.isCountTotal()) {
+                    break;
+                }
+            } else if (matched >= offset) {
+                items.add(summary(position));
+            }
+            matched++;
+        }
+        return new CatalogPage(items, hasNext, query.isCountTotal() ? matched : null);
+    }
+
+    /**
+     * The summary of one product, if it is in the snapshot.
+     */
+    public Optional<ProductSummaryDto> find(long id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i >= 0 ? Optional.of(summary(i)) : Optional.empty();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean matches(CatalogFreshness freshness) {
+        return Objects.equals(getProductCount(), freshness.getProductCount())
+                && Objects.equals(getMaxId(), freshness.getMaxId())
+                && Objects.equals(getVersionSum(), freshness.getVersionSum())
+                && Objects.equals(getLastUpdatedAt(), freshness.getLastUpdatedAt());
+    }
+
+    @Override
+    public Long getProductCount() {
+        return (long) ids.length;
+    }
+
+    @Override
+    public Long getMaxId() {
+        return ids.length > 0 ? ids[ids.length - 1] : null;
+    }
+
+    @Override
+    public Long getVersionSum() {
+        return versionSum;
+    }
+
+    @Override
+    public Instant getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    private boolean matches(int i, CatalogQuery query, int categoryCode) {
+        return (categoryCode < 0 || categoryCodes[i] == categoryCode)
+                && (query.getMinPriceCents() == null || priceCents[i] >= query.getMinPriceCents())
+                && (query.getMaxPriceCents() == null || priceCents[i] <= query.getMaxPriceCents())
+                && (query.getMinRating() == null || averageRatings[i] >= query.getMinRating());
+    }
+
+    private ProductSummaryDto summary(int i) {
+        return new ProductSummaryDto(
+                ids[i],
+                names[i],
+                categoryDictionary[categoryCodes[i]],
+                BigDecimal.valueOf(priceCents[i], 2),
+                averageRatings[i],
+                reviewCounts[i]);
+    }
+
+    private CatalogRow row(int i) {
+        return new CatalogRow(ids[i], names[i], categoryDictionary[categoryCodes[i]],
+                BigDecimal.valueOf(priceCents[i], 2), averageRatings[i], reviewCounts[i],
+                bayesianRatings[i], wilsonScores[i], versions[i], updatedAts[i]);
+    }
+
+    private int[] order(SortKey key, boolean descending) {
+        int slot = key.ordinal() * 2 + (descending ? 1 : 0);
+        int[] order = orders.get(slot);
+        if (order == null) {
+            // Racing readers may both compute it; the results are identical
+            order = computeOrder(key, descending);
+            orders.set(slot, order);
+        }
+        return order;
+    }
+
+    private int[] computeOrder(SortKey key, boolean descending) {
+        int n = ids.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (key == SortKey.ID) {
+            if (descending) {
+                for (int i = 0; i < n / 2; i++) {
+                    int tmp = order[i];
+                    order[i] = order[n - 1 - i];
+                    order[n - 1 - i] = tmp;
+                }
+            }
+            return order;
+        }
+
+        PositionComparator byKey = switch (key) {
+            case NAME -> (a, b) -> names[a].compareTo(names[b]);
+            case CATEGORY -> (a, b) -> Integer.compare(categoryCodes[a], categoryCodes[b]);
+            case PRICE -> (a, b) -> Long.compare(priceCents[a], priceCents[b]);
+            case AVERAGE_RATING -> (a, b) -> Double.compare(averageRatings[a], averageRatings[b]);
+            case REVIEW_COUNT -> (a, b) -> Long.compare(reviewCounts[a], reviewCounts[b]);
+            case BAYESIAN_RATING -> (a, b) -> Double.compare(bayesianRatings[a], bayesianRatings[b]);
+            case WILSON_SCORE -> (a, b) -> Double.compare(wilsonScores[a], wilsonScores[b]);
+            case ID -> throw new IllegalStateException();
+        };
+        // Stable sort from id order, so ties stay in ascending id order in both directions
+        PositionComparator comparator = descending ? (a, b) -> byKey.compare(b, a) : byKey;
+        mergeSort(order, new int[n], 0, n, comparator);
+        return order;
+    }
+
+    private static void mergeSort(int[] a, int[] scratch, int from, int to, PositionComparator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int value = a[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(a[j], value) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = value;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, scratch, from, mid, comparator);
+        mergeSort(a, scratch, mid, to, comparator);
+        if (comparator.compare(a[mid - 1], a[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(scratch[left], scratch[right]) <= 0)) {
+                a[i] = scratch[left++];
+            } else {
+                a[i] = scratch[right++];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PositionComparator {
+        int compare(int a, int b);
+    }
+}
@@ -0,0 +1,104 @@
+package com.alper.product_review_backend.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The top-rated products of each category, kept as one list per category sorted by Bayesian
+ * rating, so the top n of a category is its first n entries however large the catalog.
+ *
+ * Lists are immutable and replaced copy-on-write: a batch of changes rebuilds only the lists of
+ * the categories it touches and publishes them together in a new map, so a reader sees every
+ * product exactly once, in its position either before or after the batch.
+ */
+final class CategoryLeaderboards {
+
+    static final int MAX_RESULTS = 50;
+
+    // Best first; more reviews breaks a tie in the rating, then the older product
+    private static final Comparator<CatalogRow> RANKING = Comparator
+            .comparingDouble(CatalogRow::getBayesianRating).reversed()
+            .thenComparing(Comparator.comparingLong(CatalogRow::getReviewCount).reversed())
+            .thenComparingLong(CatalogRow::getId);
+
+    private volatile Map<String, List<CatalogRow>> boards = Map.of();
+    // Ranked version of each product; only touched by the writer
+    private final Map<Long, CatalogRow> current = new HashMap<>();
+
+    static CategoryLeaderboards build(Collection<CatalogRow> rows) {
+        CategoryLeaderboards leaderboards = new CategoryLeaderboards();
+        leaderboards.apply(rows, List.of());
+        return leaderboards;
+    }
+
+    /**
+     * Apply committed changes. Upserts older than the ranked version of the product are ignored.
+     * Callers must not apply concurrently.
+     */
+    void apply(Collection<CatalogRow> upserts, Collection<Long> removedIds) {
+        Set<String> touched = new HashSet<>();
+        Map<String, List<CatalogRow>> added = new HashMap<>();
+        for (Long id : removedIds) {
+            CatalogRow existing = current.remove(id);
+            if (existing != null) {
+                touched.add(existing.getCategory());
+            }
+        }
+        for (CatalogRow row : upserts) {
+            CatalogRow existing = current.get(row.getId());
+            if (existing != null && row.getVersion() < existing.getVersion()) {
+                continue;
+            }
+            if (existing != null) {
+                touched.add(existing.getCategory());
+            }
+            touched.add(row.getCategory());
+            added.computeIfAbsent(row.getCategory(), category -> new ArrayList<>()).add(row);
+            current.put(row.getId(), row);
+        }
+        if (touched.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<CatalogRow>> rebuilt = new HashMap<>(boards);
+        for (String category : touched) {
+            // Keep the rows that are still the ranked version of their product, whether old or new, once each
+            List<CatalogRow> rows = new ArrayList<>();
+            Set<Long> ids = new HashSet<>();
+            for (CatalogRow row : rebuilt.getOrDefault(category, List.of())) {
+                if (current.get(row.getId()) == row && ids.add(row.getId())) {
+                    rows.add(row);
+                }
+            }
+            for (CatalogRow row : added.getOrDefault(category, List.of())) {
+                if (current.get(row.getId()) == row && ids.add(row.getId())) {
+                    rows.add(row);
+                }
+            }
+            if (rows.isEmpty()) {
+                rebuilt.remove(category);
+            } else {
+                rows.sort(RANKING);
+                rebuilt.put(category, List.copyOf(rows));
+            }
+        }
+        boards = Map.copyOf(rebuilt);
+    }
+
+    /**
+     * Up to {@code limit} products of {@code category}, best rated first; empty for an unknown category.
+     */
+    List<CatalogRow> top(String category, int limit) {
+        List<CatalogRow> board = boards.get(category);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(board.subList(0, Math.min(limit, board.size())));
+    }
+}
@@ -0,0 +1,281 @@
+package com.alper.product_review_backend.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant lookup of products by name ("senheiser" finds "Sennheiser HD 600").
+ *
+ * The words of all names form a vocabulary indexed by trigram. A query word only looks at
+ * vocabulary words sharing enough trigrams with it to possibly be within its edit budget
+ * (1 edit from 4 letters, 2 from 8), and only those are verified with a bounded Levenshtein
+ * distance. A product matches when every query word matches one of its words; fewer edits rank
+ * first, then more reviews. Writes lock the index exclusively and touch only the changed
+ * product's words.
+ */
+final class FuzzyNameIndex {
+
+    static final int MAX_RESULTS = 50;
+
+    private static final int GRAM = 3;
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt((Match match) -> match.distance)
+            .thenComparing(Comparator.comparingLong((Match match) -> match.entry.reviewCount).reversed())
+            .thenComparingLong(match -> match.entry.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Word> vocabulary = new HashMap<>();
+    private final Map<String, List<Word>> wordsByGram = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    static FuzzyNameIndex build(Collection<CatalogRow> rows) {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (CatalogRow row : rows) {
+            index.add(new Entry(row));
+        }
+        return index;
+    }
+
+    /**
+     * Apply committed changes. Upserts older than the indexed version of the product are ignored.
+     */
+    void apply(Collection<CatalogRow> upserts, Collection<Long> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : removedIds) {
+                Entry existing = entries.get(id);
+                if (existing != null) {
+                    remove(existing);
+                }
+            }
+            for (CatalogRow row : upserts) {
+                Entry existing = entries.get(row.getId());
+                if (existing != null && row.getVersion() < existing.version) {
+                    continue;
+                }
+                if (existing != null) {
+                    remove(existing);
+                }
+                add(new Entry(row));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} products whose name contains a close match for every word of the
+     * query, fewest edits first.
+     */
+    List<Long> search(String query, int limit) {
+        String normalized = ProductNameIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>(Arrays.asList(normalized.split(" ")));
+
+        lock.readLock().lock();
+        try {
+            // Per query word: product id -> fewest edits to any of the product's words
+            List<Map<Long, Integer>> perToken = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Map<Long, Integer> products = matchToken(token);
+                if (products.isEmpty()) {
+                    return List.of();
+                }
+                perToken.add(products);
+            }
+            perToken.sort(Comparator.comparingInt(Map::size));
+
+            List<Match> matches = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Integer> candidate : perToken.get(0).entrySet()) {
+                int distance = candidate.getValue();
+                for (int i = 1; i < perToken.size(); i++) {
+                    Integer other = perToken.get(i).get(candidate.getKey());
+                    if (other == null) {
+                        continue candidates;
+                    }
+                    distance += other;
+                }
+                matches.add(new Match(entries.get(candidate.getKey()), distance));
+            }
+            matches.sort(RANKING);
+            return matches.stream().limit(limit).map(match -> match.entry.id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Typos allowed per word length: none below 4 letters, so short words must match exactly
+    static int maxEdits(int length) {
+        return length < 4 ? 0 : length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance of a and b, or {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private Map<Long, Integer> matchToken(String token) {
+        int maxEdits = maxEdits(token.length());
+        Set<String> grams = grams(token);
+
+        Map<Word, int[]> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (Word word : wordsByGram.getOrDefault(gram, List.of())) {
+                shared.computeIfAbsent(word, key -> new int[1])[0]++;
+            }
+        }
+
+        // One edit changes at most GRAM of the query word's trigrams
+        int needed = grams.size() - GRAM * maxEdits;
+        Map<Long, Integer> products = new HashMap<>();
+        for (Map.Entry<Word, int[]> entry : shared.entrySet()) {
+            Word word = entry.getKey();
+            if (entry.getValue()[0] < needed) {
+                continue;
+            }
+            int distance = boundedDistance(token, word.text, maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+            for (Long productId : word.products) {
+                products.merge(productId, distance, Math::min);
+            }
+        }
+        return products;
+    }
+
+    // Trigrams of the word padded with two spaces on each side, so short words still have some
+    private static Set<String> grams(String word) {
+        String padded = "  " + word + "  ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        for (String text : entry.words) {
+            Word word = vocabulary.get(text);
+            if (word == null) {
+                word = new Word(text);
+                vocabulary.put(text, word);
+                for (String gram : word.grams) {
+                    wordsByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(word);
+                }
+            }
+            word.products.add(entry.id);
+        }
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.id);
+        for (String text : entry.words) {
+            Word word = vocabulary.get(text);
+            if (word == null) {
+                continue;
+            }
+            word.products.remove(entry.id);
+            if (word.products.isEmpty()) {
+                vocabulary.remove(text);
+                for (String gram : word.grams) {
+                    List<Word> words = wordsByGram.get(gram);
+                    words.remove(word);
+                    if (words.isEmpty()) {
+                        wordsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Word {
+
+        private final String text;
+        private final String[] grams;
+        private final Set<Long> products = new HashSet<>();
+
+        private Word(String text) {
+            this.text = text;
+            this.grams = grams(text).toArray(String[]::new);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final long reviewCount;
+        private final String[] words;
+        private final long version;
+
+        private Entry(CatalogRow row) {
+            this.id = row.getId();
+            this.reviewCount = row.getReviewCount();
+            String normalized = ProductNameIndex.normalize(row.getName());
+            this.words = normalized.isEmpty()
+                    ? new String[0]
+                    : new LinkedHashSet<>(Arrays.asList(normalized.split(" "))).toArray(String[]::new);
+            this.version = row.getVersion();
+        }
+    }
+
+    private static final class Match {
+
+        private final Entry entry;
+        private final int distance;
+
+        private Match(Entry entry, int distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.alper.product_review_backend.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over product names: a compressed trie keyed by the normalized name and by every word
+ * suffix of it ("samsung galaxy s24", "galaxy s24", "s24"), so a prefix of any word matches.
+ *
+ * Every node keeps the best {@link #MAX_SUGGESTIONS} products of its subtree ranked by review
+ * count, so a lookup is a walk down the prefix plus a copy of at most that many entries however
+ * many names share the prefix. Writes lock the trie exclusively and repair the ranked lists along
+ * the touched paths only.
+ */
+final class ProductNameIndex {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    // Bounds the keys (and so the trie size) contributed by very long names
+    private static final int MAX_WORD_KEYS = 8;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry entry) -> entry.reviewCount).reversed()
+            .thenComparing(entry -> entry.name)
+            .thenComparingLong(entry -> entry.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    static ProductNameIndex build(Collection<CatalogRow> rows) {
+        ProductNameIndex index = new ProductNameIndex();
+        for (CatalogRow row : rows) {
+            index.add(new Entry(row));
+        }
+        return index;
+    }
+
+    /**
+     * Apply committed changes. Upserts older than the indexed version of the product are ignored.
+     */
+    void apply(Collection<CatalogRow> upserts, Collection<Long> removedIds) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : removedIds) {
+                Entry existing = entries.get(id);
+                if (existing != null) {
+                    remove(existing);
+                }
+            }
+            for (CatalogRow row : upserts) {
+                Entry existing = entries.get(row.getId());
+                if (existing != null && row.getVersion() < existing.version) {
+                    continue;
+                }
+                if (existing != null && existing.sameListing(row)) {
+                    existing.version = row.getVersion();
+                    continue;
+                }
+                if (existing != null) {
+                    remove(existing);
+                }
+                add(new Entry(row));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} products whose normalized name, or a word in it, starts with the
+     * normalized prefix, most reviewed first.
+     */
+    List<Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int pos = 0;
+            while (true) {
+                int slot = node.childSlot(key.charAt(pos));
+                if (slot < 0) {
+                    return List.of();
+                }
+                Node child = node.children[slot];
+                int common = commonPrefix(child.label, key, pos);
+                if (pos + common == key.length()) {
+                    // The prefix ends on or inside this edge: its subtree holds every completion
+                    return List.of(Arrays.copyOf(child.top, Math.min(limit, child.top.length)));
+                }
+                if (common < child.label.length()) {
+                    return List.of();
+                }
+                node = child;
+                pos += common;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases, strips accents and reduces every run of non-alphanumeric characters to a single
+     * space, so "Café Crème-Brûlée!" and "cafe creme brulee" index the same.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean separator = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && !out.isEmpty()) {
+                    out.append(' ');
+                }
+                separator = false;
+                out.append(Character.toLowerCase(c));
+            } else {
+                separator = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static String[] keys(String normalizedName) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalizedName.length() && keys.size() < MAX_WORD_KEYS; i++) {
+            if (i == 0 || normalizedName.charAt(i - 1) == ' ') {
+                keys.add(normalizedName.substring(i));
+            }
+        }
+        return keys.toArray(String[]::new);
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        for (String key : entry.keys) {
+            insert(key, entry);
+        }
+    }
+
+    private void remove(Entry entry) {
+        entries.remove(entry.id);
+        for (String key : entry.keys) {
+            delete(key, entry.id);
+        }
+    }
+
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            int slot = node.childSlot(key.charAt(pos));
+            if (slot < 0) {
+                Node leaf = new Node(key.substring(pos));
+                node.insertChild(-slot - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[slot];
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length()) {
+                child = node.splitChild(slot, common);
+            }
+            node = child;
+            path.add(node);
+            pos += common;
+        }
+        node.terminal = append(node.terminal, entry);
+        for (Node visited : path) {
+            visited.offer(entry);
+        }
+    }
+
+    private void delete(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            int slot = node.childSlot(key.charAt(pos));
+            if (slot < 0) {
+                return;
+            }
+            node = node.children[slot];
+            if (!key.startsWith(node.label, pos)) {
+                return;
+            }
+            path.add(node);
+            pos += node.label.length();
+        }
+        node.terminal = without(node.terminal, id);
+
+        // Bottom-up: drop emptied nodes, re-compress single-child chains, re-rank where the product was listed
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0) {
+                if (current.terminal.length == 0 && current.children.length == 0) {
+                    path.get(i - 1).removeChild(current);
+                    continue;
+                }
+                if (current.terminal.length == 0 && current.children.length == 1) {
+                    current.absorbOnlyChild();
+                }
+            }
+            if (indexOf(current.top, id) >= 0) {
+                current.recomputeTop();
+            }
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(Entry[] list, long id) {
+        for (int i = 0; i < list.length; i++) {
+            if (list[i].id == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Entry[] append(Entry[] list, Entry entry) {
+        Entry[] grown = Arrays.copyOf(list, list.length + 1);
+        grown[list.length] = entry;
+        return grown;
+    }
+
+    private static Entry[] without(Entry[] list, long id) {
+        int at = indexOf(list, id);
+        if (at < 0) {
+            return list;
+        }
+        if (list.length == 1) {
+            return NO_ENTRIES;
+        }
+        Entry[] shrunk = new Entry[list.length - 1];
+        System.arraycopy(list, 0, shrunk, 0, at);
+        System.arraycopy(list, at + 1, shrunk, at, list.length - at - 1);
+        return shrunk;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;  // sorted by the first character of their label
+        private Entry[] terminal = NO_ENTRIES;  // products with a key ending exactly here
+        private Entry[] top = NO_ENTRIES;       // best of the whole subtree, in ranking order
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int childSlot(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int at, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        private void removeChild(Node child) {
+            int at = childSlot(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, at);
+            System.arraycopy(children, at + 1, shrunk, at, children.length - at - 1);
+            children = shrunk;
+        }
+
+        // Splits the edge to children[slot] after `at` characters; returns the new middle node
+        private Node splitChild(int slot, int at) {
+            Node child = children[slot];
+            Node middle = new Node(child.label.substring(0, at));
+            child.label = child.label.substring(at);
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            children[slot] = middle;
+            return middle;
+        }
+
+        private void absorbOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            terminal = child.terminal;
+            top = child.top;
+        }
+
+        private void offer(Entry entry) {
+            if (indexOf(top, entry.id) >= 0) {
+                return;
+            }
+            if (top.length == MAX_SUGGESTIONS && RANKING.compare(entry, top[MAX_SUGGESTIONS - 1]) >= 0) {
+                return;
+            }
+            int at = Arrays.binarySearch(top, entry, RANKING);
+            at = at < 0 ? -at - 1 : at;
+            int length = Math.min(top.length + 1, MAX_SUGGESTIONS);
+            Entry[] ranked = new Entry[length];
+            System.arraycopy(top, 0, ranked, 0, at);
+            ranked[at] = entry;
+            System.arraycopy(top, at, ranked, at + 1, length - at - 1);
+            top = ranked;
+        }
+
+        private void recomputeTop() {
+            List<Entry> candidates = new ArrayList<>(Arrays.asList(terminal));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            List<Entry> ranked = new ArrayList<>(MAX_SUGGESTIONS);
+            for (Entry candidate : candidates) {
+                // A product reachable through two of its words appears once
+                if (ranked.size() == MAX_SUGGESTIONS) {
+                    break;
+                }
+                if (ranked.stream().noneMatch(entry -> entry.id == candidate.id)) {
+                    ranked.add(candidate);
+                }
+            }
+            top = ranked.toArray(NO_ENTRIES);
+        }
+    }
+
+    static final class Entry {
+
+        private final long id;
+        private final String name;
+        private final String category;
+        private final long reviewCount;
+        private final String[] keys;
+        private long version;
+
+        private Entry(CatalogRow row) {
+            this.id = row.getId();
+            this.name = row.getName();
+            this.category = row.getCategory();
+            this.reviewCount = row.getReviewCount();
+            this.keys = keys(normalize(row.getName()));
+            this.version = row.getVersion();
+        }
+
+        long getId() {
+            return id;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getCategory() {
+            return category;
+        }
+
+        long getReviewCount() {
+            return reviewCount;
+        }
+
+        private boolean sameListing(CatalogRow row) {
+            return Objects.equals(name, row.getName())
+                    && Objects.equals(category, row.getCategory())
+                    && reviewCount == row.getReviewCount();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.alper.product_review_backend.catalog;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Product properties the catalog index can sort by, named as in the {@code sort} request parameter.
+ */
+public enum SortKey {
+
+    ID("id"),
+    NAME("name"),
+    CATEGORY("category"),
+    PRICE("price"),
+    AVERAGE_RATING("averageRating"),
+    REVIEW_COUNT("reviewCount"),
+    BAYESIAN_RATING("bayesianRating"),
+    WILSON_SCORE("wilsonScore");
+
+    private final String property;
+
+    SortKey(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Optional<SortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst();
+    }
+}
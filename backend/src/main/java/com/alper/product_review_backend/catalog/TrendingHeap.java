@@ -0,0 +1,87 @@
+package com.alper.product_review_backend.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Every product's trending activity plus a bounded min-heap of the {@code capacity} most active.
+ *
+ * Activity only ever grows, so a product outside the heap enters it by beating the heap's
+ * minimum, which it evicts, and a product inside it just moves up; an update costs at most
+ * O(capacity) however large the catalog is. Only removing a product that is in the heap leaves
+ * its successor unknown, and rebuilds the heap from the full map.
+ */
+final class TrendingHeap {
+
+    // Least active first, so the heap's head is the one to evict; ties evict the newer product
+    private static final Comparator<TrendingIndex.Entry> ORDER = Comparator
+            .comparingDouble(TrendingIndex.Entry::getActivity)
+            .thenComparing(TrendingIndex.Entry::getProductId, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final Map<Long, Double> activity = new HashMap<>();
+    private final PriorityQueue<TrendingIndex.Entry> heap;
+    private final Map<Long, TrendingIndex.Entry> inHeap = new HashMap<>();
+
+    TrendingHeap(int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity + 1, ORDER);
+    }
+
+    static TrendingHeap build(int capacity, Map<Long, Double> activity) {
+        TrendingHeap trending = new TrendingHeap(capacity);
+        activity.forEach(trending::update);
+        return trending;
+    }
+
+    synchronized void update(long productId, double value) {
+        Double previous = activity.get(productId);
+        // Commits may be applied out of order; activity only grows, so the larger value is the later one
+        if (previous != null && previous >= value) {
+            return;
+        }
+        activity.put(productId, value);
+        offer(productId, value);
+    }
+
+    synchronized void remove(long productId) {
+        if (activity.remove(productId) == null || inHeap.remove(productId) == null) {
+            return;
+        }
+        heap.clear();
+        inHeap.clear();
+        activity.forEach(this::offer);
+    }
+
+    /**
+     * Up to {@code limit} entries, most active first.
+     */
+    synchronized List<TrendingIndex.Entry> top(int limit) {
+        List<TrendingIndex.Entry> entries = new ArrayList<>(heap);
+        entries.sort(ORDER.reversed());
+        return new ArrayList<>(entries.subList(0, Math.min(limit, entries.size())));
+    }
+
+    synchronized int size() {
+        return activity.size();
+    }
+
+    private void offer(long productId, double value) {
+        TrendingIndex.Entry entry = new TrendingIndex.Entry(productId, value);
+        TrendingIndex.Entry previous = inHeap.remove(productId);
+        if (previous != null) {
+            heap.remove(previous);
+        } else if (heap.size() == capacity) {
+            if (ORDER.compare(entry, heap.peek()) <= 0) {
+                return;
+            }
+            inHeap.remove(heap.poll().getProductId());
+        }
+        heap.add(entry);
+        inHeap.put(productId, entry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.projection.TrendingActivity;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The most active products by trending activity (see TrendingService), served from a
+ * {@link TrendingHeap} in memory.
+ *
+ * Loaded from the persisted activity at startup, so a restart keeps the ranking. Review writes
+ * stage their product's new activity on the transaction and it is applied after commit, the same
+ * way {@link CatalogIndex} applies product rows. Activity added by other nodes is caught up by a
+ * periodic {@link #reconcile}, which merges the stored activity into the heap; activity only grows,
+ * so the heap keeps whichever value is larger and a stale read never takes a product back down.
+ */
+@Slf4j
+@Component
+public class TrendingIndex {
+
+    // More than any response asks for, so products deleted since they were ranked can be skipped
+    public static final int CAPACITY = 100;
+
+    private final ProductRepository productRepository;
+    private final Object writeLock = new Object();
+
+    private volatile TrendingHeap heap;
+
+    public TrendingIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    /**
+     * Rebuild the heap from the database.
+     */
+    public void reload() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            Map<Long, Double> activity = new HashMap<>();
+            for (TrendingActivity row : productRepository.findTrendingActivity()) {
+                activity.put(row.getProductId(), row.getActivity());
+            }
+            heap = TrendingHeap.build(CAPACITY, activity);
+            log.info("Trending index loaded {} products in {} ms",
+                    activity.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Merge the stored activity of every product into the heap, picking up reviews written through
+     * other nodes. Does nothing before the first load.
+     */
+    @Scheduled(fixedDelayString = "${trending.reconcile-interval:30s}",
+            initialDelayString = "${trending.reconcile-interval:30s}")
+    public void reconcile() {
+        if (heap == null) {
+            return;
+        }
+        Map<Long, Double> activity = new HashMap<>();
+        for (TrendingActivity row : productRepository.findTrendingActivity()) {
+            activity.put(row.getProductId(), row.getActivity());
+        }
+        apply(activity, List.of());
+    }
+
+    /**
+     * Up to {@code limit} (at most {@value #CAPACITY}) products, most active first.
+     */
+    public List<Entry> top(int limit) {
+        TrendingHeap current = heap;
+        if (current == null) {
+            reload();
+            current = heap;
+        }
+        return current.top(limit);
+    }
+
+    /**
+     * Record a product's new activity, applied to the index when the surrounding transaction commits.
+     */
+    public void stageActivity(Long productId, double activity) {
+        PendingChanges pending = pending();
+        if (pending == null) {
+            apply(Map.of(productId, activity), List.of());
+            return;
+        }
+        pending.activity.merge(productId, activity, Math::max);
+    }
+
+    /**
+     * Record a deleted product, applied to the index when the surrounding transaction commits.
+     */
+    public void stageRemoval(Long productId) {
+        PendingChanges pending = pending();
+        if (pending == null) {
+            apply(Map.of(), List.of(productId));
+            return;
+        }
+        pending.activity.remove(productId);
+        pending.removedIds.add(productId);
+    }
+
+    // Null outside a transaction, where the change is already committed
+    private PendingChanges pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges candidate && candidate.owner() == this) {
+                return candidate;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void apply(Map<Long, Double> activity, List<Long> removedIds) {
+        synchronized (writeLock) {
+            TrendingHeap current = heap;
+            // Not loaded yet: the initial load will read this activity from the database
+            if (current != null) {
+                removedIds.forEach(current::remove);
+                activity.forEach(current::update);
+            }
+        }
+    }
+
+    /**
+     * A product and its trending activity.
+     */
+    public static final class Entry {
+
+        private final long productId;
+        private final double activity;
+
+        Entry(long productId, double activity) {
+            this.productId = productId;
+            this.activity = activity;
+        }
+
+        public long getProductId() {
+            return productId;
+        }
+
+        public double getActivity() {
+            return activity;
+        }
+    }
+
+    // One per transaction; collects every product's latest activity so each is applied once per commit
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Double> activity = new HashMap<>();
+        private final List<Long> removedIds = new ArrayList<>();
+
+        private TrendingIndex owner() {
+            return TrendingIndex.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(activity, removedIds);
+        }
+    }
+}
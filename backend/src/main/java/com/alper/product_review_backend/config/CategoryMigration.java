@@ -0,0 +1,103 @@
+package com.alper.product_review_backend.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Moves a schema that stored the category name on each product row over to category ids.
+ *
+ * Runs before Hibernate builds the entity manager factory: {@code ddl-auto=update} would otherwise
+ * try to add the NOT NULL {@code category_id} column to a populated product table and fail. The
+ * migration creates the category table, fills {@code category_id} and drops the name column;
+ * Hibernate then only adds what is still missing, such as the foreign key to the category table.
+ */
+@Slf4j
+@Component(CategoryMigration.BEAN_NAME)
+public class CategoryMigration implements InitializingBean {
+
+    static final String BEAN_NAME = "categoryMigration";
+
+    private final DataSource dataSource;
+
+    public CategoryMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Static so it is registered before any bean definition it changes is instantiated
+    @Bean
+    static BeanFactoryPostProcessor entityManagerFactoryAfterCategoryMigration() {
+        return beanFactory -> {
+            if (beanFactory.containsBeanDefinition("entityManagerFactory")) {
+                BeanDefinition entityManagerFactory = beanFactory.getBeanDefinition("entityManagerFactory");
+                entityManagerFactory.setDependsOn(
+                        StringUtils.addStringToArray(entityManagerFactory.getDependsOn(), BEAN_NAME));
+            }
+        };
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (hasColumn(connection.getMetaData(), "product", "category")) {
+                migrate(connection);
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Category migration failed", ex);
+        }
+    }
+
+    private static void migrate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            // Same shape Hibernate creates for the Category entity
+            statement.executeUpdate("""
+                    create table if not exists category (
+                        id integer generated by default as identity primary key,
+                        name varchar(255) not null,
+                        constraint uk_category_name unique (name))""");
+            statement.executeUpdate("""
+                    insert into category (name)
+                    select distinct p.category from product p
+                    where not exists (select 1 from category c where c.name = p.category)""");
+            statement.executeUpdate("alter table product add column if not exists category_id integer");
+            int migrated = statement.executeUpdate("""
+                    update product
+                    set category_id = (select c.id from category c where c.name = product.category)
+                    where category_id is null""");
+            statement.executeUpdate("alter table product drop column category");
+            statement.executeUpdate("alter table product alter column category_id set not null");
+            connection.commit();
+            log.info("Migrated {} products from category names to category ids", migrated);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Unquoted identifiers are stored upper-case by some databases (H2) and lower-case by others (PostgreSQL)
+    private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        for (String[] names : new String[][] {{table.toUpperCase(), column.toUpperCase()}, {table, column}}) {
+            try (ResultSet columns = metaData.getColumns(null, null, names[0], names[1])) {
+                if (columns.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
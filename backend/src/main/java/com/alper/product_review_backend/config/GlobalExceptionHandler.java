@@ -1,6 +1,7 @@
 package com.alper.product_review_backend.config;
 
 import com.alper.product_review_backend.dto.ApiError;
+import com.alper.product_review_backend.exception.DuplicateReviewException;
 import com.alper.product_review_backend.exception.UserAlreadyExistsException;
 import com.alper.product_review_backend.exception.ValidationException;
 import jakarta.persistence.EntityNotFoundException;
@@ -9,6 +10,7 @@ import jakarta.validation.ConstraintViolationException;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -137,6 +139,32 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, status);
     }
 
+    @ExceptionHandler(DuplicateReviewException.class)
+    public ResponseEntity<ApiError> handleDuplicateReview(DuplicateReviewException ex,
+                                                          HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ApiError error = baseError(
+                status,
+                ex.getMessage(),
+                request.getRequestURI(),
+                List.of()
+        );
+        return new ResponseEntity<>(error, status);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException ex,
+                                                         HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ApiError error = baseError(
+                status,
+                "The resource was modified concurrently, please retry",
+                request.getRequestURI(),
+                List.of()
+        );
+        return new ResponseEntity<>(error, status);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiError> handleBadCredentials(BadCredentialsException ex,
                                                          HttpServletRequest request) {
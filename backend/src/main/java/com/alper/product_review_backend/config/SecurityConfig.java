@@ -3,7 +3,13 @@ package com.alper.product_review_backend.config;
 import com.alper.product_review_backend.security.JwtAccessDeniedHandler;
 import com.alper.product_review_backend.security.JwtAuthenticationEntryPoint;
 import com.alper.product_review_backend.security.JwtAuthenticationFilter;
+import com.alper.product_review_backend.security.ratelimit.RateLimitFilter;
+import com.alper.product_review_backend.security.ratelimit.RateLimitPolicy;
+import com.alper.product_review_backend.security.ratelimit.RateLimitRule;
+import com.alper.product_review_backend.security.ratelimit.TokenBucketStore;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -26,6 +32,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -42,6 +49,25 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
     private final UserDetailsService userDetailsService;
+    private final TokenBucketStore tokenBucketStore;
+
+    @Value("${rate-limit.review-post.capacity:10}")
+    private long reviewPostCapacity;
+
+    @Value("${rate-limit.review-post.period:1m}")
+    private Duration reviewPostPeriod;
+
+    @Value("${rate-limit.login.capacity:10}")
+    private long loginCapacity;
+
+    @Value("${rate-limit.login.period:1m}")
+    private Duration loginPeriod;
+
+    @Value("${rate-limit.register.capacity:10}")
+    private long registerCapacity;
+
+    @Value("${rate-limit.register.period:1h}")
+    private Duration registerPeriod;
 
     /**
      * Public endpoints that don't require authentication.
@@ -83,14 +109,29 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
+
+                        // Async re-dispatches of streaming responses were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         
                         // Product endpoints - read access for all, authenticated users can access details
                         .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                         
-                        // Review endpoints - GET is public, POST requires authentication
+                        // Review endpoints - GET is public, writes require authentication
                         .requestMatchers(HttpMethod.GET, "/api/products/*/reviews").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/products/*/reviews").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/products/*/reviews").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/products/*/reviews/*").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/products/*/reviews/*").authenticated()
+
+                        // Search over products and reviews is public, like the reads it covers
+                        .requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
+
+                        // Delta sync is public, like the product and review reads it mirrors
+                        .requestMatchers(HttpMethod.GET, "/api/sync/**").permitAll()
                         
+                        // The current user's own data
+                        .requestMatchers("/api/users/me/**").authenticated()
+
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         
@@ -100,18 +141,36 @@ public class SecurityConfig {
                 
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Throttle writes and BCrypt-heavy auth calls once the caller is identified
+                .addFilterAfter(new RateLimitFilter(tokenBucketStore, rateLimitRules()), JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Per-route token buckets, keyed by user id when authenticated and client IP otherwise.
+     */
+    private List<RateLimitRule> rateLimitRules() {
+        return List.of(
+                RateLimitRule.of("review-post", HttpMethod.POST, "/api/products/*/reviews",
+                        new RateLimitPolicy(reviewPostCapacity, reviewPostPeriod)),
+                RateLimitRule.of("login", HttpMethod.POST, "/api/auth/login",
+                        new RateLimitPolicy(loginCapacity, loginPeriod)),
+                RateLimitRule.of("register", HttpMethod.POST, "/api/auth/register",
+                        new RateLimitPolicy(registerCapacity, registerPeriod))
+        );
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:8081", "http://localhost:19006"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With",
+                "If-None-Match", "If-Modified-Since", "Idempotency-Key"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "Last-Modified", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -2,21 +2,46 @@ package com.alper.product_review_backend.controller;
 
 import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.AggregateReconciliationResult;
+import com.alper.product_review_backend.dto.BulkIngestResult;
 import com.alper.product_review_backend.dto.CreateProductRequest;
+import com.alper.product_review_backend.dto.ImportJobDto;
+import com.alper.product_review_backend.dto.PageResponse;
 import com.alper.product_review_backend.dto.ProductDetailDto;
+import com.alper.product_review_backend.dto.RecommendationRebuildResult;
+import com.alper.product_review_backend.dto.SearchRebuildResult;
 import com.alper.product_review_backend.dto.UserDto;
+import com.alper.product_review_backend.dto.UserFilter;
 import com.alper.product_review_backend.dto.auth.AuthResponse;
 import com.alper.product_review_backend.dto.auth.RegisterRequest;
-import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.exception.ValidationException;
+import com.alper.product_review_backend.export.ExportFormat;
+import com.alper.product_review_backend.recommend.RecommendationService;
+import com.alper.product_review_backend.search.SearchService;
+import com.alper.product_review_backend.service.AdminUserService;
+import com.alper.product_review_backend.service.AggregateReconciliationService;
 import com.alper.product_review_backend.service.AuthService;
+import com.alper.product_review_backend.service.ExportService;
+import com.alper.product_review_backend.service.ProductImportService;
 import com.alper.product_review_backend.service.ProductService;
+import com.alper.product_review_backend.service.ReviewIngestService;
+import com.alper.product_review_backend.stream.ReviewStreams;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -30,8 +55,15 @@ import java.util.List;
 public class AdminController {
 
     private final AuthService authService;
-    private final UserRepository userRepository;
+    private final AdminUserService adminUserService;
     private final ProductService productService;
+    private final ReviewStreams reviewStreams;
+    private final ReviewIngestService reviewIngestService;
+    private final ExportService exportService;
+    private final ProductImportService productImportService;
+    private final SearchService searchService;
+    private final RecommendationService recommendationService;
+    private final AggregateReconciliationService reconciliationService;
 
     /**
      * POST /api/admin/users
@@ -44,16 +76,19 @@ public class AdminController {
     }
 
     /**
-     * GET /api/admin/users
-     * Get all users (admin-only).
+     * GET /api/admin/users?role=USER&enabled=true&createdFrom=...&createdTo=...&usernamePrefix=jo&size=50
+     * GET /api/admin/users?cursor=...&size=50 (repeat the same filters)
+     * Keyset-paginated users ordered by id, in the compact {items, nextCursor} envelope (admin-only).
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        List<UserDto> userDtos = users.stream()
+    public ResponseEntity<PageResponse<UserDto>> getUsers(UserFilter filter,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int size) {
+        PageResponse<User> page = adminUserService.getUsers(filter, cursor, size);
+        List<UserDto> userDtos = page.getItems().stream()
                 .map(this::toUserDto)
                 .toList();
-        return ResponseEntity.ok(userDtos);
+        return ResponseEntity.ok(new PageResponse<>(userDtos, page.getNextCursor(), null));
     }
 
     /**
@@ -71,6 +106,132 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toProductDetailDto(product));
     }
 
+    /**
+     * POST /api/admin/products/import
+     * Start an asynchronous product import from CSV (with a header row) or NDJSON.
+     * Returns 202 with the job; poll GET /api/admin/products/import/{jobId} for progress.
+     */
+    @PostMapping(value = "/products/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportJobDto> importProducts(HttpServletRequest request) throws IOException {
+        ExportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ExportFormat.NDJSON
+                : ExportFormat.CSV;
+        ImportJobDto job = productImportService.submit(format, request.getInputStream());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/products/import/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * GET /api/admin/products/import/{jobId}
+     * Get the status and per-row errors of a product import job.
+     */
+    @GetMapping("/products/import/{jobId}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(productImportService.getJob(jobId));
+    }
+
+    /**
+     * GET /api/admin/reviews/stream
+     * Server-Sent Events for new reviews across all products (admin-only).
+     */
+    @GetMapping(value = "/reviews/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllReviews() {
+        return reviewStreams.open(null);
+    }
+
+    /**
+     * POST /api/admin/reviews/bulk
+     * Ingest reviews from an NDJSON stream (one review per line), committed in chunks.
+     * Invalid lines are skipped and reported; the rest of the stream is still ingested.
+     */
+    @PostMapping(value = "/reviews/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkIngestResult> ingestReviews(HttpServletRequest request) throws IOException {
+        BulkIngestResult result = reviewIngestService.ingest(request.getReader());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /api/admin/export/reviews
+     * Stream all reviews as NDJSON (default) or CSV, optionally filtered by product
+     * and by a createdAt range (from inclusive, to exclusive).
+     */
+    @GetMapping("/export/reviews")
+    public void exportReviews(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(required = false) Long productId,
+                              @RequestParam(required = false) Instant from,
+                              @RequestParam(required = false) Instant to,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        prepareExport(response, exportFormat, "reviews");
+        exportService.exportReviews(exportFormat, productId, from, to, response.getOutputStream());
+    }
+
+    /**
+     * GET /api/admin/export/users
+     * Stream users matching the same filters as GET /api/admin/users as NDJSON (default) or CSV.
+     */
+    @GetMapping("/export/users")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            UserFilter filter,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        AdminUserService.validate(filter);
+        prepareExport(response, exportFormat, "users");
+        exportService.exportUsers(exportFormat, filter, response.getOutputStream());
+    }
+
+    /**
+     * GET /api/admin/export/products
+     * Stream all products as NDJSON (default) or CSV.
+     */
+    @GetMapping("/export/products")
+    public void exportProducts(@RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        prepareExport(response, exportFormat, "products");
+        exportService.exportProducts(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * POST /api/admin/search/rebuild
+     * Rebuild the product and review search indexes from the database.
+     */
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<SearchRebuildResult> rebuildSearchIndexes() {
+        return ResponseEntity.ok(searchService.rebuild());
+    }
+
+    /**
+     * POST /api/admin/recommendations/rebuild
+     * Recompute the "customers also reviewed" recommendations now instead of at the next scheduled run.
+     */
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<RecommendationRebuildResult> rebuildRecommendations() {
+        return ResponseEntity.ok(recommendationService.rebuild());
+    }
+
+    /**
+     * POST /api/admin/aggregates/reconcile
+     * Recount every product's review aggregates from the reviews now instead of at the next scheduled
+     * run, repairing the ones that drifted, and report how far off they were.
+     */
+    @PostMapping("/aggregates/reconcile")
+    public ResponseEntity<AggregateReconciliationResult> reconcileAggregates() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
+
+    private void prepareExport(HttpServletResponse response, ExportFormat format, String name) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString());
+    }
+
     private UserDto toUserDto(User user) {
         return new UserDto(
                 user.getId(),
@@ -0,0 +1,78 @@
+package com.alper.product_review_backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Instant;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for answering conditional GETs from version columns.
+ * Controllers check the validators first and only load/serialize entities on a miss.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String productTag(Long productId, Long version) {
+        return "\"p" + productId + "-" + version + "\"";
+    }
+
+    static String reviewsTag(Long productId, Long reviewWatermark) {
+        return "\"r" + productId + "-" + reviewWatermark + "\"";
+    }
+
+    static String catalogTag(Long productCount, Long maxId, Long versionSum, long rankingRevision) {
+        return "\"c" + productCount + "-" + maxId + "-" + versionSum + "-" + rankingRevision + "\"";
+    }
+
+    /**
+     * If-None-Match takes precedence; If-Modified-Since is only consulted when no ETag was sent.
+     */
+    static boolean isNotModified(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            // HTTP dates have second precision
+            return ifModifiedSince != -1 && lastModified.getEpochSecond() <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false; // unparseable date: ignore the header
+        }
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, Instant lastModified) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+    }
+
+    static ResponseEntity.BodyBuilder ok(String etag, Instant lastModified) {
+        return withValidators(ResponseEntity.ok(), etag, lastModified);
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder,
+                                                             String etag, Instant lastModified) {
+        // no-cache: clients may store the response but must revalidate before reuse
+        builder.cacheControl(CacheControl.noCache()).eTag(etag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
@@ -1,53 +1,149 @@
 package com.alper.product_review_backend.controller;
 
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogPage;
+import com.alper.product_review_backend.catalog.CatalogQuery;
+import com.alper.product_review_backend.catalog.CatalogSnapshot;
 import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.dto.CatalogFacetsDto;
+import com.alper.product_review_backend.dto.LeaderboardEntryDto;
+import com.alper.product_review_backend.dto.PageCursor;
+import com.alper.product_review_backend.dto.PageResponse;
 import com.alper.product_review_backend.dto.ProductDetailDto;
+import com.alper.product_review_backend.dto.ProductFilter;
+import com.alper.product_review_backend.dto.ProductSuggestionDto;
 import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.dto.RecommendationDto;
+import com.alper.product_review_backend.dto.TrendingProductDto;
+import com.alper.product_review_backend.recommend.RecommendationService;
+import com.alper.product_review_backend.repository.projection.ProductFreshness;
+import com.alper.product_review_backend.service.ProductRankingService;
 import com.alper.product_review_backend.service.ProductService;
+import com.alper.product_review_backend.service.TrendingService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
+
     private final ProductService productService;
+    private final CatalogIndex catalogIndex;
+    private final ProductRankingService rankingService;
+    private final TrendingService trendingService;
+    private final RecommendationService recommendationService;
 
     /**
      * GET /api/products?page=0&size=10&sort=price,asc
-     * Returns a page of product summaries.
+     * GET /api/products?cursor=...&sort=price,asc&includeTotal=true
+     * GET /api/products?category=Phones&minPrice=100&maxPrice=500&minRating=4
+     * Returns a page of product summaries in the compact {items, nextCursor, total} envelope.
+     * Served from the in-memory catalog index: sorting, filtering, paging, the total and the
+     * ETag all come from one snapshot without touching the database.
+     * Answers 304 from the catalog watermark alone when the client's ETag is still current.
      */
     @GetMapping
-    public Page<ProductSummaryDto> getProducts(Pageable pageable) {
-        Page<Product> page = productService.getProducts(pageable);
-        return page.map(this::toProductSummaryDto);
+    public ResponseEntity<PageResponse<ProductSummaryDto>> getProducts(Pageable pageable,
+                                                                       ProductFilter filter,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                                       HttpServletRequest request) {
+        CatalogSnapshot catalog = catalogIndex.current();
+        // Ranking scores are rewritten without a version bump when the prior changes
+        String etag = ConditionalGet.catalogTag(catalog.getProductCount(), catalog.getMaxId(),
+                catalog.getVersionSum(), rankingService.priorRevision());
+        if (ConditionalGet.isNotModified(request, etag, catalog.getLastUpdatedAt())) {
+            return ConditionalGet.notModified(etag, catalog.getLastUpdatedAt());
+        }
+
+        Pageable effective = PageCursor.toPageable(cursor, pageable);
+        CatalogPage page = catalog.query(CatalogQuery.from(filter, effective, includeTotal));
+        Slice<ProductSummaryDto> slice = new SliceImpl<>(page.getItems(), effective, page.isHasNext());
+        return ConditionalGet.ok(etag, catalog.getLastUpdatedAt()).body(PageResponse.of(slice, page.getTotal()));
+    }
+
+    /**
+     * GET /api/products/suggest?q=gal&limit=5
+     * Returns up to {@code limit} (default and max 10) products whose name or any word in it starts
+     * with {@code q}, most reviewed first; an empty list for a blank {@code q}.
+     * Served from the in-memory name index.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDto>> suggest(@RequestParam(defaultValue = "") String q,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(catalogIndex.suggest(q, limit));
+    }
+
+    /**
+     * GET /api/products/facets
+     * Returns product counts per category, price range and minimum rating, e.g. for filter menus.
+     * Counts are kept in memory and adjusted as products and reviews are written.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<CatalogFacetsDto> getFacets() {
+        return ResponseEntity.ok(catalogIndex.facets());
+    }
+
+    /**
+     * GET /api/products/top-rated?category=Headphones&limit=10
+     * Returns the category's leaderboard: up to {@code limit} (default 10, max 50) products with the
+     * highest Bayesian rating, best first. Kept ordered in memory as products and reviews are written.
+     */
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<LeaderboardEntryDto>> getTopRated(@RequestParam(defaultValue = "") String category,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(catalogIndex.leaderboard(category, limit));
+    }
+
+    /**
+     * GET /api/products/trending?limit=10
+     * Returns up to {@code limit} (default 10, max 50) products with the most recent review activity,
+     * each review's weight halving every {@code trending.half-life}. Served from an in-memory heap.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingProductDto>> getTrending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.trending(limit));
     }
 
     /**
      * GET /api/products/{id}
      * Returns detailed information for a single product.
+     * Answers 304 from the version columns alone when the client's ETag is still current.
      */
     @GetMapping("/{id}")
-    public ProductDetailDto getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductDetailDto> getProductById(@PathVariable Long id, HttpServletRequest request) {
+        ProductFreshness freshness = productService.getFreshnessOrThrow(id);
+        String etag = ConditionalGet.productTag(id, freshness.getVersion());
+        if (ConditionalGet.isNotModified(request, etag, freshness.getUpdatedAt())) {
+            return ConditionalGet.notModified(etag, freshness.getUpdatedAt());
+        }
+
         Product product = productService.getProductOrThrow(id);
-        return toProductDetailDto(product);
+        // Tag the representation actually returned, in case it changed since the check
+        return ConditionalGet.ok(ConditionalGet.productTag(id, product.getVersion()), product.getUpdatedAt())
+                .body(toProductDetailDto(product));
     }
 
-    
-    private ProductSummaryDto toProductSummaryDto(Product product) {
-        return new ProductSummaryDto(
-                product.getId(),
-                product.getName(),
-                product.getCategory(),
-                product.getPrice(),
-                product.getAverageRating(),
-                product.getReviewCount()
-        );
+    /**
+     * GET /api/products/{id}/recommendations?limit=10
+     * Returns up to {@code limit} (default 10, max 20) products most often reviewed by the users who
+     * reviewed this one ("customers also reviewed"), most similar first. Computed by a periodic batch job.
+     */
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<List<RecommendationDto>> getRecommendations(@PathVariable Long id,
+                                                                      @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(recommendationService.recommendations(id, limit));
     }
 
     private ProductDetailDto toProductDetailDto(Product product) {
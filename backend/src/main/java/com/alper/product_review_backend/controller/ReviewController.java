@@ -5,11 +5,19 @@ import com.alper.product_review_backend.domain.Review;
 import com.alper.product_review_backend.domain.User;
 import com.alper.product_review_backend.dto.CreateReviewRequest;
 import com.alper.product_review_backend.dto.ReviewDto;
+import com.alper.product_review_backend.repository.projection.ProductFreshness;
+import com.alper.product_review_backend.service.IdempotencyService;
+import com.alper.product_review_backend.service.ProductService;
 import com.alper.product_review_backend.service.ReviewService;
+import com.alper.product_review_backend.stream.ReviewStreams;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 @RestController
@@ -18,22 +26,101 @@ import java.util.List;
 public class ReviewController {
     
     private final ReviewService reviewService;
+    private final ProductService productService;
+    private final ReviewStreams reviewStreams;
+    private final IdempotencyService idempotencyService;
 
+    /**
+     * GET /api/products/{productId}/reviews
+     * Answers 304 from the product's review watermark when the client's ETag is still current.
+     */
     @GetMapping
-    public List<ReviewDto> getReviews(@PathVariable Long productId) {
+    public ResponseEntity<List<ReviewDto>> getReviews(@PathVariable Long productId, HttpServletRequest request) {
+        ProductFreshness freshness = productService.getFreshnessOrThrow(productId);
+        String etag = ConditionalGet.reviewsTag(productId, freshness.getReviewWatermark());
+        if (ConditionalGet.isNotModified(request, etag, freshness.getUpdatedAt())) {
+            return ConditionalGet.notModified(etag, freshness.getUpdatedAt());
+        }
+
         List<Review> reviews = reviewService.getReviewsForProduct(productId);
-        return reviews.stream()
+        List<ReviewDto> body = reviews.stream()
                 .map(this::toReviewDto)
                 .toList();
+        return ConditionalGet.ok(etag, freshness.getUpdatedAt()).body(body);
+    }
+
+    /**
+     * GET /api/products/{productId}/reviews/stream
+     * Server-Sent Events for new reviews and the resulting rating changes of one product.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReviews(@PathVariable Long productId) {
+        productService.getFreshnessOrThrow(productId);
+        return reviewStreams.open(productId);
     }
 
+    /**
+     * POST /api/products/{productId}/reviews
+     * With an Idempotency-Key header, retries of the same submission return the original review.
+     */
     @PostMapping
     public ReviewDto addReview(@PathVariable Long productId,
                                @Valid @RequestBody CreateReviewRequest request,
+                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                @AuthenticationPrincipal User currentUser) {
 
-        Review review = reviewService.addReview(
+        if (idempotencyKey == null) {
+            Review review = reviewService.addReview(
+                    productId,
+                    currentUser,
+                    request.getRating(),
+                    request.getComment()
+            );
+            return toReviewDto(review);
+        }
+
+        return idempotencyService.submitOnce(currentUser.getId(), idempotencyKey, productId, () ->
+                toReviewDto(reviewService.addReview(
+                        productId,
+                        currentUser,
+                        request.getRating(),
+                        request.getComment(),
+                        idempotencyKey
+                )));
+    }
+
+    /**
+     * PUT /api/products/{productId}/reviews
+     * Create the current user's review, or replace it if they already reviewed this product.
+     */
+    @PutMapping
+    public ReviewDto upsertReview(@PathVariable Long productId,
+                                  @Valid @RequestBody CreateReviewRequest request,
+                                  @AuthenticationPrincipal User currentUser) {
+
+        Review review = reviewService.upsertReview(
+                productId,
+                currentUser,
+                request.getRating(),
+                request.getComment()
+        );
+
+        return toReviewDto(review);
+    }
+
+    /**
+     * PUT /api/products/{productId}/reviews/{reviewId}
+     * Edit the current user's own review.
+     */
+    @PutMapping("/{reviewId}")
+    public ReviewDto updateReview(@PathVariable Long productId,
+                                  @PathVariable Long reviewId,
+                                  @Valid @RequestBody CreateReviewRequest request,
+                                  @AuthenticationPrincipal User currentUser) {
+
+        Review review = reviewService.updateReview(
                 productId,
+                reviewId,
                 currentUser,
                 request.getRating(),
                 request.getComment()
@@ -42,6 +129,17 @@ public class ReviewController {
         return toReviewDto(review);
     }
 
+    /**
+     * DELETE /api/products/{productId}/reviews/{reviewId}
+     * Delete a review (its author or an admin).
+     */
+    @DeleteMapping("/{reviewId}")
+    public ResponseEntity<Void> deleteReview(@PathVariable Long productId,
+                                             @PathVariable Long reviewId,
+                                             @AuthenticationPrincipal User currentUser) {
+        reviewService.deleteReview(productId, reviewId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
 
     private ReviewDto toReviewDto(Review review) {
         return new ReviewDto(
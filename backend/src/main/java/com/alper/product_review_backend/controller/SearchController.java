@@ -0,0 +1,63 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.dto.PageCursor;
+import com.alper.product_review_backend.dto.PageResponse;
+import com.alper.product_review_backend.dto.ProductSearchHitDto;
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.dto.ReviewSearchHitDto;
+import com.alper.product_review_backend.search.SearchService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+    private final CatalogIndex catalogIndex;
+
+    /**
+     * GET /api/search/products?q=noise+cancelling&page=0&size=20
+     * GET /api/search/products?q=noise+cancelling&cursor=...
+     * Returns products whose name or description mention any of the words, most relevant first,
+     * with the total number of matches.
+     */
+    @GetMapping("/products")
+    public ResponseEntity<PageResponse<ProductSearchHitDto>> searchProducts(@RequestParam(defaultValue = "") String q,
+                                                                            Pageable pageable,
+                                                                            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(searchService.searchProducts(q, PageCursor.toPageable(cursor, pageable)));
+    }
+
+    /**
+     * GET /api/search/products/fuzzy?q=senheiser&limit=10
+     * Returns up to {@code limit} (default 10, max 50) products whose name matches every word of
+     * {@code q} allowing for typos, fewest typos first. Served from the in-memory catalog.
+     */
+    @GetMapping("/products/fuzzy")
+    public ResponseEntity<List<ProductSummaryDto>> fuzzySearchProducts(@RequestParam(defaultValue = "") String q,
+                                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(catalogIndex.fuzzySearch(q, limit));
+    }
+
+    /**
+     * GET /api/search/reviews?q=battery&productId=1&page=0&size=20
+     * Returns reviews whose comment mentions any of the words, most relevant first, optionally
+     * only for one product, with the total number of matches.
+     */
+    @GetMapping("/reviews")
+    public ResponseEntity<PageResponse<ReviewSearchHitDto>> searchReviews(@RequestParam(defaultValue = "") String q,
+                                                                          @RequestParam(required = false) Long productId,
+                                                                          Pageable pageable,
+                                                                          @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(searchService.searchReviews(q, productId, PageCursor.toPageable(cursor, pageable)));
+    }
+}
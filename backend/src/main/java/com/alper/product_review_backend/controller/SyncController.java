@@ -0,0 +1,71 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.dto.ProductDetailDto;
+import com.alper.product_review_backend.dto.sync.SyncChangesDto;
+import com.alper.product_review_backend.dto.sync.SyncReviewDto;
+import com.alper.product_review_backend.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Delta sync endpoint for offline-capable mobile clients.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SyncService syncService;
+
+    /**
+     * GET /api/sync/changes?since={token}&limit=500
+     * Returns products and reviews changed, and reviews deleted, after the given token (everything when omitted).
+     */
+    @GetMapping("/changes")
+    public SyncChangesDto getChanges(@RequestParam(required = false) String since,
+                                     @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        SyncService.SyncBatch batch = syncService.getChangesSince(since, limit);
+        return new SyncChangesDto(
+                batch.getProducts().stream().map(this::toProductDetailDto).toList(),
+                batch.getReviews().stream().map(this::toSyncReviewDto).toList(),
+                batch.getDeletedReviewIds(),
+                batch.getNextToken(),
+                batch.isHasMore()
+        );
+    }
+
+    private ProductDetailDto toProductDetailDto(Product product) {
+        return new ProductDetailDto(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getCategory(),
+                product.getPrice(),
+                product.getAverageRating(),
+                product.getReviewCount()
+        );
+    }
+
+    private SyncReviewDto toSyncReviewDto(Review review) {
+        return new SyncReviewDto(
+                review.getId(),
+                review.getProduct().getId(),
+                review.getRating(),
+                review.getComment(),
+                review.getUser().getUsername(),
+                review.getCreatedAt(),
+                review.getUpdatedAt()
+        );
+    }
+}
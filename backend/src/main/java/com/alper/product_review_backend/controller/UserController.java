@@ -0,0 +1,63 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.PageResponse;
+import com.alper.product_review_backend.dto.PersonalRecommendationDto;
+import com.alper.product_review_backend.dto.UserReviewDto;
+import com.alper.product_review_backend.dto.UserReviewStatsDto;
+import com.alper.product_review_backend.recommend.PersonalRecommendationService;
+import com.alper.product_review_backend.service.UserReviewService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints about the current user. All require authentication.
+ */
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final PersonalRecommendationService personalRecommendationService;
+    private final UserReviewService userReviewService;
+
+    /**
+     * GET /api/users/me/reviews?size=20
+     * GET /api/users/me/reviews?cursor=...&size=20
+     * The current user's reviews, newest first, with each product's name, keyset-paginated
+     * in the compact {items, nextCursor} envelope (size capped at 100).
+     */
+    @GetMapping("/reviews")
+    public ResponseEntity<PageResponse<UserReviewDto>> getReviews(@AuthenticationPrincipal User currentUser,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userReviewService.reviews(currentUser.getId(), cursor, size));
+    }
+
+    /**
+     * GET /api/users/me/reviews/stats
+     * Returns how many reviews the current user has written and their mean rating.
+     */
+    @GetMapping("/reviews/stats")
+    public ResponseEntity<UserReviewStatsDto> getReviewStats(@AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(userReviewService.stats(currentUser.getId()));
+    }
+
+    /**
+     * GET /api/users/me/recommendations?limit=10
+     * Returns up to {@code limit} (default 10, max 50) products picked for the current user from
+     * their own reviews: products similar to the ones they rated well and top-rated products of
+     * the categories they review most. Cached per user until they write a review.
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<PersonalRecommendationDto>> getRecommendations(@AuthenticationPrincipal User currentUser,
+                                                                              @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(personalRecommendationService.recommendations(currentUser.getId(), limit));
+    }
+}
@@ -0,0 +1,32 @@
+package com.alper.product_review_backend.domain;
+
+import com.alper.product_review_backend.service.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores {@link Product#getCategory()} as the integer id of its {@link Category} row, so product
+ * rows carry four bytes instead of the repeated name. Names and ids are resolved through the
+ * in-memory {@link CategoryDictionary}; {@link CategoryListener} has already resolved a written
+ * product's category by the time it is flushed. Instantiated by Hibernate through Spring's bean container.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<CategoryDictionary> categoryDictionary;
+
+    public CategoryConverter(ObjectProvider<CategoryDictionary> categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String category) {
+        return category != null ? categoryDictionary.getObject().idOf(category) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer categoryId) {
+        return categoryId != null ? categoryDictionary.getObject().nameOf(categoryId) : null;
+    }
+}
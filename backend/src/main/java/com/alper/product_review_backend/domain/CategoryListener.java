@@ -0,0 +1,29 @@
+package com.alper.product_review_backend.domain;
+
+import com.alper.product_review_backend.service.CategoryDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Resolves a product's category to its row before the product is written, in the writing
+ * transaction, creating the row if the name is new. {@link CategoryConverter} then finds the id
+ * already known when Hibernate flushes the product.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class CategoryListener {
+
+    private final ObjectProvider<CategoryDictionary> categoryDictionary;
+
+    public CategoryListener(ObjectProvider<CategoryDictionary> categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void resolveCategory(Product product) {
+        if (product.getCategory() != null) {
+            categoryDictionary.getObject().idOf(product.getCategory());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.alper.product_review_backend.domain;
+
+import java.time.Instant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable record of an Idempotency-Key, written in the same transaction as the review it created.
+ * Survives restarts and in-memory eviction, and the unique constraint settles races between nodes.
+ * Holds the ReviewDto returned to the first request, so a replay answers the same even after the
+ * review has been edited or deleted.
+ */
+@Entity
+@Table(
+        name = "idempotency_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_user_key", columnNames = {"user_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at")
+)
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "review_id", nullable = false)
+    private Long reviewId;
+
+    // The original result; null only on records written before it was stored here
+    @Column(name = "rating")
+    private Integer rating;
+
+    @Column(name = "comment", length = 2000)
+    private String comment;
+
+    @Column(name = "username")
+    private String username;
+
+    @Column(name = "review_created_at")
+    private Instant reviewCreatedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    public IdempotencyRecord(Long userId, String idempotencyKey, Long productId, Review review) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.productId = productId;
+        this.reviewId = review.getId();
+        this.rating = review.getRating();
+        this.comment = review.getComment();
+        this.username = review.getUser().getUsername();
+        this.reviewCreatedAt = review.getCreatedAt();
+    }
+}
@@ -1,20 +1,50 @@
 package com.alper.product_review_backend.domain;
 
+import com.alper.product_review_backend.catalog.CatalogIndexListener;
+import com.alper.product_review_backend.search.SearchIndexListener;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
+@EntityListeners({CategoryListener.class, CatalogIndexListener.class, SearchIndexListener.class})
+@Table(indexes = {
+        @Index(name = "idx_product_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_product_category", columnList = "category_id"),
+        @Index(name = "idx_product_bayesian_rating", columnList = "bayesian_rating, id"),
+        @Index(name = "idx_product_wilson_score", columnList = "wilson_score, id")
+})
 @Data
 @NoArgsConstructor
 public class Product {
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,9 +53,22 @@ public class Product {
     @Column(length = 1000)
     private String description;
 
-    @Column(nullable = false)
+    // Dictionary-encoded: the column holds the id of the category's row
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
 
+    // Read-only view of the same column, mapped so the schema gets its foreign key and queries can
+    // group by the id; the category itself is read and written through the field above
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_product_category"))
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Category categoryRef;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
@@ -35,10 +78,58 @@ public class Product {
     @Column(nullable = false)
     private long reviewCount = 0L;
 
+    // Running aggregates maintained by atomic delta updates; averageRating = ratingSum / reviewCount
+    @Column(nullable = false)
+    private long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private long rating1Count = 0L;
+
+    @Column(nullable = false)
+    private long rating2Count = 0L;
+
+    @Column(nullable = false)
+    private long rating3Count = 0L;
+
+    @Column(nullable = false)
+    private long rating4Count = 0L;
+
+    @Column(nullable = false)
+    private long rating5Count = 0L;
+
+    // Ranking scores, recomputed with the aggregates; see ProductRankingService
+    @Column(name = "bayesian_rating", nullable = false)
+    private double bayesianRating = 0.0;
+
+    @Column(name = "wilson_score", nullable = false)
+    private double wilsonScore = 0.0;
+
+    // Recency-weighted review activity in log2 form, null until the first review; see TrendingService
+    @Column(name = "trending_activity")
+    private Double trendingActivity;
+
+    // Bumped on every change to the row (admin edits and review aggregate updates)
+    @Version
+    private Long version;
+
+    // Bumped on every review write for this product; drives the reviews list ETag
+    @Column(nullable = false)
+    private long reviewWatermark = 0L;
+
+    // Delta sync position; truncated to the database's microsecond precision
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
     public Product(String name, String description, String category, BigDecimal price) {
         this.name = name;
         this.description = description;
         this.category = category;
         this.price = price;
     }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
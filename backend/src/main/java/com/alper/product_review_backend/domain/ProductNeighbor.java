@@ -0,0 +1,44 @@
+package com.alper.product_review_backend.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One "customers also reviewed" neighbor of a product, written by the recommendation batch job.
+ * Plain id columns rather than foreign keys, so they never block deleting a product; rows of a
+ * deleted product are dropped by the next rebuild.
+ */
+@Entity
+@Table(name = "product_neighbors", indexes = @Index(name = "idx_product_neighbor_rank", columnList = "product_id, neighbor_rank"))
+@Data
+@NoArgsConstructor
+public class ProductNeighbor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // 1 for the most similar neighbor
+    @Column(name = "neighbor_rank", nullable = false)
+    private int neighborRank;
+
+    @Column(name = "neighbor_id", nullable = false)
+    private Long neighborId;
+
+    @Column(nullable = false)
+    private double score;
+
+    // Users who reviewed both products
+    @Column(name = "co_reviewers", nullable = false)
+    private int coReviewers;
+}
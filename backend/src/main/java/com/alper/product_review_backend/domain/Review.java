@@ -1,24 +1,44 @@
 package com.alper.product_review_backend.domain;
 
+import com.alper.product_review_backend.search.SearchIndexListener;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_review_product_user", columnNames = {"product_id", "user_id"}),
+        indexes = {
+                @Index(name = "idx_review_updated_at", columnList = "updated_at, id"),
+                // Serves a user's own reviews, newest first, as a keyset range scan
+                @Index(name = "idx_review_user_created_at", columnList = "user_id, created_at, id")
+        }
+)
 @Data
 @NoArgsConstructor
 public class Review {
     
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
     private Long id;
 
     // Many reviews belong to one product
@@ -40,10 +60,20 @@ public class Review {
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // Delta sync position; truncated to the database's microsecond precision
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
     public Review(Product product, User user, int rating, String comment) {
         this.product = product;
         this.user = user;
         this.rating = rating;
         this.comment = comment;
     }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,42 @@
+package com.alper.product_review_backend.domain;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marker left behind by a deleted review so delta sync can tell offline clients to drop it.
+ */
+@Entity
+@Table(name = "review_tombstones", indexes = @Index(name = "idx_review_tombstone_deleted_at", columnList = "deleted_at, id"))
+@Data
+@NoArgsConstructor
+public class ReviewTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "review_id", nullable = false)
+    private Long reviewId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Delta sync position; truncated to the database's microsecond precision
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    public ReviewTombstone(Long reviewId, Long productId) {
+        this.reviewId = reviewId;
+        this.productId = productId;
+    }
+}
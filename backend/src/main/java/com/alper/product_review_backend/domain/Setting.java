@@ -0,0 +1,41 @@
+package com.alper.product_review_backend.domain;
+
+import java.time.Instant;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named value shared by every node, such as the ranking prior. A node that changes a setting
+ * holds its row lock while it acts on the new value, so nodes take turns rather than undo each
+ * other's work.
+ */
+@Entity
+@Table(name = "settings")
+@Data
+@NoArgsConstructor
+public class Setting {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    // Null until first computed
+    @Column(name = "setting_value", length = 1000)
+    private String value;
+
+    // Bumped on every change, so a node can tell whether its cached value is current
+    @Version
+    private Long revision;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public Setting(String name) {
+        this.name = name;
+    }
+}
@@ -3,6 +3,7 @@ package com.alper.product_review_backend.domain;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,7 +13,12 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Keyset pages are ordered by id; these serve the admin list filters
+        @Index(name = "idx_users_role_id", columnList = "role, id"),
+        @Index(name = "idx_users_enabled_id", columnList = "enabled, id"),
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class User implements UserDetails {
@@ -40,6 +46,17 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Running review stats maintained by atomic delta updates; mean rating = ratingSum / reviewCount.
+    // The default lets the columns be added to a populated table; existing reviewers are counted at
+    // startup by AggregateReconciliationService
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long reviewCount = 0L;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long ratingSum = 0L;
+
     public User(String username, String email, String password, Role role) {
         this.username = username;
         this.email = email;
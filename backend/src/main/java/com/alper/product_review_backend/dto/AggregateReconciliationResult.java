@@ -0,0 +1,26 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of recounting every product's review aggregates and every user's review stats from the reviews.
+ * The drift totals add up, over the repaired products, how far the stored values were off.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateReconciliationResult {
+
+    private long products;
+    private long reviews;
+    private long repairedProducts;
+    private long reviewCountDrift;
+    private long ratingSumDrift;
+    private long histogramDrift;
+    private double maxAverageRatingDrift;
+    private long users;
+    private long repairedUsers;
+    private long durationMs;
+}
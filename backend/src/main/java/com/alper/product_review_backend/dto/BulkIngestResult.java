@@ -0,0 +1,39 @@
+package com.alper.product_review_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk ingest or import. Rejected rows do not abort the job;
+ * the first {@link #MAX_ERRORS} are reported with their line number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestResult {
+
+    public static final int MAX_ERRORS = 100;
+
+    private long received;
+    private long inserted;
+    private long rejected;
+    private List<LineError> errors = new ArrayList<>();
+
+    public void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.alper.product_review_backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk review ingest (NDJSON).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewRecord {
+
+    @NotNull(message = "productId is required")
+    private Long productId;
+
+    @NotNull(message = "userId is required")
+    private Long userId;
+
+    @Min(1)
+    @Max(5)
+    private int rating;
+
+    @Size(max = 2000)
+    private String comment;
+
+    // Original review time at the source marketplace; defaults to the ingest time
+    private Instant createdAt;
+}
@@ -0,0 +1,52 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product counts per category, price range and minimum rating, for filter navigation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogFacetsDto {
+
+    private long total;
+    private List<CategoryFacet> categories;
+    private List<PriceRangeFacet> priceRanges;
+    private List<RatingFacet> ratings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private String category;
+        private long count;
+    }
+
+    /**
+     * Products priced from {@code minPrice} (inclusive) up to {@code maxPrice} (exclusive, null for no upper bound).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceRangeFacet {
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private long count;
+    }
+
+    /**
+     * Products with an average rating of at least {@code minRating}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RatingFacet {
+        private int minRating;
+        private long count;
+    }
+}
@@ -0,0 +1,27 @@
+package com.alper.product_review_backend.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of an asynchronous import job, polled via its id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDto {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Status status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private BulkIngestResult result;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One place in a category's top-rated leaderboard.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+
+    private int rank;
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private double averageRating;
+    private long reviewCount;
+    private double bayesianRating;
+}
@@ -0,0 +1,72 @@
+package com.alper.product_review_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Opaque cursor encoding shared by paginated endpoints.
+ * A cursor is a URL-safe Base64 string of colon-separated parts; clients must treat it as opaque.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = ":";
+
+    // Same upper bound Spring applies to the page size request parameter
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private PageCursor() {
+    }
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its parts.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or has the wrong number of parts
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String[] parts = decode(cursor);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+
+    /**
+     * Decode a cursor into however many parts it has, for cursors whose format has changed over time.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return raw.split(SEPARATOR, -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * The page a request asks for: the page and size encoded in an offset cursor written by
+     * {@link PageResponse#of}, with the request's sort, or the request's own page without a cursor.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Pageable toPageable(String cursor, Pageable requested) {
+        if (cursor == null) {
+            return requested;
+        }
+        String[] parts = decode(cursor, 2);
+        try {
+            int size = Math.min(Integer.parseInt(parts[1]), MAX_PAGE_SIZE);
+            return PageRequest.of(Integer.parseInt(parts[0]), size, requested.getSort());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.alper.product_review_backend.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Compact page envelope returned by list endpoints.
+ * Replaces Spring's PageImpl serialization (pageable, sort, first/last flags ...)
+ * with just the items, an opaque cursor for the next page and an optional total.
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = PageResponseSerializer.class)
+public class PageResponse<T> {
+
+    private final List<T> items;
+    private final String nextCursor; // null on the last page
+    private final Long total;        // only present when explicitly requested
+
+    /**
+     * Build an offset-based envelope from a Spring Data slice.
+     * The cursor encodes the next page number and size.
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice, Long total) {
+        String nextCursor = slice.hasNext()
+                ? PageCursor.encode(String.valueOf(slice.getNumber() + 1), String.valueOf(slice.getSize()))
+                : null;
+        return new PageResponse<>(slice.getContent(), nextCursor, total);
+    }
+}
@@ -0,0 +1,38 @@
+package com.alper.product_review_backend.dto;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Hand-written serializer for {@link PageResponse}.
+ * Writes the envelope fields directly instead of going through bean introspection,
+ * and omits {@code total} entirely when it was not requested.
+ */
+public class PageResponseSerializer extends ValueSerializer<PageResponse<?>> {
+
+    @Override
+    public void serialize(PageResponse<?> page, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        gen.writeStartObject();
+
+        gen.writeName("items");
+        gen.writeStartArray();
+        for (Object item : page.getItems()) {
+            gen.writePOJO(item);
+        }
+        gen.writeEndArray();
+
+        if (page.getNextCursor() != null) {
+            gen.writeStringProperty("nextCursor", page.getNextCursor());
+        } else {
+            gen.writeNullProperty("nextCursor");
+        }
+
+        if (page.getTotal() != null) {
+            gen.writeNumberProperty("total", page.getTotal());
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,24 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product recommended to the current user; {@code score} only orders the list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecommendationDto {
+
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal price;
+    private double averageRating;
+    private long reviewCount;
+    private double score;
+}
@@ -0,0 +1,20 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the product listing; null fields are not applied. Price bounds are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+
+    private String category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Double minRating;
+}
@@ -0,0 +1,23 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product matching a search, with its relevance score (higher is better).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHitDto {
+
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal price;
+    private double averageRating;
+    private long reviewCount;
+    private double score;
+}
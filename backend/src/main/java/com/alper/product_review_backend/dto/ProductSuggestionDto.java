@@ -0,0 +1,19 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One name completion for the search box.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDto {
+
+    private Long id;
+    private String name;
+    private String category;
+    private long reviewCount;
+}
@@ -0,0 +1,25 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A product recommended alongside another; {@code score} is their co-review similarity, 0-1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationDto {
+
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal price;
+    private double averageRating;
+    private long reviewCount;
+    private double score;
+    private int coReviewers;
+}
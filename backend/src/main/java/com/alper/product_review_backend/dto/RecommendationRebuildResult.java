@@ -0,0 +1,19 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of rebuilding the product recommendations from the reviews.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationRebuildResult {
+
+    private long reviews;
+    private long products;
+    private long neighbors;
+    private long durationMs;
+}
@@ -0,0 +1,23 @@
+package com.alper.product_review_backend.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A review matching a search, with its relevance score (higher is better).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSearchHitDto {
+
+    private Long id;
+    private Long productId;
+    private int rating;
+    private String comment;
+    private String username;
+    private Instant createdAt;
+    private double score;
+}
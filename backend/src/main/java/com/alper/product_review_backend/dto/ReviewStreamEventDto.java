@@ -0,0 +1,19 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of one Server-Sent Event on the review streams.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewStreamEventDto {
+
+    private Long productId;
+    private ReviewDto review;
+    private double averageRating;
+    private long reviewCount;
+}
@@ -0,0 +1,18 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of rebuilding the search indexes from the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchRebuildResult {
+
+    private long products;
+    private long reviews;
+    private long durationMs;
+}
@@ -0,0 +1,25 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A trending product; {@code trendingScore} is its review count with each review's weight
+ * halved for every half-life since it was written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProductDto {
+
+    private Long id;
+    private String name;
+    private String category;
+    private BigDecimal price;
+    private double averageRating;
+    private long reviewCount;
+    private double trendingScore;
+}
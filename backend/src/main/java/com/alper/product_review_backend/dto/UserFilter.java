@@ -0,0 +1,37 @@
+package com.alper.product_review_backend.dto;
+
+import com.alper.product_review_backend.domain.Role;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for listing and exporting users; null fields are not applied.
+ * The createdAt range is inclusive of {@code createdFrom} and exclusive of {@code createdTo}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilter {
+
+    private Role role;
+    private Boolean enabled;
+    private Instant createdFrom;
+    private Instant createdTo;
+    private String usernamePrefix;
+
+    public boolean hasUsernamePrefix() {
+        return usernamePrefix != null && !usernamePrefix.isEmpty();
+    }
+
+    /**
+     * The username prefix as a LIKE pattern, with wildcards in the prefix escaped by backslash.
+     */
+    public String usernameLikePattern() {
+        return usernamePrefix
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
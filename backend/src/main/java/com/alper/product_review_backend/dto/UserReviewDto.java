@@ -0,0 +1,23 @@
+package com.alper.product_review_backend.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of the current user's reviews, with the name of the product it is about.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReviewDto {
+
+    private Long id;
+    private Long productId;
+    private String productName;
+    private int rating;
+    private String comment;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
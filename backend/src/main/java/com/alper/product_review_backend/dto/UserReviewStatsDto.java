@@ -0,0 +1,17 @@
+package com.alper.product_review_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many reviews the current user has written and their mean rating (0 without reviews).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReviewStatsDto {
+
+    private long reviewCount;
+    private double averageRating;
+}
@@ -0,0 +1,19 @@
+package com.alper.product_review_backend.dto.sync;
+
+import com.alper.product_review_backend.dto.ProductDetailDto;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangesDto {
+
+    private List<ProductDetailDto> products; // created or modified, upsert by id
+    private List<SyncReviewDto> reviews;     // created or modified, upsert by id
+    private List<Long> deletedReviewIds;     // deleted, remove locally
+    private String nextToken;                // pass as ?since= on the next call
+    private boolean hasMore;                 // call again immediately with nextToken
+}
@@ -0,0 +1,20 @@
+package com.alper.product_review_backend.dto.sync;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncReviewDto {
+
+    private Long id;
+    private Long productId;
+    private int rating;
+    private String comment;
+    private String username;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.alper.product_review_backend.event;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by ReviewService inside the writing transaction.
+ * Carries plain values (no entities) so listeners can run after commit without a session.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReviewEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final Long reviewId;
+    private final Long userId;
+    private final String username;
+    private final int rating;
+    private final String comment;
+    private final Instant createdAt;
+
+    // Product aggregates after this write
+    private final double averageRating;
+    private final long reviewCount;
+}
@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.exception;
+
+/**
+ * Exception thrown when a user submits a second review for the same product.
+ */
+public class DuplicateReviewException extends RuntimeException {
+
+    public DuplicateReviewException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.alper.product_review_backend.export;
+
+import com.alper.product_review_backend.exception.ValidationException;
+import java.util.Locale;
+
+/**
+ * Wire formats supported by the admin export and import endpoints.
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Unsupported format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
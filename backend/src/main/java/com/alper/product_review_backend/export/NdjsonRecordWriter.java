@@ -0,0 +1,62 @@
+package com.alper.product_review_backend.export;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * One JSON object per line, written with Jackson's streaming generator.
+ */
+class NdjsonRecordWriter implements RecordWriter {
+
+    private final JsonGenerator generator;
+    private List<String> columns;
+    private boolean empty = true;
+
+    NdjsonRecordWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.generator = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .createGenerator(out);
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void write(Object[] values) {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            String name = columns.get(i);
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNullProperty(name);
+            } else if (value instanceof Long l) {
+                generator.writeNumberProperty(name, l);
+            } else if (value instanceof Integer n) {
+                generator.writeNumberProperty(name, n);
+            } else if (value instanceof Double d) {
+                generator.writeNumberProperty(name, d);
+            } else if (value instanceof BigDecimal d) {
+                generator.writeNumberProperty(name, d);
+            } else if (value instanceof Boolean b) {
+                generator.writeBooleanProperty(name, b);
+            } else {
+                generator.writeStringProperty(name, value.toString());
+            }
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void finish() {
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
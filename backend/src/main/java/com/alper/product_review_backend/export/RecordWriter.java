@@ -0,0 +1,35 @@
+package com.alper.product_review_backend.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes flat records one at a time to an output stream. Implementations keep only
+ * the current record in memory, so exports run in constant memory regardless of size.
+ */
+public interface RecordWriter {
+
+    /**
+     * Declares the column names. Must be called once, before the first record.
+     */
+    void start(List<String> columns) throws IOException;
+
+    /**
+     * Writes one record; values line up with the declared columns and may be null.
+     */
+    void write(Object[] values) throws IOException;
+
+    /**
+     * Flushes buffered output. The underlying stream is left open.
+     */
+    void finish() throws IOException;
+
+    static RecordWriter create(ExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonRecordWriter(out, objectMapper);
+            case CSV -> new CsvRecordWriter(out);
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.alper.product_review_backend.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Item-to-item similarity from co-reviews: two products are similar when the same users reviewed
+ * both. The score is the cosine of their reviewer sets, co-reviewers / sqrt(reviewers(a) * reviewers(b)),
+ * so a product everyone reviews does not become everyone's neighbor.
+ *
+ * The user x product matrix is held sparse in both directions (each user's products and each
+ * product's users, as offset arrays over dense indexes). Products are split into ranges and
+ * scored with fork-join; each leaf counts co-reviews for one product at a time in a scratch array
+ * sized to the catalog, touching only the products its reviewers reviewed.
+ */
+final class ItemSimilarity {
+
+    // Reviewers of more products than this are skipped: they pair everything with everything at quadratic cost
+    static final int MAX_PRODUCTS_PER_USER = 500;
+
+    // Products scored by one fork-join leaf
+    private static final int LEAF_SIZE = 256;
+
+    // Most similar first; more co-reviewers breaks a tie, then the older product
+    private static final Comparator<Neighbor> RANKING = Comparator
+            .comparingDouble(Neighbor::getScore).reversed()
+            .thenComparing(Comparator.comparingInt(Neighbor::getCoReviewers).reversed())
+            .thenComparingLong(Neighbor::getProductId);
+
+    private final long[] products;
+    private final int[] productStart;
+    private final int[] productUsers;
+    private final int[] userStart;
+    private final int[] userProducts;
+    private final int maxNeighbors;
+    private final int minCoReviewers;
+    private final List<Neighbor>[] neighbors;
+
+    @SuppressWarnings("unchecked")
+    private ItemSimilarity(long[] productIds, long[] userIds, int maxNeighbors, int minCoReviewers) {
+        this.products = Arrays.stream(productIds).distinct().sorted().toArray();
+        long[] users = Arrays.stream(userIds).distinct().sorted().toArray();
+        int[] product = new int[productIds.length];
+        int[] user = new int[userIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            product[i] = Arrays.binarySearch(products, productIds[i]);
+            user[i] = Arrays.binarySearch(users, userIds[i]);
+        }
+        this.productStart = offsets(product, products.length);
+        this.productUsers = group(product, user, productStart);
+        this.userStart = offsets(user, users.length);
+        this.userProducts = group(user, product, userStart);
+        this.maxNeighbors = maxNeighbors;
+        this.minCoReviewers = minCoReviewers;
+        this.neighbors = new List[products.length];
+    }
+
+    /**
+     * Up to {@code maxNeighbors} most similar products of every reviewed product, most similar
+     * first, from the (product, user) pairs of all reviews. Products sharing fewer than
+     * {@code minCoReviewers} reviewers are not neighbors. Products without neighbors are omitted.
+     */
+    static Map<Long, List<Neighbor>> compute(long[] productIds, long[] userIds, int maxNeighbors, int minCoReviewers) {
+        ItemSimilarity similarity = new ItemSimilarity(productIds, userIds, maxNeighbors, minCoReviewers);
+        ForkJoinPool.commonPool().invoke(similarity.new Task(0, similarity.products.length));
+
+        Map<Long, List<Neighbor>> result = new LinkedHashMap<>();
+        for (int a = 0; a < similarity.products.length; a++) {
+            if (!similarity.neighbors[a].isEmpty()) {
+                result.put(similarity.products[a], similarity.neighbors[a]);
+            }
+        }
+        return result;
+    }
+
+    // Start of each key's run in the grouped array, plus the end as the last element
+    private static int[] offsets(int[] keys, int keyCount) {
+        int[] start = new int[keyCount + 1];
+        for (int key : keys) {
+            start[key + 1]++;
+        }
+        for (int i = 0; i < keyCount; i++) {
+            start[i + 1] += start[i];
+        }
+        return start;
+    }
+
+    private static int[] group(int[] keys, int[] values, int[] start) {
+        int[] grouped = new int[values.length];
+        int[] next = Arrays.copyOf(start, start.length - 1);
+        for (int i = 0; i < keys.length; i++) {
+            grouped[next[keys[i]]++] = values[i];
+        }
+        return grouped;
+    }
+
+    private void score(int from, int to) {
+        int[] counts = new int[products.length];
+        int[] touched = new int[products.length];
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(maxNeighbors + 1, RANKING.reversed());
+
+        for (int a = from; a < to; a++) {
+            int touchedCount = 0;
+            for (int i = productStart[a]; i < productStart[a + 1]; i++) {
+                int user = productUsers[i];
+                if (userStart[user + 1] - userStart[user] > MAX_PRODUCTS_PER_USER) {
+                    continue;
+                }
+                for (int j = userStart[user]; j < userStart[user + 1]; j++) {
+                    int b = userProducts[j];
+                    if (b != a && counts[b]++ == 0) {
+                        touched[touchedCount++] = b;
+                    }
+                }
+            }
+
+            double reviewersA = productStart[a + 1] - productStart[a];
+            for (int t = 0; t < touchedCount; t++) {
+                int b = touched[t];
+                int coReviewers = counts[b];
+                counts[b] = 0;
+                if (coReviewers < minCoReviewers) {
+                    continue;
+                }
+                double score = coReviewers / Math.sqrt(reviewersA * (productStart[b + 1] - productStart[b]));
+                best.add(new Neighbor(products[b], score, coReviewers));
+                if (best.size() > maxNeighbors) {
+                    best.poll();
+                }
+            }
+
+            List<Neighbor> sorted = new ArrayList<>(best);
+            sorted.sort(RANKING);
+            neighbors[a] = sorted;
+            best.clear();
+        }
+    }
+
+    private final class Task extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        private Task(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                score(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Task(from, middle), new Task(middle, to));
+        }
+    }
+
+    /**
+     * A similar product and how similar it is.
+     */
+    static final class Neighbor {
+
+        private final long productId;
+        private final double score;
+        private final int coReviewers;
+
+        Neighbor(long productId, double score, int coReviewers) {
+            this.productId = productId;
+            this.score = score;
+            this.coReviewers = coReviewers;
+        }
+
+        long getProductId() {
+            return productId;
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        int getCoReviewers() {
+            return coReviewers;
+        }
+    }
+}
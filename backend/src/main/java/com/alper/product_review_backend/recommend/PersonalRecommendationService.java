@@ -0,0 +1,198 @@
+package com.alper.product_review_backend.recommend;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogSnapshot;
+import com.alper.product_review_backend.domain.ProductNeighbor;
+import com.alper.product_review_backend.dto.LeaderboardEntryDto;
+import com.alper.product_review_backend.dto.PersonalRecommendationDto;
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.event.ReviewEvent;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.projection.UserRating;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Recommendations for one user, scored against their own reviews.
+ *
+ * Candidates are the stored neighbors of the products the user reviewed (see
+ * {@link RecommendationService}) and the top-rated products of the categories they review most.
+ * A candidate scores its similarity to each reviewed product weighted by the user's rating of
+ * that product (2 stars counts for nothing, 1 star against), plus a category affinity bonus: the
+ * user's share of reviews in the candidate's category times its average rating on a 0-1 scale.
+ * Products the user reviewed are never recommended, including ones reviewed before the history
+ * window: for a user with more reviews than that, the candidates are checked against the review table.
+ *
+ * Every input is in memory or one indexed query away, so lists are computed on demand and then
+ * cached per user until the user writes a review, the neighbor lists are rebuilt or the TTL passes.
+ */
+@Service
+public class PersonalRecommendationService {
+
+    public static final int MAX_RESULTS = 50;
+
+    // Most recent reviews of the user taken into account
+    static final int MAX_HISTORY = 200;
+
+    // Candidates checked against the user's older reviews per query
+    static final int REVIEWED_CHECK_BATCH = 1000;
+
+    // Categories the user reviews most, and top-rated products taken from each
+    static final int TOP_CATEGORIES = 3;
+    static final int CATEGORY_CANDIDATES = 20;
+
+    static final double CATEGORY_WEIGHT = 0.5;
+
+    private final ReviewRepository reviewRepository;
+    private final RecommendationService recommendationService;
+    private final CatalogIndex catalogIndex;
+    private final long ttlNanos;
+    private final Map<Long, CachedList> cache;
+
+    // Bumped by every invalidation, so a list computed across one is not cached
+    private long invalidations;
+
+    public PersonalRecommendationService(ReviewRepository reviewRepository,
+                                         RecommendationService recommendationService,
+                                         CatalogIndex catalogIndex,
+                                         @Value("${recommendations.personal.cache-size:10000}") int cacheSize,
+                                         @Value("${recommendations.personal.cache-ttl:10m}") Duration ttl) {
+        this.reviewRepository = reviewRepository;
+        this.recommendationService = recommendationService;
+        this.catalogIndex = catalogIndex;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedList> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Up to {@code limit} products for the user, best first; empty for a user without reviews.
+     *
+     * @throws IllegalArgumentException if limit is not between 1 and {@value #MAX_RESULTS}
+     */
+    public List<PersonalRecommendationDto> recommendations(Long userId, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_RESULTS);
+        }
+        long generation = recommendationService.generation();
+        long now = System.nanoTime();
+        CachedList cached;
+        long invalidationsBefore;
+        synchronized (cache) {
+            cached = cache.get(userId);
+            invalidationsBefore = invalidations;
+        }
+        if (cached == null || cached.generation != generation || now - cached.computedAt > ttlNanos) {
+            cached = new CachedList(generation, now, compute(userId));
+            synchronized (cache) {
+                if (invalidations == invalidationsBefore) {
+                    cache.put(userId, cached);
+                }
+            }
+        }
+        return cached.items.subList(0, Math.min(limit, cached.items.size()));
+    }
+
+    // Any review the user writes, edits or deletes changes their history
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReviewCommitted(ReviewEvent event) {
+        synchronized (cache) {
+            cache.remove(event.getUserId());
+            invalidations++;
+        }
+    }
+
+    private List<PersonalRecommendationDto> compute(Long userId) {
+        List<UserRating> history = reviewRepository.findRatingsByUserId(userId, PageRequest.of(0, MAX_HISTORY));
+        if (history.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> reviewed = history.stream().map(UserRating::getProductId).collect(Collectors.toSet());
+        CatalogSnapshot catalog = catalogIndex.current();
+
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, List<ProductNeighbor>> neighbors = recommendationService.neighborsOf(reviewed);
+        for (UserRating rating : history) {
+            double weight = (rating.getRating() - 2) / 3.0;
+            for (ProductNeighbor neighbor : neighbors.get(rating.getProductId())) {
+                if (!reviewed.contains(neighbor.getNeighborId())) {
+                    scores.merge(neighbor.getNeighborId(), weight * neighbor.getScore(), Double::sum);
+                }
+            }
+        }
+
+        Map<String, Long> categoryCounts = history.stream()
+                .map(rating -> catalog.find(rating.getProductId()))
+                .flatMap(Optional::stream)
+                .collect(Collectors.groupingBy(ProductSummaryDto::getCategory, Collectors.counting()));
+        categoryCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.<String, Long>comparingByKey()))
+                .limit(TOP_CATEGORIES)
+                .forEach(category -> {
+                    for (LeaderboardEntryDto entry : catalogIndex.leaderboard(category.getKey(), CATEGORY_CANDIDATES)) {
+                        if (!reviewed.contains(entry.getId())) {
+                            scores.putIfAbsent(entry.getId(), 0.0);
+                        }
+                    }
+                });
+
+        if (history.size() == MAX_HISTORY) {
+            scores.keySet().removeAll(reviewedAmong(userId, scores.keySet()));
+        }
+
+        List<PersonalRecommendationDto> items = new ArrayList<>(scores.size());
+        scores.forEach((productId, similarity) -> catalog.find(productId).ifPresent(product -> {
+            double affinity = categoryCounts.getOrDefault(product.getCategory(), 0L) / (double) history.size();
+            double score = similarity + CATEGORY_WEIGHT * affinity * product.getAverageRating() / 5;
+            if (score > 0) {
+                items.add(new PersonalRecommendationDto(product.getId(), product.getName(), product.getCategory(),
+                        product.getPrice(), product.getAverageRating(), product.getReviewCount(), score));
+            }
+        }));
+        items.sort(Comparator.comparingDouble(PersonalRecommendationDto::getScore).reversed()
+                .thenComparing(PersonalRecommendationDto::getId));
+        return List.copyOf(items.subList(0, Math.min(MAX_RESULTS, items.size())));
+    }
+
+    // Candidates the user reviewed before the history window, checked in batches to bound the IN list
+    private Set<Long> reviewedAmong(Long userId, Set<Long> candidates) {
+        List<Long> ids = new ArrayList<>(candidates);
+        Set<Long> reviewed = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += REVIEWED_CHECK_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(from + REVIEWED_CHECK_BATCH, ids.size()));
+            reviewed.addAll(reviewRepository.findReviewedProductIds(userId, batch));
+        }
+        return reviewed;
+    }
+
+    private static final class CachedList {
+
+        private final long generation;
+        private final long computedAt;
+        private final List<PersonalRecommendationDto> items;
+
+        private CachedList(long generation, long computedAt, List<PersonalRecommendationDto> items) {
+            this.generation = generation;
+            this.computedAt = computedAt;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.alper.product_review_backend.recommend;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogSnapshot;
+import com.alper.product_review_backend.domain.ProductNeighbor;
+import com.alper.product_review_backend.dto.RecommendationDto;
+import com.alper.product_review_backend.dto.RecommendationRebuildResult;
+import com.alper.product_review_backend.repository.ProductNeighborRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.projection.ReviewKey;
+import com.alper.product_review_backend.service.SettingService;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * "Customers also reviewed" recommendations.
+ *
+ * A batch job reads the (product, user) pair of every review, scores item-to-item similarity with
+ * {@link ItemSimilarity} and replaces the stored neighbor lists in one transaction, so readers
+ * see either the old lists or the new ones. That transaction first locks the
+ * {@value #REBUILD_SETTING} setting row, so rebuilds running on several nodes replace the lists
+ * one after another instead of interleaving their deletes and inserts. Lists are read through a small LRU cache that each
+ * rebuild clears; product details come from the catalog index, so recommended products show
+ * current names and ratings and deleted ones are skipped.
+ */
+@Slf4j
+@Service
+public class RecommendationService {
+
+    // Neighbors stored per product, and so the most a request can ask for
+    public static final int MAX_NEIGHBORS = 20;
+
+    // Setting row locked while the stored lists are replaced
+    static final String REBUILD_SETTING = "recommendations.rebuild";
+
+    private final ReviewRepository reviewRepository;
+    private final ProductNeighborRepository neighborRepository;
+    private final CatalogIndex catalogIndex;
+    private final SettingService settingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int minCoReviewers;
+    private final int rebuildChunkSize;
+    private final Map<Long, List<ProductNeighbor>> cache;
+    private final Object rebuildLock = new Object();
+
+    // Bumped by every rebuild, so results derived from the neighbor lists can tell they are stale
+    private volatile long generation;
+
+    public RecommendationService(ReviewRepository reviewRepository,
+                                 ProductNeighborRepository neighborRepository,
+                                 CatalogIndex catalogIndex,
+                                 SettingService settingService,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recommendations.min-co-reviewers:2}") int minCoReviewers,
+                                 @Value("${recommendations.rebuild-chunk-size:50000}") int rebuildChunkSize,
+                                 @Value("${recommendations.cache-size:10000}") int cacheSize) {
+        this.reviewRepository = reviewRepository;
+        this.neighborRepository = neighborRepository;
+        this.catalogIndex = catalogIndex;
+        this.settingService = settingService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minCoReviewers = minCoReviewers;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<ProductNeighbor>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Up to {@code limit} products most often reviewed by the same users as this one, most similar first.
+     *
+     * @throws EntityNotFoundException if the product does not exist
+     * @throws IllegalArgumentException if limit is not between 1 and {@value #MAX_NEIGHBORS}
+     */
+    public List<RecommendationDto> recommendations(Long productId, int limit) {
+        if (limit < 1 || limit > MAX_NEIGHBORS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_NEIGHBORS);
+        }
+        CatalogSnapshot catalog = catalogIndex.current();
+        if (catalog.find(productId).isEmpty()) {
+            throw new EntityNotFoundException("Product not found: " + productId);
+        }
+
+        List<RecommendationDto> recommendations = new ArrayList<>(limit);
+        for (ProductNeighbor neighbor : neighborsOf(List.of(productId)).get(productId)) {
+            if (recommendations.size() == limit) {
+                break;
+            }
+            catalog.find(neighbor.getNeighborId()).ifPresent(product -> recommendations.add(new RecommendationDto(
+                    product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                    product.getAverageRating(), product.getReviewCount(),
+                    neighbor.getScore(), neighbor.getCoReviewers())));
+        }
+        return recommendations;
+    }
+
+    // Builds the first lists on a fresh database; afterwards the stored lists are served until the next run
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (neighborRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every product's neighbors from the reviews and replace the stored lists.
+     */
+    @Scheduled(fixedDelayString = "${recommendations.rebuild-interval:6h}",
+            initialDelayString = "${recommendations.rebuild-interval:6h}")
+    public RecommendationRebuildResult rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            List<ReviewKey> keys = loadKeys();
+            long[] productIds = new long[keys.size()];
+            long[] userIds = new long[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                productIds[i] = keys.get(i).getProductId();
+                userIds[i] = keys.get(i).getUserId();
+            }
+
+            Map<Long, List<ItemSimilarity.Neighbor>> neighbors =
+                    ItemSimilarity.compute(productIds, userIds, MAX_NEIGHBORS, minCoReviewers);
+            Integer stored = transactionTemplate.execute(status -> store(neighbors));
+            synchronized (cache) {
+                cache.clear();
+                generation++;
+            }
+
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Recommendations rebuilt from {} reviews: {} products, {} neighbors in {} ms",
+                    keys.size(), neighbors.size(), stored, durationMs);
+            return new RecommendationRebuildResult(keys.size(), neighbors.size(), stored != null ? stored : 0, durationMs);
+        }
+    }
+
+    /**
+     * Number of rebuilds completed so far.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * The stored neighbors of each product, most similar first (an empty list if it has none);
+     * lists missing from the cache are loaded with one query.
+     */
+    Map<Long, List<ProductNeighbor>> neighborsOf(Collection<Long> productIds) {
+        Map<Long, List<ProductNeighbor>> neighbors = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadedGeneration;
+        synchronized (cache) {
+            loadedGeneration = generation;
+            for (Long productId : productIds) {
+                List<ProductNeighbor> cached = cache.get(productId);
+                if (cached != null) {
+                    neighbors.put(productId, cached);
+                } else {
+                    missing.add(productId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return neighbors;
+        }
+
+        // Loaded outside the lock; not cached if a rebuild replaced the lists meanwhile
+        Map<Long, List<ProductNeighbor>> loaded = new HashMap<>();
+        missing.forEach(productId -> loaded.put(productId, new ArrayList<>()));
+        for (ProductNeighbor neighbor : neighborRepository.findByProductIdInOrderByProductIdAscNeighborRankAsc(missing)) {
+            loaded.get(neighbor.getProductId()).add(neighbor);
+        }
+        synchronized (cache) {
+            loaded.forEach((productId, list) -> {
+                List<ProductNeighbor> immutable = List.copyOf(list);
+                if (generation == loadedGeneration) {
+                    cache.put(productId, immutable);
+                }
+                neighbors.put(productId, immutable);
+            });
+        }
+        return neighbors;
+    }
+
+    // Id ranges are read in parallel
+    private List<ReviewKey> loadKeys() {
+        Long maxId = reviewRepository.findMaxId();
+        if (maxId == null) {
+            return List.of();
+        }
+        long chunks = maxId / rebuildChunkSize + 1;
+        return LongStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long fromId = chunk * rebuildChunkSize;
+                    return reviewRepository.findKeysInIdRange(fromId, fromId + rebuildChunkSize);
+                })
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    // The local lock only covers this node; the setting row lock makes other nodes wait until this commits
+    private int store(Map<Long, List<ItemSimilarity.Neighbor>> neighbors) {
+        settingService.lock(REBUILD_SETTING);
+        jdbcTemplate.update("delete from product_neighbors");
+        List<Object[]> rows = new ArrayList<>();
+        neighbors.forEach((productId, list) -> {
+            for (int rank = 0; rank < list.size(); rank++) {
+                ItemSimilarity.Neighbor neighbor = list.get(rank);
+                rows.add(new Object[]{productId, rank + 1, neighbor.getProductId(), neighbor.getScore(), neighbor.getCoReviewers()});
+            }
+        });
+        jdbcTemplate.batchUpdate("""
+                insert into product_neighbors (product_id, neighbor_rank, neighbor_id, score, co_reviewers)
+                values (?, ?, ?, ?, ?)
+                """, rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository;
+
+import com.alper.product_review_backend.domain.ProductNeighbor;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductNeighborRepository extends JpaRepository<ProductNeighbor, Long> {
+
+    List<ProductNeighbor> findByProductIdInOrderByProductIdAscNeighborRankAsc(Collection<Long> productIds);
+}
@@ -1,8 +1,242 @@
 package com.alper.product_review_backend.repository;
 
+import com.alper.product_review_backend.catalog.CatalogRow;
 import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.repository.projection.CatalogFreshness;
+import com.alper.product_review_backend.repository.projection.CategoryCount;
+import com.alper.product_review_backend.repository.projection.ProductFreshness;
+import com.alper.product_review_backend.repository.projection.RatingAggregates;
+import com.alper.product_review_backend.repository.projection.RatingTotals;
+import com.alper.product_review_backend.repository.projection.TrendingActivity;
+import com.alper.product_review_backend.search.SearchDocument;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProductRepository extends JpaRepository<Product, Long> { 
-    
+
+    // Bayesian average: the product's ratings plus priorWeight phantom ratings at the catalog mean,
+    // priorSum being their total (priorWeight * mean)
+    String BAYESIAN_RATING = "(:priorSum + p.ratingSum) / (:priorWeight + p.reviewCount)";
+
+    // Wilson lower bound (confidence z, z2 = z * z) of the share of stars above one, a 1-5 rating read as 0-1
+    String WILSON_SCORE = """
+            case when p.reviewCount = 0 then cast(0 as Double) else
+                (cast(p.ratingSum - p.reviewCount as Double) / (4 * p.reviewCount) + :z2 / (2 * p.reviewCount)
+                 - :z * sqrt(cast(p.ratingSum - p.reviewCount as Double) / (4 * p.reviewCount)
+                             * (1 - cast(p.ratingSum - p.reviewCount as Double) / (4 * p.reviewCount)) / p.reviewCount
+                             + :z2 / (4 * p.reviewCount * p.reviewCount)))
+                / (1 + :z2 / p.reviewCount)
+            end""";
+
+    // Fetches size + 1 rows to detect a next page, without the extra count query
+    Slice<Product> findAllBy(Pageable pageable);
+
+    Optional<ProductFreshness> findFreshnessById(Long id);
+
+    @Query("""
+            select new com.alper.product_review_backend.catalog.CatalogRow(
+                p.id, p.name, p.category, p.price, p.averageRating, p.reviewCount,
+                p.bayesianRating, p.wilsonScore, p.version, p.updatedAt)
+            from Product p
+            """)
+    List<CatalogRow> findCatalogRows();
+
+    @Query("""
+            select new com.alper.product_review_backend.catalog.CatalogRow(
+                p.id, p.name, p.category, p.price, p.averageRating, p.reviewCount,
+                p.bayesianRating, p.wilsonScore, p.version, p.updatedAt)
+            from Product p
+            where p.id = :id
+            """)
+    Optional<CatalogRow> findCatalogRowById(@Param("id") Long id);
+
+    @Query("select max(p.id) from Product p")
+    Long findMaxId();
+
+    // Half-open id range [fromId, toId), so parallel chunks never overlap; a product is its own scope
+    @Query("""
+            select new com.alper.product_review_backend.search.SearchDocument(p.id, p.id, p.name, p.description)
+            from Product p
+            where p.id >= :fromId and p.id < :toId
+            """)
+    List<SearchDocument> findSearchDocumentsInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Products written since a point in time, for catching the search index up; served by idx_product_updated_at
+    @Query("""
+            select new com.alper.product_review_backend.search.SearchDocument(p.id, p.id, p.name, p.description)
+            from Product p
+            where p.updatedAt >= :since
+            """)
+    List<SearchDocument> findSearchDocumentsUpdatedSince(@Param("since") Instant since, Pageable pageable);
+
+    @Query("select p.id from Product p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select count(p) as productCount,
+                   max(p.id) as maxId,
+                   coalesce(sum(p.version), 0) as versionSum,
+                   max(p.updatedAt) as lastUpdatedAt
+            from Product p
+            """)
+    CatalogFreshness findCatalogFreshness();
+
+    @Query("""
+            select p.categoryRef.id as categoryId, count(p) as productCount
+            from Product p
+            group by p.categoryRef.id
+            """)
+    List<CategoryCount> findCategoryCounts();
+
+    // Keyset scan over (updatedAt, id) for delta sync, bounded above by the settle horizon
+    @Query("""
+            select p from Product p
+            where (p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.id > :id))
+              and p.updatedAt < :horizon
+            order by p.updatedAt, p.id
+            """)
+    List<Product> findChangedSince(@Param("updatedAt") Instant updatedAt,
+                                   @Param("id") Long id,
+                                   @Param("horizon") Instant horizon,
+                                   Pageable pageable);
+
+    /**
+     * Apply a rating change to the product's aggregates in one UPDATE, so concurrent
+     * review writes add up instead of overwriting each other.
+     * averageRating is assigned first so it reads the pre-update values on every database.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Product p set
+                p.averageRating = case when p.reviewCount + :countDelta = 0 then 0.0
+                                  else cast(p.ratingSum + :sumDelta as Double) / (p.reviewCount + :countDelta) end,
+                p.reviewCount = p.reviewCount + :countDelta,
+                p.ratingSum = p.ratingSum + :sumDelta,
+                p.rating1Count = p.rating1Count + :delta1,
+                p.rating2Count = p.rating2Count + :delta2,
+                p.rating3Count = p.rating3Count + :delta3,
+                p.rating4Count = p.rating4Count + :delta4,
+                p.rating5Count = p.rating5Count + :delta5,
+                p.version = p.version + 1,
+                p.reviewWatermark = p.reviewWatermark + 1,
+                p.updatedAt = :updatedAt
+            where p.id = :id
+            """)
+    int applyRatingDelta(@Param("id") Long id,
+                         @Param("countDelta") long countDelta,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("delta1") long delta1,
+                         @Param("delta2") long delta2,
+                         @Param("delta3") long delta3,
+                         @Param("delta4") long delta4,
+                         @Param("delta5") long delta5,
+                         @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Recompute the ranking scores of one product from its current aggregates.
+     * Runs after {@link #applyRatingDelta} in the same transaction, which already bumped the version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.bayesianRating = " + BAYESIAN_RATING + ", p.wilsonScore = " + WILSON_SCORE
+            + " where p.id = :id")
+    int refreshRankingScores(@Param("id") Long id,
+                             @Param("priorSum") double priorSum,
+                             @Param("priorWeight") double priorWeight,
+                             @Param("z") double z,
+                             @Param("z2") double z2);
+
+    /**
+     * Recompute the ranking scores of every product whose stored scores differ from the current
+     * ones (all of them after the prior moved, otherwise only new products). Leaves the version
+     * and sync position alone: the scores are derived from the prior, whose revision is part of
+     * the listing ETag. Returns the number of products updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.bayesianRating = " + BAYESIAN_RATING + ", p.wilsonScore = " + WILSON_SCORE
+            + " where abs(p.bayesianRating - (" + BAYESIAN_RATING + ")) > 1e-9"
+            + " or abs(p.wilsonScore - (" + WILSON_SCORE + ")) > 1e-9")
+    int refreshStaleRankingScores(@Param("priorSum") double priorSum,
+                                  @Param("priorWeight") double priorWeight,
+                                  @Param("z") double z,
+                                  @Param("z2") double z2);
+
+    @Query("""
+            select coalesce(sum(p.ratingSum), 0) as ratingSum, coalesce(sum(p.reviewCount), 0) as reviewCount
+            from Product p
+            """)
+    RatingTotals findRatingTotals();
+
+    /**
+     * Add review activity (log2 of its weight) to the product's trending activity in one UPDATE.
+     * Sums in the log domain, max(a, b) + log2(1 + 2^-|a - b|), so neither side is ever exponentiated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Product p set p.trendingActivity = case when p.trendingActivity is null then :activity
+                else greatest(p.trendingActivity, :activity)
+                     + ln(1 + power(2, -abs(p.trendingActivity - :activity))) / ln(2) end
+            where p.id = :id
+            """)
+    int addTrendingActivity(@Param("id") Long id, @Param("activity") double activity);
+
+    @Query("select p.trendingActivity from Product p where p.id = :id")
+    Optional<Double> findTrendingActivityById(@Param("id") Long id);
+
+    @Query("select p.id as productId, p.trendingActivity as activity from Product p where p.trendingActivity is not null")
+    List<TrendingActivity> findTrendingActivity();
+
+    // Row lock so no review write can change the aggregates between a recount and its repair
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findForUpdateById(@Param("id") Long id);
+
+    // Half-open id range [fromId, toId), so parallel chunks never overlap
+    @Query("""
+            select p.id as productId, p.reviewCount as reviewCount, p.ratingSum as ratingSum,
+                   p.rating1Count as rating1Count, p.rating2Count as rating2Count, p.rating3Count as rating3Count,
+                   p.rating4Count as rating4Count, p.rating5Count as rating5Count, p.averageRating as averageRating
+            from Product p
+            where p.id >= :fromId and p.id < :toId
+            """)
+    List<RatingAggregates> findRatingAggregatesInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Replace the product's aggregates with recounted values, bumping the version and sync position
+     * so listings and synced clients pick them up. The caller holds the row lock.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Product p set
+                p.reviewCount = :reviewCount,
+                p.ratingSum = :ratingSum,
+                p.rating1Count = :count1,
+                p.rating2Count = :count2,
+                p.rating3Count = :count3,
+                p.rating4Count = :count4,
+                p.rating5Count = :count5,
+                p.averageRating = :averageRating,
+                p.version = p.version + 1,
+                p.updatedAt = :updatedAt
+            where p.id = :id
+            """)
+    int overwriteRatingAggregates(@Param("id") Long id,
+                                  @Param("reviewCount") long reviewCount,
+                                  @Param("ratingSum") long ratingSum,
+                                  @Param("count1") long count1,
+                                  @Param("count2") long count2,
+                                  @Param("count3") long count3,
+                                  @Param("count4") long count4,
+                                  @Param("count5") long count5,
+                                  @Param("averageRating") double averageRating,
+                                  @Param("updatedAt") Instant updatedAt);
 }
@@ -2,11 +2,155 @@ package com.alper.product_review_backend.repository;
 
 import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.dto.UserReviewDto;
+import com.alper.product_review_backend.repository.projection.RatingAggregates;
+import com.alper.product_review_backend.repository.projection.ReviewKey;
+import com.alper.product_review_backend.repository.projection.UserRating;
+import com.alper.product_review_backend.repository.projection.UserReviewTotals;
+import com.alper.product_review_backend.search.SearchDocument;
 
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByProductOrderByCreatedAtDesc(Product product);
+
+    @Query("select r from Review r join fetch r.user where r.id = :id")
+    Optional<Review> findWithUserById(@Param("id") Long id);
+
+    // Row lock so concurrent edits and deletes of one review see each other's rating
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Review r join fetch r.user where r.id = :id")
+    Optional<Review> findForUpdateById(@Param("id") Long id);
+
+    boolean existsByProductIdAndUserId(Long productId, Long userId);
+
+    Optional<Review> findByProductIdAndUserId(Long productId, Long userId);
+
+    @Query("select max(r.id) from Review r")
+    Long findMaxId();
+
+    // Superset of the existing (product, user) pairs among the given ids; callers match exact pairs
+    @Query("""
+            select r.product.id as productId, r.user.id as userId
+            from Review r
+            where r.product.id in :productIds and r.user.id in :userIds
+            """)
+    List<ReviewKey> findKeysAmong(@Param("productIds") Collection<Long> productIds,
+                                  @Param("userIds") Collection<Long> userIds);
+
+    // Half-open id range [fromId, toId), so parallel chunks never overlap
+    @Query("""
+            select r.product.id as productId, r.user.id as userId
+            from Review r
+            where r.id >= :fromId and r.id < :toId
+            """)
+    List<ReviewKey> findKeysInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select r from Review r join fetch r.user where r.id in :ids")
+    List<Review> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Half-open id range [fromId, toId), so parallel chunks never overlap
+    @Query("""
+            select new com.alper.product_review_backend.search.SearchDocument(r.id, r.product.id, '', r.comment)
+            from Review r
+            where r.id >= :fromId and r.id < :toId
+            """)
+    List<SearchDocument> findSearchDocumentsInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Reviews written since a point in time, for catching the search index up; served by idx_review_updated_at
+    @Query("""
+            select new com.alper.product_review_backend.search.SearchDocument(r.id, r.product.id, '', r.comment)
+            from Review r
+            where r.updatedAt >= :since
+            """)
+    List<SearchDocument> findSearchDocumentsUpdatedSince(@Param("since") Instant since, Pageable pageable);
+
+    // Keyset scan over (updatedAt, id) for delta sync, bounded above by the settle horizon
+    @Query("""
+            select r from Review r
+            join fetch r.user
+            where (r.updatedAt > :updatedAt or (r.updatedAt = :updatedAt and r.id > :id))
+              and r.updatedAt < :horizon
+            order by r.updatedAt, r.id
+            """)
+    List<Review> findChangedSince(@Param("updatedAt") Instant updatedAt,
+                                  @Param("id") Long id,
+                                  @Param("horizon") Instant horizon,
+                                  Pageable pageable);
+
+    // The user's ratings, most recent first
+    @Query("""
+            select r.product.id as productId, r.rating as rating
+            from Review r
+            where r.user.id = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<UserRating> findRatingsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Which of the given products the user has reviewed; served by the (product, user) unique index
+    @Query("select r.product.id from Review r where r.user.id = :userId and r.product.id in :productIds")
+    List<Long> findReviewedProductIds(@Param("userId") Long userId,
+                                      @Param("productIds") Collection<Long> productIds);
+
+    // First page of the user's reviews, newest first; joins the product for its name only
+    @Query("""
+            select new com.alper.product_review_backend.dto.UserReviewDto(
+                r.id, p.id, p.name, r.rating, r.comment, r.createdAt, r.updatedAt)
+            from Review r join r.product p
+            where r.user.id = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<UserReviewDto> findUserReviews(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset page of the user's reviews after (createdAt, id), newest first
+    @Query("""
+            select new com.alper.product_review_backend.dto.UserReviewDto(
+                r.id, p.id, p.name, r.rating, r.comment, r.createdAt, r.updatedAt)
+            from Review r join r.product p
+            where r.user.id = :userId
+              and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))
+            order by r.createdAt desc, r.id desc
+            """)
+    List<UserReviewDto> findUserReviewsBefore(@Param("userId") Long userId,
+                                              @Param("createdAt") Instant createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // Aggregates recounted per product over the half-open product id range [fromId, toId);
+    // products without reviews are absent. The average uses the same division as the delta update.
+    @Query("""
+            select r.product.id as productId, count(r) as reviewCount, sum(r.rating) as ratingSum,
+                   sum(case when r.rating = 1 then 1L else 0L end) as rating1Count,
+                   sum(case when r.rating = 2 then 1L else 0L end) as rating2Count,
+                   sum(case when r.rating = 3 then 1L else 0L end) as rating3Count,
+                   sum(case when r.rating = 4 then 1L else 0L end) as rating4Count,
+                   sum(case when r.rating = 5 then 1L else 0L end) as rating5Count,
+                   cast(sum(r.rating) as Double) / count(r) as averageRating
+            from Review r
+            where r.product.id >= :fromId and r.product.id < :toId
+            group by r.product.id
+            """)
+    List<RatingAggregates> countRatingAggregatesInProductIdRange(@Param("fromId") long fromId,
+                                                                 @Param("toId") long toId);
+
+    // Review stats recounted per user over the half-open user id range [fromId, toId);
+    // users without reviews are absent
+    @Query("""
+            select r.user.id as userId, count(r) as reviewCount, sum(r.rating) as ratingSum
+            from Review r
+            where r.user.id >= :fromId and r.user.id < :toId
+            group by r.user.id
+            """)
+    List<UserReviewTotals> countUserReviewTotalsInUserIdRange(@Param("fromId") long fromId,
+                                                               @Param("toId") long toId);
 }
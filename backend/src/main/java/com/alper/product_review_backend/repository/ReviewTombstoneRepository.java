@@ -0,0 +1,28 @@
+package com.alper.product_review_backend.repository;
+
+import com.alper.product_review_backend.domain.ReviewTombstone;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ReviewTombstoneRepository extends JpaRepository<ReviewTombstone, Long> {
+
+    // Keyset scan over (deletedAt, id) for delta sync, bounded above by the settle horizon
+    @Query("""
+            select t from ReviewTombstone t
+            where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.id > :id))
+              and t.deletedAt < :horizon
+            order by t.deletedAt, t.id
+            """)
+    List<ReviewTombstone> findDeletedSince(@Param("deletedAt") Instant deletedAt,
+                                           @Param("id") Long id,
+                                           @Param("horizon") Instant horizon,
+                                           Pageable pageable);
+
+    // Reviews deleted since a point in time, for catching the search index up
+    @Query("select t.reviewId from ReviewTombstone t where t.deletedAt >= :since")
+    List<Long> findReviewIdsDeletedSince(@Param("since") Instant since, Pageable pageable);
+}
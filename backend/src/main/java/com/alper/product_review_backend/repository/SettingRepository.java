@@ -0,0 +1,17 @@
+package com.alper.product_review_backend.repository;
+
+import com.alper.product_review_backend.domain.Setting;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SettingRepository extends JpaRepository<Setting, String> {
+
+    // Row lock, held until commit: one node at a time changes the setting and acts on it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Setting s where s.name = :name")
+    Optional<Setting> findForUpdateByName(@Param("name") String name);
+}
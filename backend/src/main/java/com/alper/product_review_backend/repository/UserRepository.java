@@ -1,13 +1,23 @@
 package com.alper.product_review_backend.repository;
 
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.repository.projection.RatingTotals;
+import com.alper.product_review_backend.repository.projection.UserReviewTotals;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     
     Optional<User> findByUsername(String username);
     
@@ -16,4 +26,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Apply a review write to the user's review stats in one UPDATE, so concurrent
+     * writes by the same user add up instead of overwriting each other.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update User u set
+                u.reviewCount = u.reviewCount + :countDelta,
+                u.ratingSum = u.ratingSum + :sumDelta
+            where u.id = :id
+            """)
+    int applyReviewDelta(@Param("id") Long id,
+                         @Param("countDelta") long countDelta,
+                         @Param("sumDelta") long sumDelta);
+
+    @Query("select u.ratingSum as ratingSum, u.reviewCount as reviewCount from User u where u.id = :id")
+    Optional<RatingTotals> findReviewTotalsById(@Param("id") Long id);
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
+
+    // Half-open id range [fromId, toId), so parallel chunks never overlap
+    @Query("""
+            select u.id as userId, u.reviewCount as reviewCount, u.ratingSum as ratingSum
+            from User u
+            where u.id >= :fromId and u.id < :toId
+            """)
+    List<UserReviewTotals> findReviewTotalsInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Reviewers whose stats were never counted, e.g. because the columns were added with their reviews in place
+    @Query("""
+            select u.id from User u
+            where u.reviewCount = 0 and exists (select 1 from Review r where r.user = u)
+            """)
+    List<Long> findUncountedReviewerIds();
+
+    // Row lock so no review write can change the stats between a recount and its repair
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Replace the user's review stats with a recount. Callers hold the row lock from
+     * {@link #findForUpdateById}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.reviewCount = :reviewCount, u.ratingSum = :ratingSum where u.id = :id")
+    int overwriteReviewTotals(@Param("id") Long id,
+                              @Param("reviewCount") long reviewCount,
+                              @Param("ratingSum") long ratingSum);
 }
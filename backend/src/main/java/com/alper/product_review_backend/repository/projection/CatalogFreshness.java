@@ -0,0 +1,17 @@
+package com.alper.product_review_backend.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Catalog-wide watermark: changes whenever a product is created, updated or deleted.
+ */
+public interface CatalogFreshness {
+
+    Long getProductCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+
+    Instant getLastUpdatedAt();
+}
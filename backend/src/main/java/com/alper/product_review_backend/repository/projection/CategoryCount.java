@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * Number of products in one category, used to reconcile the in-memory facet counts.
+ */
+public interface CategoryCount {
+
+    Integer getCategoryId();
+
+    Long getProductCount();
+}
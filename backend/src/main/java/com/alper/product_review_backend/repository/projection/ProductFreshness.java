@@ -0,0 +1,18 @@
+package com.alper.product_review_backend.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Version columns of a single product, loaded without the rest of the row.
+ * Used to answer conditional GETs before loading or serializing the entity.
+ */
+public interface ProductFreshness {
+
+    Long getId();
+
+    Long getVersion();
+
+    Long getReviewWatermark();
+
+    Instant getUpdatedAt();
+}
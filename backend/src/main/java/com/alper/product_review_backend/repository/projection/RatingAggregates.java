@@ -0,0 +1,25 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * A product's review aggregates, as stored on the product or recounted from its reviews.
+ */
+public interface RatingAggregates {
+
+    Long getProductId();
+
+    Long getReviewCount();
+
+    Long getRatingSum();
+
+    Long getRating1Count();
+
+    Long getRating2Count();
+
+    Long getRating3Count();
+
+    Long getRating4Count();
+
+    Long getRating5Count();
+
+    Double getAverageRating();
+}
@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * Review totals across the whole catalog, the basis of the ranking prior, or of one user's reviews.
+ */
+public interface RatingTotals {
+
+    Long getRatingSum();
+
+    Long getReviewCount();
+}
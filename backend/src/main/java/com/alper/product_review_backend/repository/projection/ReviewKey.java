@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * The (product, user) pair of a review, used to seed the duplicate-review filter.
+ */
+public interface ReviewKey {
+
+    Long getProductId();
+
+    Long getUserId();
+}
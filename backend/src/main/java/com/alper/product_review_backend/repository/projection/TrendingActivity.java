@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * A product's persisted trending activity, loaded into the trending index at startup.
+ */
+public interface TrendingActivity {
+
+    Long getProductId();
+
+    Double getActivity();
+}
@@ -0,0 +1,11 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * A user's rating of one product, the input of personalized recommendations.
+ */
+public interface UserRating {
+
+    Long getProductId();
+
+    Integer getRating();
+}
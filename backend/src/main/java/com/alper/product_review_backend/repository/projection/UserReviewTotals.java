@@ -0,0 +1,13 @@
+package com.alper.product_review_backend.repository.projection;
+
+/**
+ * A user's review stats, as stored on the user or recounted from their reviews.
+ */
+public interface UserReviewTotals {
+
+    Long getUserId();
+
+    Long getReviewCount();
+
+    Long getRatingSum();
+}
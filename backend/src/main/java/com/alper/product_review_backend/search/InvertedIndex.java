@@ -0,0 +1,262 @@
+package com.alper.product_review_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term to document postings with BM25 scoring.
+ *
+ * Each posting carries the document's term frequency, length and scope next to its id, so scoring
+ * a query reads the postings of its terms and nothing else. Segments built independently (e.g. one
+ * per id range during a parallel rebuild) are combined with {@link #merge}. Every document
+ * remembers where each of its postings sits, so removing it costs one step per term rather than a
+ * scan of each term's postings. Reads share a lock; writes take it exclusively.
+ */
+final class InvertedIndex {
+
+    // Standard BM25 parameters: term frequency saturation and document length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A title word counts as this many body words
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final Comparator<SearchHits.Hit> RANKING = Comparator
+            .comparingDouble(SearchHits.Hit::getScore).reversed()
+            .thenComparingLong(SearchHits.Hit::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    static InvertedIndex of(Collection<SearchDocument> documents) {
+        InvertedIndex index = new InvertedIndex();
+        documents.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Combine segments covering disjoint document ids into one index.
+     */
+    static InvertedIndex merge(List<InvertedIndex> segments) {
+        InvertedIndex merged = new InvertedIndex();
+        for (InvertedIndex segment : segments) {
+            segment.postings.forEach((term, list) -> {
+                Postings target = merged.postings.computeIfAbsent(term, key -> new Postings());
+                int offset = target.size;
+                target.addAll(list);
+                // The segment's documents move over as they are; shift their positions in this term's postings
+                for (int i = 0; i < list.size; i++) {
+                    segment.documents.get(list.ids[i]).positions[list.slots[i]] += offset;
+                }
+            });
+            merged.documents.putAll(segment.documents);
+            merged.totalLength += segment.totalLength;
+        }
+        return merged;
+    }
+
+    /**
+     * Apply committed changes; an upsert replaces whatever was indexed for the document.
+     */
+    void apply(Collection<SearchDocument> upserts, Collection<Long> removedIds) {
+        lock.writeLock().lock();
+        try {
+            removedIds.forEach(this::remove);
+            for (SearchDocument document : upserts) {
+                remove(document.getId());
+                add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Documents containing any of the query's terms, best BM25 score first (ties by id), optionally
+     * only those in one scope. The total counts every matching document.
+     */
+    SearchHits search(String query, Long scope, long offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.terms(query)));
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (terms.isEmpty() || documentCount == 0) {
+                return new SearchHits(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Long, double[]> scores = new HashMap<>();
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    if (scope != null && list.scopes[i] != scope) {
+                        continue;
+                    }
+                    double tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * list.lengths[i] / averageLength);
+                    scores.computeIfAbsent(list.ids[i], id -> new double[1])[0] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            // Keep only the best offset + limit hits
+            long wanted = offset + limit;
+            PriorityQueue<SearchHits.Hit> best = new PriorityQueue<>(RANKING.reversed());
+            for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+                SearchHits.Hit hit = new SearchHits.Hit(entry.getKey(), entry.getValue()[0]);
+                if (best.size() < wanted) {
+                    best.add(hit);
+                } else if (RANKING.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+            List<SearchHits.Hit> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            List<SearchHits.Hit> page = offset < ranked.size()
+                    ? ranked.subList((int) offset, ranked.size())
+                    : List.of();
+            return new SearchHits(List.copyOf(page), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : TextAnalyzer.terms(document.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : TextAnalyzer.terms(document.getBody())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        String[] terms = new String[frequencies.size()];
+        int[] positions = new int[terms.length];
+        int slot = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms[slot] = entry.getKey();
+            positions[slot] = postings.computeIfAbsent(entry.getKey(), term -> new Postings())
+                    .add(document.getId(), entry.getValue(), length, document.getScope(), slot);
+            slot++;
+        }
+        documents.put(document.getId(), new Document(terms, positions, length));
+        totalLength += length;
+    }
+
+    private void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (int slot = 0; slot < document.terms.length; slot++) {
+            Postings list = postings.get(document.terms[slot]);
+            int position = document.positions[slot];
+            int last = list.size - 1;
+            if (position != last) {
+                // The last posting fills the gap; its document learns its new position
+                documents.get(list.ids[last]).positions[list.slots[last]] = position;
+            }
+            list.remove(position);
+            if (list.size == 0) {
+                postings.remove(document.terms[slot]);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    // What is needed to take a document back out of the postings: its terms and, for each, where
+    // its posting sits in that term's postings
+    private static final class Document {
+
+        private final String[] terms;
+        private final int[] positions;
+        private final int length;
+
+        private Document(String[] terms, int[] positions, int length) {
+            this.terms = terms;
+            this.positions = positions;
+            this.length = length;
+        }
+    }
+
+    // Parallel arrays in no particular order; removal moves the last posting into the gap. The slot
+    // is the index of the term in its document's terms, so a moved posting can update its position
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private long[] scopes = new long[4];
+        private int[] slots = new int[4];
+        private int size;
+
+        // The position of the new posting
+        private int add(long id, int frequency, int length, long scope, int slot) {
+            if (size == ids.length) {
+                grow(size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            lengths[size] = length;
+            scopes[size] = scope;
+            slots[size] = slot;
+            return size++;
+        }
+
+        private void addAll(Postings other) {
+            if (size + other.size > ids.length) {
+                grow(size + other.size);
+            }
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            System.arraycopy(other.frequencies, 0, frequencies, size, other.size);
+            System.arraycopy(other.lengths, 0, lengths, size, other.size);
+            System.arraycopy(other.scopes, 0, scopes, size, other.size);
+            System.arraycopy(other.slots, 0, slots, size, other.size);
+            size += other.size;
+        }
+
+        private void remove(int position) {
+            int last = --size;
+            ids[position] = ids[last];
+            frequencies[position] = frequencies[last];
+            lengths[position] = lengths[last];
+            scopes[position] = scopes[last];
+            slots[position] = slots[last];
+        }
+
+        private void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            scopes = Arrays.copyOf(scopes, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+        }
+    }
+}
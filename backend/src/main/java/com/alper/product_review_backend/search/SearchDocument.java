@@ -0,0 +1,35 @@
+package com.alper.product_review_backend.search;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import lombok.Getter;
+
+/**
+ * The searchable text of one product or review. The title (product name) weighs more than the
+ * body. The scope is what results can be narrowed to: the product a review belongs to.
+ */
+@Getter
+public class SearchDocument {
+
+    private final long id;
+    private final long scope;
+    private final String title;
+    private final String body;
+
+    // Used by the JPQL constructor expressions in ProductRepository and ReviewRepository
+    public SearchDocument(Long id, Long scope, String title, String body) {
+        this.id = id;
+        this.scope = scope;
+        this.title = title;
+        this.body = body;
+    }
+
+    // A product is its own scope
+    public static SearchDocument of(Product product) {
+        return new SearchDocument(product.getId(), product.getId(), product.getName(), product.getDescription());
+    }
+
+    public static SearchDocument of(Review review) {
+        return new SearchDocument(review.getId(), review.getProduct().getId(), "", review.getComment());
+    }
+}
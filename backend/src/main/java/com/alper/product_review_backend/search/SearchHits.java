@@ -0,0 +1,24 @@
+package com.alper.product_review_backend.search;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of ranked document ids, plus how many documents matched in total.
+ */
+@Getter
+@AllArgsConstructor
+final class SearchHits {
+
+    private final List<Hit> hits;
+    private final long total;
+
+    @Getter
+    @AllArgsConstructor
+    static final class Hit {
+
+        private final long id;
+        private final double score;
+    }
+}
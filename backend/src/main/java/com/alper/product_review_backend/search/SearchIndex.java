@@ -0,0 +1,167 @@
+package com.alper.product_review_backend.search;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * One searchable collection (products or reviews) backed by an {@link InvertedIndex}.
+ *
+ * Writes stage their documents on the current transaction and are applied after commit, so
+ * searches never see uncommitted text. A rebuild holds the write lock while it loads, so changes
+ * committed meanwhile are applied on top of the new index rather than lost with the old one.
+ *
+ * Changes this node did not see (e.g. written by another node) are caught up by {@link #reconcile}:
+ * it re-reads the rows written since a watermark, the start of the last rebuild or reconcile less
+ * {@link #CATCH_UP_OVERLAP}, and rebuilds instead when there are too many to apply one by one.
+ */
+@Slf4j
+final class SearchIndex {
+
+    // Rows are re-read this far behind the watermark, for transactions that commit a while after
+    // stamping their rows and for clocks that differ between nodes
+    static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final String name;
+    private final Supplier<InvertedIndex> loader;
+    private final ChangeReader changeReader;
+    private final Object writeLock = new Object();
+
+    private volatile InvertedIndex index;
+    // Rows written from here on may be missing from the index; written under the write lock
+    private Instant watermark;
+
+    SearchIndex(String name, Supplier<InvertedIndex> loader, ChangeReader changeReader) {
+        this.name = name;
+        this.loader = loader;
+        this.changeReader = changeReader;
+    }
+
+    /**
+     * The current index, loading it first if it has not been built yet.
+     */
+    InvertedIndex current() {
+        InvertedIndex current = index;
+        return current != null ? current : rebuild();
+    }
+
+    InvertedIndex rebuild() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            Instant loadStart = Instant.now();
+            InvertedIndex loaded = loader.get();
+            index = loaded;
+            watermark = loadStart.minus(CATCH_UP_OVERLAP);
+            log.info("Search index '{}' built from {} documents in {} ms",
+                    name, loaded.size(), (System.nanoTime() - start) / 1_000_000);
+            return loaded;
+        }
+    }
+
+    /**
+     * Apply the rows written since the watermark, or rebuild if the reader finds too many.
+     * Holds the write lock while it reads, so a change committed meanwhile is applied after the
+     * rows read here rather than overwritten by them. Does nothing before the first build.
+     */
+    void reconcile() {
+        synchronized (writeLock) {
+            InvertedIndex current = index;
+            if (current == null) {
+                return;
+            }
+            Instant start = Instant.now();
+            Changes changes = changeReader.read(watermark);
+            if (changes == null) {
+                log.info("Search index '{}' missed too many changes to catch up; rebuilding", name);
+                rebuild();
+                return;
+            }
+            current.apply(changes.upserts, changes.removedIds);
+            watermark = start.minus(CATCH_UP_OVERLAP);
+        }
+    }
+
+    void stageUpsert(SearchDocument document) {
+        stage(List.of(document), List.of());
+    }
+
+    void stageRemoval(long id) {
+        stage(List.of(), List.of(id));
+    }
+
+    private void stage(List<SearchDocument> upserts, List<Long> removedIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Outside a transaction the change is already committed
+            apply(upserts, removedIds);
+            return;
+        }
+        PendingChanges pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges candidate && candidate.owner() == this) {
+                pending = candidate;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        // Removals are applied before upserts, so a document written and then deleted in one transaction is dropped here
+        if (!removedIds.isEmpty()) {
+            pending.upserts.removeIf(document -> removedIds.contains(document.getId()));
+        }
+        pending.upserts.addAll(upserts);
+        pending.removedIds.addAll(removedIds);
+    }
+
+    private void apply(List<SearchDocument> upserts, List<Long> removedIds) {
+        synchronized (writeLock) {
+            InvertedIndex current = index;
+            // Not built yet: the initial load will read these documents from the database
+            if (current != null) {
+                current.apply(upserts, removedIds);
+            }
+        }
+    }
+
+    /**
+     * Reads the documents written and the ids deleted since a point in time; null if there are
+     * more than are worth applying one by one.
+     */
+    @FunctionalInterface
+    interface ChangeReader {
+        Changes read(Instant since);
+    }
+
+    static final class Changes {
+
+        private final List<SearchDocument> upserts;
+        private final List<Long> removedIds;
+
+        Changes(List<SearchDocument> upserts, List<Long> removedIds) {
+            this.upserts = upserts;
+            this.removedIds = removedIds;
+        }
+    }
+
+    // One per transaction and index; collects every document change so the index is locked once per commit
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<SearchDocument> upserts = new ArrayList<>();
+        private final List<Long> removedIds = new ArrayList<>();
+
+        private SearchIndex owner() {
+            return SearchIndex.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(upserts, removedIds);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.alper.product_review_backend.search;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the search indexes in step with entity writes to {@link Product} and {@link Review}.
+ * Instantiated by Hibernate through Spring's bean container; the service is looked up lazily
+ * because it depends on the repositories that are still being built when listeners are created.
+ */
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchService> searchService;
+
+    public SearchIndexListener(ObjectProvider<SearchService> searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Object entity) {
+        if (entity instanceof Product product) {
+            searchService.ifAvailable(service -> service.stageProduct(product));
+        } else if (entity instanceof Review review) {
+            searchService.ifAvailable(service -> service.stageReview(review));
+        }
+    }
+
+    @PostRemove
+    void onRemoved(Object entity) {
+        if (entity instanceof Product product) {
+            searchService.ifAvailable(service -> service.stageProductRemoval(product.getId()));
+        } else if (entity instanceof Review review) {
+            searchService.ifAvailable(service -> service.stageReviewRemoval(review.getId()));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.alper.product_review_backend.search;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogSnapshot;
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.dto.PageResponse;
+import com.alper.product_review_backend.dto.ProductSearchHitDto;
+import com.alper.product_review_backend.dto.ReviewSearchHitDto;
+import com.alper.product_review_backend.dto.SearchRebuildResult;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.ReviewTombstoneRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search over product names and descriptions and over review comments, ranked by BM25.
+ *
+ * Both indexes live in memory and are kept current by {@link SearchIndexListener} as products and
+ * reviews are written, and caught up on changes made elsewhere by a periodic {@link #reconcile}. A
+ * rebuild reads the tables in id ranges and indexes the ranges in parallel, one segment per range,
+ * before merging the segments. Product hits are filled in from the catalog index and review hits
+ * with one query for the page.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final CatalogIndex catalogIndex;
+    private final int rebuildChunkSize;
+    private final SearchIndex products;
+    private final SearchIndex reviews;
+
+    public SearchService(ProductRepository productRepository,
+                         ReviewRepository reviewRepository,
+                         ReviewTombstoneRepository tombstoneRepository,
+                         CatalogIndex catalogIndex,
+                         @Value("${search.rebuild-chunk-size:50000}") int rebuildChunkSize) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.catalogIndex = catalogIndex;
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.products = new SearchIndex("products",
+                () -> load(productRepository::findMaxId, productRepository::findSearchDocumentsInIdRange),
+                since -> changes(productRepository.findSearchDocumentsUpdatedSince(since, changesPage()), List.of()));
+        this.reviews = new SearchIndex("reviews",
+                () -> load(reviewRepository::findMaxId, reviewRepository::findSearchDocumentsInIdRange),
+                since -> changes(reviewRepository.findSearchDocumentsUpdatedSince(since, changesPage()),
+                        tombstoneRepository.findReviewIdsDeletedSince(since, changesPage())));
+    }
+
+    /**
+     * Products whose name or description mention any of the query's words, most relevant first.
+     *
+     * @throws IllegalArgumentException if the query is blank
+     */
+    public PageResponse<ProductSearchHitDto> searchProducts(String query, Pageable pageable) {
+        validate(query);
+        SearchHits hits = products.current().search(query, null, pageable.getOffset(), pageable.getPageSize());
+
+        CatalogSnapshot catalog = catalogIndex.current();
+        List<ProductSearchHitDto> items = new ArrayList<>(hits.getHits().size());
+        for (SearchHits.Hit hit : hits.getHits()) {
+            catalog.find(hit.getId()).ifPresent(product -> items.add(new ProductSearchHitDto(
+                    product.getId(),
+                    product.getName(),
+                    product.getCategory(),
+                    product.getPrice(),
+                    product.getAverageRating(),
+                    product.getReviewCount(),
+                    hit.getScore())));
+        }
+        return page(items, pageable, hits.getTotal());
+    }
+
+    /**
+     * Reviews whose comment mentions any of the query's words, most relevant first, optionally
+     * only for one product.
+     *
+     * @throws IllegalArgumentException if the query is blank
+     */
+    public PageResponse<ReviewSearchHitDto> searchReviews(String query, Long productId, Pageable pageable) {
+        validate(query);
+        SearchHits hits = reviews.current().search(query, productId, pageable.getOffset(), pageable.getPageSize());
+
+        List<Long> ids = hits.getHits().stream().map(SearchHits.Hit::getId).toList();
+        Map<Long, Review> byId = ids.isEmpty()
+                ? Map.of()
+                : reviewRepository.findWithUserByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Review::getId, Function.identity()));
+        List<ReviewSearchHitDto> items = new ArrayList<>(ids.size());
+        for (SearchHits.Hit hit : hits.getHits()) {
+            Review review = byId.get(hit.getId());
+            if (review != null) {
+                items.add(new ReviewSearchHitDto(
+                        review.getId(),
+                        review.getProduct().getId(),
+                        review.getRating(),
+                        review.getComment(),
+                        review.getUser().getUsername(),
+                        review.getCreatedAt(),
+                        hit.getScore()));
+            }
+        }
+        return page(items, pageable, hits.getTotal());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Catch both indexes up on rows written since their last rebuild or reconcile, however they
+     * were written. Products have no tombstones, so a product count that differs from the index
+     * (a product deleted elsewhere) rebuilds the product index.
+     */
+    @Scheduled(fixedDelayString = "${search.reconcile-interval:30s}",
+            initialDelayString = "${search.reconcile-interval:30s}")
+    public void reconcile() {
+        products.reconcile();
+        reviews.reconcile();
+        long productCount = productRepository.count();
+        int indexed = products.current().size();
+        if (indexed != productCount) {
+            log.info("Product search index out of date (index: {} products, database: {}); rebuilding",
+                    indexed, productCount);
+            products.rebuild();
+        }
+    }
+
+    /**
+     * Rebuild both indexes from the database.
+     */
+    public SearchRebuildResult rebuild() {
+        long start = System.nanoTime();
+        int productCount = products.rebuild().size();
+        int reviewCount = reviews.rebuild().size();
+        return new SearchRebuildResult(productCount, reviewCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    void stageProduct(Product product) {
+        products.stageUpsert(SearchDocument.of(product));
+    }
+
+    void stageProductRemoval(Long productId) {
+        products.stageRemoval(productId);
+    }
+
+    void stageReview(Review review) {
+        reviews.stageUpsert(SearchDocument.of(review));
+    }
+
+    void stageReviewRemoval(Long reviewId) {
+        reviews.stageRemoval(reviewId);
+    }
+
+    // Id ranges are read and indexed in parallel, one segment each, then merged
+    private InvertedIndex load(Supplier<Long> maxIdQuery, IdRangeReader reader) {
+        Long maxId = maxIdQuery.get();
+        if (maxId == null) {
+            return InvertedIndex.of(List.of());
+        }
+        long chunks = maxId / rebuildChunkSize + 1;
+        List<InvertedIndex> segments = LongStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long fromId = chunk * rebuildChunkSize;
+                    return InvertedIndex.of(reader.read(fromId, fromId + rebuildChunkSize));
+                })
+                .toList();
+        return InvertedIndex.merge(segments);
+    }
+
+    // A full page means more changes than a chunk of a rebuild, so rebuilding is cheaper
+    private SearchIndex.Changes changes(List<SearchDocument> upserts, List<Long> removedIds) {
+        if (upserts.size() == rebuildChunkSize || removedIds.size() == rebuildChunkSize) {
+            return null;
+        }
+        return new SearchIndex.Changes(upserts, removedIds);
+    }
+
+    private Pageable changesPage() {
+        return PageRequest.of(0, rebuildChunkSize);
+    }
+
+    private static void validate(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("'q' must not be blank");
+        }
+    }
+
+    private static <T> PageResponse<T> page(List<T> items, Pageable pageable, long total) {
+        boolean hasNext = pageable.getOffset() + pageable.getPageSize() < total;
+        return PageResponse.of(new SliceImpl<>(items, pageable, hasNext), total);
+    }
+
+    @FunctionalInterface
+    private interface IdRangeReader {
+        List<SearchDocument> read(long fromId, long toId);
+    }
+}
@@ -0,0 +1,64 @@
+package com.alper.product_review_backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns text into index terms: lower-cased, accent-free alphanumeric words, English stop words
+ * removed and plurals folded to the singular ("Batteries" and "battery" are the same term).
+ * Documents and queries go through the same analysis.
+ */
+final class TextAnalyzer {
+
+    // Lucene's English stop word set
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= decomposed.length(); i++) {
+            char c = i < decomposed.length() ? decomposed.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                String term = word.toString();
+                word.setLength(0);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(singular(term));
+                }
+            }
+        }
+        return terms;
+    }
+
+    // Harman's S-stemmer: only plural endings, so it rarely conflates unrelated words
+    private static String singular(String word) {
+        int length = word.length();
+        if (length > 3 && word.endsWith("ies") && !word.endsWith("eies") && !word.endsWith("aies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (length > 2 && word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees")
+                && !word.endsWith("oes")) {
+            return word.substring(0, length - 1);
+        }
+        if (length > 1 && word.endsWith("s") && !word.endsWith("us") && !word.endsWith("ss")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+}
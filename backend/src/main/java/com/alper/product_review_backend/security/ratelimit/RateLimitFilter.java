@@ -0,0 +1,86 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+import com.alper.product_review_backend.domain.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Throttles the configured routes with token buckets keyed by user id, or by client IP
+ * for anonymous requests. Rejected requests get 429 with a Retry-After header.
+ * Registered in the security chain after JWT authentication so the user is known.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketStore store;
+    private final List<RateLimitRule> rules;
+
+    public RateLimitFilter(TokenBucketStore store, List<RateLimitRule> rules) {
+        this.store = store;
+        this.rules = rules;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        for (RateLimitRule rule : rules) {
+            if (!rule.matches(request)) {
+                continue;
+            }
+            String key = rule.getName() + ":" + clientKey(request);
+            long waitNanos = store.tryConsume(key, rule.getPolicy());
+            if (waitNanos > 0) {
+                reject(request, response, key, waitNanos);
+                return;
+            }
+            break;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        String key, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit exceeded for {} on {}", key, request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        String jsonResponse = String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"error\":\"%s\",\"message\":\"%s\",\"path\":\"%s\",\"details\":[]}",
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.name(),
+                "Too many requests. Please retry after " + retryAfterSeconds + " seconds.",
+                request.getRequestURI()
+        );
+
+        response.getWriter().write(jsonResponse);
+    }
+}
@@ -0,0 +1,25 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Token bucket shape: up to {@code capacity} requests in a burst, refilled evenly so that
+ * {@code capacity} tokens come back every {@code period}.
+ */
+@Getter
+public class RateLimitPolicy {
+
+    private final long capacity;
+    private final Duration period;
+    private final double tokensPerNano;
+
+    public RateLimitPolicy(long capacity, Duration period) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+        this.capacity = capacity;
+        this.period = period;
+        this.tokensPerNano = (double) capacity / period.toNanos();
+    }
+}
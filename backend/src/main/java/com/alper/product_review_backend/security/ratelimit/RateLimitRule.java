@@ -0,0 +1,32 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * A throttled route: requests matching it draw from a bucket named after the rule.
+ */
+@Getter
+public class RateLimitRule {
+
+    private final String name;
+    private final RequestMatcher matcher;
+    private final RateLimitPolicy policy;
+
+    public RateLimitRule(String name, RequestMatcher matcher, RateLimitPolicy policy) {
+        this.name = name;
+        this.matcher = matcher;
+        this.policy = policy;
+    }
+
+    public static RateLimitRule of(String name, HttpMethod method, String pattern, RateLimitPolicy policy) {
+        return new RateLimitRule(name, PathPatternRequestMatcher.withDefaults().matcher(method, pattern), policy);
+    }
+
+    boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+}
@@ -0,0 +1,99 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process token buckets guarded by a fixed set of striped locks, so unrelated keys
+ * rarely contend and no lock object is allocated per key.
+ */
+@Component
+public class StripedTokenBucketStore implements TokenBucketStore {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Object[] stripes;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StripedTokenBucketStore() {
+        this(DEFAULT_STRIPES, System::nanoTime);
+    }
+
+    StripedTokenBucketStore(int stripeCount, LongSupplier nanoClock) {
+        // Power of two so the stripe index is a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Object();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitPolicy policy) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy, now));
+
+        synchronized (stripeFor(key)) {
+            bucket.refill(now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / bucket.policy.getTokensPerNano());
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they are indistinguishable from new ones.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval:5m}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.forEach((key, bucket) -> {
+            synchronized (stripeFor(key)) {
+                bucket.refill(now);
+                if (bucket.tokens >= bucket.policy.getCapacity()) {
+                    buckets.remove(key, bucket);
+                }
+            }
+        });
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private Object stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Mutable state is only touched while holding the key's stripe lock
+    private static final class Bucket {
+
+        private final RateLimitPolicy policy;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(RateLimitPolicy policy, long now) {
+            this.policy = policy;
+            this.tokens = policy.getCapacity();
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(policy.getCapacity(), tokens + elapsed * policy.getTokensPerNano());
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
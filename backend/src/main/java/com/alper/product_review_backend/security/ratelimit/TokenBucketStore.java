@@ -0,0 +1,15 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+/**
+ * Storage for token buckets. The default implementation is in-process; a shared backend
+ * (e.g. Redis) can be plugged in by providing another bean of this type.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Take one token from the bucket for {@code key}, creating a full bucket on first use.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryConsume(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,88 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.PageCursor;
+import com.alper.product_review_backend.dto.PageResponse;
+import com.alper.product_review_backend.dto.UserFilter;
+import com.alper.product_review_backend.exception.ValidationException;
+import com.alper.product_review_backend.repository.UserRepository;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keyset-paginated user listing for admins.
+ *
+ * Pages are ordered by id and the cursor carries the last id seen, so each page is an index
+ * range scan ({@code id > ?}) no matter how deep the client pages, and no count query runs.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminUserService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public PageResponse<User> getUsers(UserFilter filter, String cursor, int size) {
+        validate(filter);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long afterId = cursor != null ? decodeCursor(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists
+        List<User> rows = userRepository.findBy(matching(filter, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(limit + 1).all());
+
+        boolean hasNext = rows.size() > limit;
+        List<User> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? PageCursor.encode(String.valueOf(items.get(limit - 1).getId())) : null;
+        return new PageResponse<>(items, nextCursor, null);
+    }
+
+    public static void validate(UserFilter filter) {
+        if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                && !filter.getCreatedFrom().isBefore(filter.getCreatedTo())) {
+            throw new ValidationException("'createdFrom' must be before 'createdTo'");
+        }
+    }
+
+    private static Specification<User> matching(UserFilter filter, Long afterId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterId != null) {
+                predicates.add(cb.greaterThan(root.get("id"), afterId));
+            }
+            if (filter.getRole() != null) {
+                predicates.add(cb.equal(root.get("role"), filter.getRole()));
+            }
+            if (filter.getEnabled() != null) {
+                predicates.add(cb.equal(root.get("enabled"), filter.getEnabled()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            if (filter.hasUsernamePrefix()) {
+                predicates.add(cb.like(root.get("username"), filter.usernameLikePattern(), '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Long decodeCursor(String cursor) {
+        String[] parts = PageCursor.decode(cursor, 1);
+        try {
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
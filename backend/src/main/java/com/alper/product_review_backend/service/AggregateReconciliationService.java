@@ -0,0 +1,269 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.dto.AggregateReconciliationResult;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.repository.projection.RatingAggregates;
+import com.alper.product_review_backend.repository.projection.UserReviewTotals;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repairs product review aggregates and user review stats that no longer match the reviews.
+ *
+ * Review writes adjust both by delta, so a lost or doubled delta (a write made outside the
+ * service, a bug, a row from before a column existed) is never corrected by later writes.
+ * This job recounts every product and user from the review table: id ranges are scanned in
+ * parallel without locks, comparing stored values with the recount. Each row that differs is
+ * then locked, recounted again and overwritten, so a review write in flight during the scan is
+ * neither lost nor reported as drift. At startup, users with reviews but no counted stats are
+ * repaired the same way, so stats added to an existing database are right before the first run.
+ */
+@Slf4j
+@Service
+public class AggregateReconciliationService {
+
+    // Stored and recounted averages are computed the same way; this only absorbs database rounding
+    private static final double AVERAGE_TOLERANCE = 1e-9;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final ProductAggregateService aggregateService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Object reconcileLock = new Object();
+
+    public AggregateReconciliationService(ProductRepository productRepository,
+                                          ReviewRepository reviewRepository,
+                                          UserRepository userRepository,
+                                          ProductAggregateService aggregateService,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${aggregates.reconcile-chunk-size:10000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.aggregateService = aggregateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Recount every product's aggregates and every user's stats, and overwrite the ones that differ.
+     */
+    @Scheduled(fixedDelayString = "${aggregates.reconcile-interval:24h}",
+            initialDelayString = "${aggregates.reconcile-interval:24h}")
+    public AggregateReconciliationResult reconcile() {
+        synchronized (reconcileLock) {
+            long start = System.nanoTime();
+            Long maxId = productRepository.findMaxId();
+            List<ChunkScan> scans = maxId == null ? List.of() : LongStream.range(0, maxId / chunkSize + 1).parallel()
+                    .mapToObj(chunk -> scan(chunk * chunkSize, (chunk + 1) * chunkSize))
+                    .toList();
+
+            List<Long> suspects = new ArrayList<>();
+            long products = 0;
+            long reviews = 0;
+            for (ChunkScan scan : scans) {
+                suspects.addAll(scan.suspects);
+                products += scan.rows;
+                reviews += scan.reviews;
+            }
+            List<Drift> repaired = suspects.parallelStream()
+                    .map(this::repair)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            Long maxUserId = userRepository.findMaxId();
+            List<ChunkScan> userScans = maxUserId == null ? List.of() : LongStream.range(0, maxUserId / chunkSize + 1).parallel()
+                    .mapToObj(chunk -> scanUsers(chunk * chunkSize, (chunk + 1) * chunkSize))
+                    .toList();
+            List<Long> userSuspects = new ArrayList<>();
+            long users = 0;
+            for (ChunkScan scan : userScans) {
+                userSuspects.addAll(scan.suspects);
+                users += scan.rows;
+            }
+            long repairedUsers = userSuspects.parallelStream().filter(this::repairUser).count();
+
+            AggregateReconciliationResult result = new AggregateReconciliationResult(
+                    products, reviews, repaired.size(),
+                    repaired.stream().mapToLong(drift -> drift.reviewCount).sum(),
+                    repaired.stream().mapToLong(drift -> drift.ratingSum).sum(),
+                    repaired.stream().mapToLong(drift -> drift.histogram).sum(),
+                    repaired.stream().mapToDouble(drift -> drift.averageRating).max().orElse(0.0),
+                    users, repairedUsers,
+                    (System.nanoTime() - start) / 1_000_000);
+            if (result.getRepairedProducts() > 0) {
+                log.warn("Repaired review aggregates of {} of {} products (review count drift {}, rating sum drift {})",
+                        result.getRepairedProducts(), products, result.getReviewCountDrift(), result.getRatingSumDrift());
+            } else {
+                log.info("Review aggregates of {} products match their {} reviews", products, reviews);
+            }
+            if (repairedUsers > 0) {
+                log.warn("Repaired review stats of {} of {} users", repairedUsers, users);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Count the reviews of users whose stats were never maintained, rather than leaving them at
+     * zero (and driven negative by deletes) until the first full run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUserStats() {
+        synchronized (reconcileLock) {
+            long backfilled = userRepository.findUncountedReviewerIds().stream().filter(this::repairUser).count();
+            if (backfilled > 0) {
+                log.info("Backfilled review stats of {} users", backfilled);
+            }
+        }
+    }
+
+    // Products in [fromId, toId) whose stored aggregates differ from a recount; reads only, no locks
+    private ChunkScan scan(long fromId, long toId) {
+        Map<Long, RatingDelta> counted = new HashMap<>();
+        long reviews = 0;
+        for (RatingAggregates recount : reviewRepository.countRatingAggregatesInProductIdRange(fromId, toId)) {
+            counted.put(recount.getProductId(), RatingDelta.counted(histogram(recount)));
+            reviews += recount.getReviewCount();
+        }
+        List<RatingAggregates> stored = productRepository.findRatingAggregatesInIdRange(fromId, toId);
+        List<Long> suspects = new ArrayList<>();
+        for (RatingAggregates product : stored) {
+            RatingDelta totals = counted.getOrDefault(product.getProductId(), RatingDelta.none());
+            if (Drift.between(product, totals) != null) {
+                suspects.add(product.getProductId());
+            }
+        }
+        return new ChunkScan(stored.size(), reviews, suspects);
+    }
+
+    // Lock, recount and compare again: the scan may have raced a review write that has committed since
+    private Drift repair(Long productId) {
+        return transactionTemplate.execute(status -> {
+            if (productRepository.findForUpdateById(productId).isEmpty()) {
+                return null;
+            }
+            RatingAggregates stored = productRepository.findRatingAggregatesInIdRange(productId, productId + 1).get(0);
+            RatingDelta totals = reviewRepository.countRatingAggregatesInProductIdRange(productId, productId + 1).stream()
+                    .findFirst()
+                    .map(recount -> RatingDelta.counted(histogram(recount)))
+                    .orElse(RatingDelta.none());
+            Drift drift = Drift.between(stored, totals);
+            if (drift != null) {
+                aggregateService.applyRecount(productId, totals);
+            }
+            return drift;
+        });
+    }
+
+    // Users in [fromId, toId) whose stored stats differ from a recount; reads only, no locks
+    private ChunkScan scanUsers(long fromId, long toId) {
+        Map<Long, UserReviewTotals> counted = new HashMap<>();
+        for (UserReviewTotals recount : reviewRepository.countUserReviewTotalsInUserIdRange(fromId, toId)) {
+            counted.put(recount.getUserId(), recount);
+        }
+        List<UserReviewTotals> stored = userRepository.findReviewTotalsInIdRange(fromId, toId);
+        List<Long> suspects = new ArrayList<>();
+        for (UserReviewTotals user : stored) {
+            if (!matches(user, counted.get(user.getUserId()))) {
+                suspects.add(user.getUserId());
+            }
+        }
+        return new ChunkScan(stored.size(), 0, suspects);
+    }
+
+    // Same lock-and-recount as for products; false if the stats matched after all
+    private boolean repairUser(Long userId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (userRepository.findForUpdateById(userId).isEmpty()) {
+                return false;
+            }
+            UserReviewTotals stored = userRepository.findReviewTotalsInIdRange(userId, userId + 1).get(0);
+            UserReviewTotals counted = reviewRepository.countUserReviewTotalsInUserIdRange(userId, userId + 1).stream()
+                    .findFirst()
+                    .orElse(null);
+            if (matches(stored, counted)) {
+                return false;
+            }
+            userRepository.overwriteReviewTotals(userId,
+                    counted != null ? counted.getReviewCount() : 0L,
+                    counted != null ? counted.getRatingSum() : 0L);
+            return true;
+        }));
+    }
+
+    // A user without reviews has no recount row
+    private static boolean matches(UserReviewTotals stored, UserReviewTotals counted) {
+        long count = counted != null ? counted.getReviewCount() : 0L;
+        long sum = counted != null ? counted.getRatingSum() : 0L;
+        return stored.getReviewCount() == count && stored.getRatingSum() == sum;
+    }
+
+    private static long[] histogram(RatingAggregates aggregates) {
+        return new long[] {
+                aggregates.getRating1Count(), aggregates.getRating2Count(), aggregates.getRating3Count(),
+                aggregates.getRating4Count(), aggregates.getRating5Count()};
+    }
+
+    private static final class ChunkScan {
+
+        private final long rows;
+        private final long reviews;
+        private final List<Long> suspects;
+
+        private ChunkScan(long rows, long reviews, List<Long> suspects) {
+            this.rows = rows;
+            this.reviews = reviews;
+            this.suspects = suspects;
+        }
+    }
+
+    // How far one product's stored aggregates are from its recount
+    private static final class Drift {
+
+        private final long reviewCount;
+        private final long ratingSum;
+        private final long histogram;
+        private final double averageRating;
+
+        private Drift(long reviewCount, long ratingSum, long histogram, double averageRating) {
+            this.reviewCount = reviewCount;
+            this.ratingSum = ratingSum;
+            this.histogram = histogram;
+            this.averageRating = averageRating;
+        }
+
+        // Null when the stored aggregates match
+        private static Drift between(RatingAggregates stored, RatingDelta totals) {
+            long[] storedHistogram = histogram(stored);
+            long histogram = 0;
+            for (int i = 0; i < storedHistogram.length; i++) {
+                histogram += Math.abs(storedHistogram[i] - totals.histogram[i]);
+            }
+            Drift drift = new Drift(
+                    Math.abs(stored.getReviewCount() - totals.count),
+                    Math.abs(stored.getRatingSum() - totals.sum),
+                    histogram,
+                    Math.abs(stored.getAverageRating() - totals.averageRating()));
+            boolean matches = drift.reviewCount == 0 && drift.ratingSum == 0 && drift.histogram == 0
+                    && drift.averageRating <= AVERAGE_TOLERANCE;
+            return matches ? null : drift;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Category;
+import com.alper.product_review_backend.domain.CategoryListener;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Interns category names: maps each name to the id of its {@link Category} row and back.
+ *
+ * The whole table is held in memory (there are a handful of categories), and every product
+ * loaded with the same category shares one String instance. An unknown name gets its row in the
+ * transaction that first writes a product with it (see {@link CategoryListener}), on that
+ * transaction's own connection. The new id is visible to that transaction alone until it commits,
+ * and only then cached, so a rollback takes the row and the id with it. Rows are never deleted;
+ * older schemas are moved onto the table by {@link com.alper.product_review_backend.config.CategoryMigration}.
+ */
+@Slf4j
+@Service
+public class CategoryDictionary {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    public CategoryDictionary(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The id of the category's row, creating the row in the current transaction if the name is
+     * new (or in a transaction of its own when called outside one).
+     */
+    public int idOf(String name) {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        Map<String, Integer> created = createdInTransaction();
+        id = created != null ? created.get(name) : null;
+        return id != null ? id : transactionTemplate.execute(status -> resolve(name));
+    }
+
+    /**
+     * The name of a category id.
+     *
+     * @throws IllegalStateException if no category has this id
+     */
+    public String nameOf(int id) {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        Map<String, Integer> created = createdInTransaction();
+        if (created != null) {
+            for (Map.Entry<String, Integer> entry : created.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+        }
+        load();
+        name = namesById.get(id);
+        if (name == null) {
+            throw new IllegalStateException("Unknown category id " + id);
+        }
+        return name;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void warmUp() {
+        load();
+        log.info("Category dictionary loaded {} categories", namesById.size());
+    }
+
+    // Runs in a transaction: the caller's, or one started for this lookup
+    private int resolve(String name) {
+        Integer id = find(name);
+        if (id != null) {
+            // Not inserted by this transaction (that would be in its created map), so already committed
+            remember(id, name);
+            return id;
+        }
+        if (!insert(name)) {
+            // Another transaction inserted the name and committed while ours waited on the unique index
+            id = find(name);
+            if (id == null) {
+                throw new IllegalStateException("Category '" + name + "' missing after a duplicate insert");
+            }
+            remember(id, name);
+            return id;
+        }
+        id = find(name);
+        if (id == null) {
+            throw new IllegalStateException("Category '" + name + "' missing after insert");
+        }
+        bindCreated().put(name, id);
+        return id;
+    }
+
+    private Integer find(String name) {
+        List<Integer> ids = jdbcTemplate.queryForList("select id from category where name = ?", Integer.class, name);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    // False if the unique constraint on name rejected the row
+    private boolean insert(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            // A failed statement aborts the whole transaction on PostgreSQL; rolling back to the
+            // savepoint keeps the caller's transaction usable after a lost race
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement("insert into category (name) values (?)")) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+            } catch (SQLException ex) {
+                connection.rollback(savepoint);
+                if (ex.getSQLState() != null && ex.getSQLState().startsWith("23")) {
+                    return false;
+                }
+                throw ex;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> createdInTransaction() {
+        return (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    // Names this transaction inserted, cached once it commits
+    private Map<String, Integer> bindCreated() {
+        Map<String, Integer> created = createdInTransaction();
+        if (created != null) {
+            return created;
+        }
+        Map<String, Integer> bound = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, bound);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Before the catalog index applies the committed products that use these categories
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                bound.forEach((name, id) -> remember(id, name));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CategoryDictionary.this);
+            }
+        });
+        return bound;
+    }
+
+    private void load() {
+        Map<String, Integer> created = createdInTransaction();
+        jdbcTemplate.query("select id, name from category", rows -> {
+            String name = rows.getString(2);
+            // Rows inserted by the current transaction are not committed yet
+            if (created == null || !created.containsKey(name)) {
+                remember(rows.getInt(1), name);
+            }
+        });
+    }
+
+    // Rows never change, so a known id keeps the instance already handed out
+    private void remember(int id, String name) {
+        String known = namesById.putIfAbsent(id, name);
+        idsByName.putIfAbsent(known != null ? known : name, id);
+    }
+}
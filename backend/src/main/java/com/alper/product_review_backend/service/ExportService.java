@@ -0,0 +1,193 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.dto.UserFilter;
+import com.alper.product_review_backend.export.ExportFormat;
+import com.alper.product_review_backend.export.RecordWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Full-table exports for admins.
+ *
+ * Rows are read through a forward-only JDBC cursor with a bounded fetch size and written
+ * straight to the output stream, so memory use does not grow with the table. The read-only
+ * transaction keeps autocommit off, which PostgreSQL needs to honour the fetch size.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final List<String> REVIEW_COLUMNS = List.of(
+            "id", "productId", "userId", "username", "rating", "comment", "createdAt", "updatedAt");
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "id", "name", "description", "category", "price", "averageRating", "reviewCount", "updatedAt");
+
+    private static final List<String> USER_COLUMNS = List.of(
+            "id", "username", "email", "role", "enabled", "createdAt");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSource dataSource,
+                         ObjectMapper objectMapper,
+                         @Value("${export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams reviews ordered by id, optionally for one product and a createdAt range
+     * (from inclusive, to exclusive). Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportReviews(ExportFormat format, Long productId, Instant from, Instant to, OutputStream out)
+            throws IOException {
+        StringBuilder sql = new StringBuilder("""
+                select r.id, r.product_id, r.user_id, u.username, r.rating, r.comment, r.created_at, r.updated_at
+                from review r join users u on u.id = r.user_id
+                where 1 = 1""");
+        List<Object> args = new ArrayList<>();
+        if (productId != null) {
+            sql.append(" and r.product_id = ?");
+            args.add(productId);
+        }
+        if (from != null) {
+            sql.append(" and r.created_at >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" and r.created_at < ?");
+            args.add(Timestamp.from(to));
+        }
+        sql.append(" order by r.id");
+
+        return stream(format, out, REVIEW_COLUMNS, sql.toString(), args.toArray(), rs -> new Object[] {
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getLong(3),
+                rs.getString(4),
+                rs.getInt(5),
+                rs.getString(6),
+                instant(rs.getTimestamp(7)),
+                instant(rs.getTimestamp(8))
+        });
+    }
+
+    /**
+     * Streams all products ordered by id. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        String sql = """
+                select p.id, p.name, p.description, c.name, p.price, p.average_rating, p.review_count, p.updated_at
+                from product p
+                join category c on c.id = p.category_id
+                order by p.id""";
+
+        return stream(format, out, PRODUCT_COLUMNS, sql, new Object[0], rs -> new Object[] {
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getBigDecimal(5),
+                rs.getDouble(6),
+                rs.getLong(7),
+                instant(rs.getTimestamp(8))
+        });
+    }
+
+    /**
+     * Streams users matching the filter, ordered by id. Passwords are never exported.
+     * Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(ExportFormat format, UserFilter filter, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder("""
+                select id, username, email, role, enabled, created_at
+                from users
+                where 1 = 1""");
+        List<Object> args = new ArrayList<>();
+        if (filter.getRole() != null) {
+            sql.append(" and role = ?");
+            args.add(filter.getRole().name());
+        }
+        if (filter.getEnabled() != null) {
+            sql.append(" and enabled = ?");
+            args.add(filter.getEnabled());
+        }
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" and created_at >= ?");
+            args.add(Timestamp.from(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            sql.append(" and created_at < ?");
+            args.add(Timestamp.from(filter.getCreatedTo()));
+        }
+        if (filter.hasUsernamePrefix()) {
+            sql.append(" and username like ? escape '\\'");
+            args.add(filter.usernameLikePattern());
+        }
+        sql.append(" order by id");
+
+        return stream(format, out, USER_COLUMNS, sql.toString(), args.toArray(), rs -> new Object[] {
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getBoolean(5),
+                instant(rs.getTimestamp(6))
+        });
+    }
+
+    private long stream(ExportFormat format, OutputStream out, List<String> columns,
+                        String sql, Object[] args, RowExtractor extractor) throws IOException {
+        long start = System.nanoTime();
+        RecordWriter writer = RecordWriter.create(format, out, objectMapper);
+        writer.start(columns);
+
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(extractor.extract(rs));
+                } catch (IOException ex) {
+                    // Client went away; abandon the cursor
+                    throw new UncheckedIOException(ex);
+                }
+                rows[0]++;
+            }, args);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.finish();
+
+        log.info("Exported {} rows as {} in {} ms", rows[0], format, (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    @FunctionalInterface
+    private interface RowExtractor {
+        Object[] extract(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,198 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.IdempotencyRecord;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.dto.ReviewDto;
+import com.alper.product_review_backend.exception.DuplicateReviewException;
+import com.alper.product_review_backend.repository.IdempotencyRecordRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deduplicates review submissions carrying an Idempotency-Key.
+ *
+ * The first request for a (user, key) pair runs the submission; replays get the original
+ * ReviewDto back without touching the write path, even if the review has since been edited or
+ * deleted. Concurrent duplicates wait on the first
+ * request's result. Results are kept in a bounded in-memory map that expires after the TTL,
+ * backed by the idempotency_records table for replays that outlive the memory entry.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ReviewRepository reviewRepository;
+    private final Duration ttl;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ReviewRepository reviewRepository,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.recordRepository = recordRepository;
+        this.reviewRepository = reviewRepository;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run {@code submission} once per (user, key); later calls with the same key return its result.
+     */
+    public ReviewDto submitOnce(Long userId, String idempotencyKey, Long productId, Supplier<ReviewDto> submission) {
+        validateKey(idempotencyKey);
+        String cacheKey = userId + ":" + idempotencyKey;
+
+        while (true) {
+            Entry mine = new Entry(productId, System.nanoTime() + ttl.toNanos());
+            Entry existing = entries.putIfAbsent(cacheKey, mine);
+
+            if (existing == null) {
+                evictIfFull();
+                return runFirst(cacheKey, mine, userId, idempotencyKey, productId, submission);
+            }
+            if (existing.isExpired()) {
+                entries.remove(cacheKey, existing);
+                continue;
+            }
+
+            requireSameProduct(existing.productId, productId);
+            try {
+                return existing.result.join();
+            } catch (CompletionException ex) {
+                // The first attempt failed and nothing was committed; let this request try again
+                entries.remove(cacheKey, existing);
+            }
+        }
+    }
+
+    private ReviewDto runFirst(String cacheKey, Entry entry, Long userId, String idempotencyKey,
+                               Long productId, Supplier<ReviewDto> submission) {
+        try {
+            ReviewDto result = replayFromDatabase(userId, idempotencyKey, productId)
+                    .orElseGet(() -> submitOrReplay(userId, idempotencyKey, productId, submission));
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            entries.remove(cacheKey, entry);
+            entry.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private ReviewDto submitOrReplay(Long userId, String idempotencyKey, Long productId,
+                                     Supplier<ReviewDto> submission) {
+        try {
+            return submission.get();
+        } catch (DataIntegrityViolationException | DuplicateReviewException ex) {
+            // Another node committed the same key first; its transaction holds the review. Depending on
+            // timing this request fails on the key's record or, before that, on the review itself.
+            return replayFromDatabase(userId, idempotencyKey, productId).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<ReviewDto> replayFromDatabase(Long userId, String idempotencyKey, Long productId) {
+        return recordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .map(record -> {
+                    requireSameProduct(record.getProductId(), productId);
+                    return toReviewDto(record);
+                });
+    }
+
+    private ReviewDto toReviewDto(IdempotencyRecord record) {
+        if (record.getRating() != null) {
+            return new ReviewDto(record.getReviewId(), record.getRating(), record.getComment(),
+                    record.getUsername(), record.getReviewCreatedAt());
+        }
+        // Recorded before the result was stored with the key; such records expire within one TTL
+        Review review = reviewRepository.findWithUserById(record.getReviewId())
+                .orElseThrow(() -> new EntityNotFoundException("Review not found: " + record.getReviewId()));
+        return new ReviewDto(
+                review.getId(),
+                review.getRating(),
+                review.getComment(),
+                review.getUser().getUsername(),
+                review.getCreatedAt()
+        );
+    }
+
+    private void requireSameProduct(Long originalProductId, Long productId) {
+        if (!originalProductId.equals(productId)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different product");
+        }
+    }
+
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        purgeExpiredEntries();
+        // Still full: drop settled entries; the database record keeps answering their replays
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().result.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private void purgeExpiredEntries() {
+        entries.values().removeIf(Entry::isExpired);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:10m}")
+    @Transactional
+    public void purgeExpired() {
+        purgeExpiredEntries();
+        int deleted = recordRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    int cachedEntries() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        private final Long productId;
+        private final long expiresAtNanos;
+        private final CompletableFuture<ReviewDto> result = new CompletableFuture<>();
+
+        private Entry(Long productId, long expiresAtNanos) {
+            this.productId = productId;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        // In-flight entries never expire, so waiters always see the first result
+        private boolean isExpired() {
+            return result.isDone() && System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.repository.ProductRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Single write path for a product's review aggregates (count, rating sum, histogram, average),
+ * the ranking scores derived from them and its trending activity.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductAggregateService {
+
+    private final ProductRepository productRepository;
+    private final CatalogIndex catalogIndex;
+    private final ProductRankingService rankingService;
+    private final TrendingService trendingService;
+
+    /**
+     * Adjust the aggregates with one atomic UPDATE instead of recomputing from all reviews;
+     * also bumps the version, review watermark and sync position, recomputes the ranking scores
+     * and adds the new reviews to the trending activity.
+     * The bulk UPDATE skips entity callbacks, so the new row is staged for the catalog index here.
+     * Must join the caller's transaction so the aggregates commit with the review rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long productId, RatingDelta delta) {
+        long[] h = delta.histogram;
+        productRepository.applyRatingDelta(productId, delta.count, delta.sum,
+                h[0], h[1], h[2], h[3], h[4],
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+        rankingService.refreshScores(productId);
+        trendingService.recordReviews(productId, delta.addedAt);
+        productRepository.findCatalogRowById(productId).ifPresent(catalogIndex::stageUpsert);
+    }
+
+    /**
+     * Replace the aggregates with {@code totals}, a recount of all the product's reviews, and
+     * recompute the ranking scores. The caller must hold the product's row lock from before the
+     * recount, so no review write lands in between; trending activity is left as it is.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRecount(Long productId, RatingDelta totals) {
+        long[] h = totals.histogram;
+        productRepository.overwriteRatingAggregates(productId, totals.count, totals.sum,
+                h[0], h[1], h[2], h[3], h[4], totals.averageRating(),
+                Instant.now().truncatedTo(ChronoUnit.MICROS));
+        rankingService.refreshScores(productId);
+        productRepository.findCatalogRowById(productId).ifPresent(catalogIndex::stageUpsert);
+    }
+}
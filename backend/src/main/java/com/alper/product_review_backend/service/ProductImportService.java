@@ -0,0 +1,375 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.dto.BulkIngestResult;
+import com.alper.product_review_backend.dto.CreateProductRequest;
+import com.alper.product_review_backend.dto.ImportJobDto;
+import com.alper.product_review_backend.export.ExportFormat;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Asynchronous catalog import from CSV or NDJSON.
+ *
+ * The request body is spooled to a temp file so the HTTP request can return immediately with
+ * a job id. A worker then reads the file incrementally in chunks: rows of a chunk are parsed and
+ * validated against {@link CreateProductRequest} in parallel, valid rows are inserted in one
+ * transaction with JDBC batching, and bad rows are reported without stopping the job.
+ * Finished jobs are kept for polling until the retention period expires.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ProductRankingService rankingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final Duration retention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(EntityManager entityManager,
+                                Validator validator,
+                                ProductRankingService rankingService,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${products.import.chunk-size:1000}") int chunkSize,
+                                @Value("${products.import.threads:2}") int threads,
+                                @Value("${products.import.retention:1h}") Duration retention) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.rankingService = rankingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(CreateProductRequest.class);
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Spool the body and queue the import. Returns the job in QUEUED (or later) state.
+     */
+    public ImportJobDto submit(ExportFormat format, InputStream body) throws IOException {
+        Path spool = Files.createTempFile("product-import-", "." + format.getExtension());
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        workers.execute(() -> run(job, format, spool));
+        return job.snapshot();
+    }
+
+    public ImportJobDto getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Import job not found: " + jobId);
+        }
+        return job.snapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${products.import.purge-interval:10m}")
+    public void purgeFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(Job job, ExportFormat format, Path spool) {
+        job.start();
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            RowSource source = format == ExportFormat.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            Row row;
+            while ((row = source.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk);
+            }
+            job.complete();
+            log.info("Product import {} finished in {} ms", job.id, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception ex) {
+            log.error("Product import {} failed", job.id, ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ex) {
+                log.warn("Could not delete import spool file {}", spool, ex);
+            }
+        }
+    }
+
+    private void processChunk(Job job, List<Row> chunk) {
+        // Parsing and bean validation are CPU-bound and independent per row
+        chunk.parallelStream().forEach(this::parseAndValidate);
+
+        List<Row> valid = chunk.stream().filter(row -> row.error == null).toList();
+        long inserted = 0;
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Row row : valid) {
+                        CreateProductRequest request = row.request;
+                        Product product = new Product(
+                                request.getName(),
+                                request.getDescription(),
+                                request.getCategory(),
+                                request.getPrice());
+                        rankingService.initialize(product);
+                        entityManager.persist(product);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                inserted = valid.size();
+            } catch (DataAccessException ex) {
+                log.warn("Product import {} chunk rolled back: {}", job.id, ex.getMostSpecificCause().getMessage());
+                valid.forEach(row -> row.error = "Rejected by the database; chunk rolled back");
+            }
+        }
+        job.record(chunk, inserted);
+    }
+
+    private void parseAndValidate(Row row) {
+        if (row.error != null) {
+            return;
+        }
+        try {
+            row.request = row.json != null ? rowReader.readValue(row.json) : row.request;
+        } catch (JacksonException ex) {
+            row.error = "Malformed JSON";
+            return;
+        }
+        if (row.request == null) {
+            row.error = "Empty record";
+            return;
+        }
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private String json;
+        private CreateProductRequest request;
+        private String error;
+
+        private Row(long line) {
+            this.line = line;
+        }
+    }
+
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static final class NdjsonSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    Row row = new Row(line);
+                    row.json = text;
+                    return row;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private int nameColumn = -1;
+        private int descriptionColumn = -1;
+        private int categoryColumn = -1;
+        private int priceColumn = -1;
+        private boolean headerRead;
+
+        private CsvSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (!headerRead) {
+                readHeader();
+            }
+            String[] fields = reader.next();
+            if (fields == null) {
+                return null;
+            }
+
+            Row row = new Row(reader.recordLine());
+            String price = field(fields, priceColumn);
+            CreateProductRequest request = new CreateProductRequest(
+                    field(fields, nameColumn),
+                    field(fields, descriptionColumn),
+                    field(fields, categoryColumn),
+                    null);
+            if (price != null && !price.isBlank()) {
+                try {
+                    request.setPrice(new BigDecimal(price.trim()));
+                } catch (NumberFormatException ex) {
+                    row.error = "price: not a number";
+                }
+            }
+            row.request = request;
+            return row;
+        }
+
+        private void readHeader() throws IOException {
+            headerRead = true;
+            String[] header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty");
+            }
+            for (int i = 0; i < header.length; i++) {
+                switch (header[i].trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> nameColumn = i;
+                    case "description" -> descriptionColumn = i;
+                    case "category" -> categoryColumn = i;
+                    case "price" -> priceColumn = i;
+                    default -> {
+                        // Extra columns (e.g. from an export) are ignored
+                    }
+                }
+            }
+            if (nameColumn < 0 || categoryColumn < 0 || priceColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain name, category and price columns");
+            }
+        }
+
+        private static String field(String[] fields, int column) {
+            return column >= 0 && column < fields.length ? fields[column] : null;
+        }
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final Instant submittedAt = Instant.now();
+        private final BulkIngestResult result = new BulkIngestResult();
+        private ImportJobDto.Status status = ImportJobDto.Status.QUEUED;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String message;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private synchronized void start() {
+            status = ImportJobDto.Status.RUNNING;
+            startedAt = Instant.now();
+        }
+
+        private synchronized void record(List<Row> chunk, long inserted) {
+            result.setReceived(result.getReceived() + chunk.size());
+            result.setInserted(result.getInserted() + inserted);
+            for (Row row : chunk) {
+                if (row.error != null) {
+                    result.reject(row.line, row.error);
+                }
+            }
+        }
+
+        private synchronized void complete() {
+            status = ImportJobDto.Status.COMPLETED;
+            finishedAt = Instant.now();
+        }
+
+        private synchronized void fail(String reason) {
+            status = ImportJobDto.Status.FAILED;
+            finishedAt = Instant.now();
+            message = reason;
+        }
+
+        private synchronized boolean finishedBefore(Instant cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        private synchronized ImportJobDto snapshot() {
+            BulkIngestResult copy = new BulkIngestResult(
+                    result.getReceived(),
+                    result.getInserted(),
+                    result.getRejected(),
+                    new ArrayList<>(result.getErrors()));
+            return new ImportJobDto(id, status, submittedAt, startedAt, finishedAt, copy, message);
+        }
+    }
+}
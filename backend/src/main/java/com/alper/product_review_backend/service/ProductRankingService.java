@@ -0,0 +1,187 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Setting;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.projection.RatingTotals;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persisted ranking scores that keep a product with a single 5-star review from outranking one
+ * rated 4.8 over thousands of reviews.
+ *
+ * The Bayesian rating averages a product's ratings with {@code priorWeight} phantom ratings at
+ * the catalog-wide mean, so few reviews pull it toward the mean. The Wilson score is the lower
+ * bound of the 95% confidence interval of the share of stars above one, so it also rewards
+ * evidence but needs no prior. Both are recomputed in the review write's transaction.
+ *
+ * The prior is stored in the {@value #PRIOR_MEAN_SETTING} setting, shared by every node. A
+ * periodic job locks that row, replaces the prior only when the catalog mean has moved by more
+ * than {@code priorTolerance}, and rewrites the scores that differ from the stored prior's (all of
+ * them after a change, otherwise only new products) while still holding the lock. Nodes therefore
+ * agree on one prior instead of rewriting each other's scores. Score rewrites leave the version
+ * and sync position alone; the prior's revision is part of the listing ETag instead.
+ */
+@Slf4j
+@Service
+public class ProductRankingService {
+
+    // Normal quantile for a 95% confidence interval
+    static final double Z = 1.96;
+
+    // Prior mean while the catalog has no reviews: the middle of the 1-5 scale
+    static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+    static final String PRIOR_MEAN_SETTING = "ranking.prior-mean";
+
+    private final ProductRepository productRepository;
+    private final SettingService settingService;
+    private final CatalogIndex catalogIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final double priorWeight;
+    private final double priorTolerance;
+
+    private volatile Prior prior;
+
+    public ProductRankingService(ProductRepository productRepository,
+                                 SettingService settingService,
+                                 CatalogIndex catalogIndex,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ranking.prior-weight:10}") double priorWeight,
+                                 @Value("${ranking.prior-tolerance:0.01}") double priorTolerance) {
+        this.productRepository = productRepository;
+        this.settingService = settingService;
+        this.catalogIndex = catalogIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.priorWeight = priorWeight;
+        this.priorTolerance = priorTolerance;
+    }
+
+    /**
+     * The catalog mean rating the Bayesian rating currently uses.
+     */
+    public double priorMean() {
+        return prior().mean;
+    }
+
+    /**
+     * Revision of the stored prior this node scores with; changes whenever the prior is replaced.
+     */
+    public long priorRevision() {
+        return prior().revision;
+    }
+
+    /**
+     * Scores of a product that has no reviews yet: the prior mean, and no Wilson evidence.
+     */
+    public void initialize(Product product) {
+        product.setBayesianRating(priorMean());
+        product.setWilsonScore(0.0);
+    }
+
+    /**
+     * Recompute one product's scores from its aggregates. Must join the caller's transaction so
+     * the scores commit with the review and aggregate changes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshScores(Long productId) {
+        productRepository.refreshRankingScores(productId, priorWeight * priorMean(), priorWeight, Z, Z * Z);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    /**
+     * Replace the stored prior if the catalog mean has moved beyond the tolerance, then rewrite
+     * stale scores. Returns the number of products updated.
+     */
+    @Scheduled(fixedDelayString = "${ranking.refresh-interval:5m}",
+            initialDelayString = "${ranking.refresh-interval:5m}")
+    public int refresh() {
+        Prior previous = prior;
+        Refresh result = transactionTemplate.execute(status -> {
+            Setting setting = settingService.lock(PRIOR_MEAN_SETTING);
+            String storedMean = setting.getValue();
+            double computed = computePriorMean();
+            if (storedMean == null || Math.abs(computed - Double.parseDouble(storedMean)) > priorTolerance) {
+                log.info("Ranking prior mean moved from {} to {}", storedMean, computed);
+                setting.setValue(Double.toString(computed));
+                setting.setUpdatedAt(Instant.now());
+                setting = settingService.save(setting);
+            }
+            Prior stored = Prior.of(setting);
+            int updated = productRepository.refreshStaleRankingScores(priorWeight * stored.mean, priorWeight, Z, Z * Z);
+            return new Refresh(stored, updated);
+        });
+        prior = result.prior;
+        if (result.updated > 0) {
+            // The bulk UPDATE bypasses entity callbacks
+            log.info("Recomputed ranking scores of {} products", result.updated);
+        }
+        // Another node may have replaced the prior and rewritten the scores this node's index holds
+        if (result.updated > 0 || (previous != null && previous.revision != result.prior.revision)) {
+            catalogIndex.reload();
+        }
+        return result.updated;
+    }
+
+    private Prior prior() {
+        Prior current = prior;
+        if (current == null) {
+            // Before the first refresh: the stored prior, or the catalog mean until one is stored
+            current = settingService.find(PRIOR_MEAN_SETTING)
+                    .filter(setting -> setting.getValue() != null)
+                    .map(Prior::of)
+                    .orElseGet(() -> new Prior(computePriorMean(), -1L));
+            prior = current;
+        }
+        return current;
+    }
+
+    private double computePriorMean() {
+        RatingTotals totals = productRepository.findRatingTotals();
+        return totals.getReviewCount() > 0
+                ? (double) totals.getRatingSum() / totals.getReviewCount()
+                : DEFAULT_PRIOR_MEAN;
+    }
+
+    // A stored prior mean and the setting revision it was read at (-1 before any is stored)
+    private static final class Prior {
+
+        private final double mean;
+        private final long revision;
+
+        private Prior(double mean, long revision) {
+            this.mean = mean;
+            this.revision = revision;
+        }
+
+        private static Prior of(Setting setting) {
+            return new Prior(Double.parseDouble(setting.getValue()), setting.getRevision());
+        }
+    }
+
+    private static final class Refresh {
+
+        private final Prior prior;
+        private final int updated;
+
+        private Refresh(Prior prior, int updated) {
+            this.prior = prior;
+            this.updated = updated;
+        }
+    }
+}
@@ -2,10 +2,9 @@ package com.alper.product_review_backend.service;
 
 import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.projection.ProductFreshness;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,19 +16,23 @@ import java.math.BigDecimal;
 public class ProductService {
     
     private final ProductRepository productRepository;
-
-    public Page<Product> getProducts(Pageable pageable) {
-        return productRepository.findAll(pageable);
-    }
+    private final ProductRankingService rankingService;
 
     public Product getProductOrThrow(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found: " + id));
     }
 
+    // Version columns only, so conditional GETs can be answered without loading the row
+    public ProductFreshness getFreshnessOrThrow(Long id) {
+        return productRepository.findFreshnessById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found: " + id));
+    }
+
     @Transactional
     public Product createProduct(String name, String description, String category, BigDecimal price) {
         Product product = new Product(name, description, category, price);
+        rankingService.initialize(product);
         return productRepository.save(product);
     }
 }
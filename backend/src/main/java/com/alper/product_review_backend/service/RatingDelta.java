@@ -0,0 +1,87 @@
+package com.alper.product_review_backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change to a product's review aggregates caused by one review write.
+ */
+final class RatingDelta {
+
+    final long count;
+    final long sum;
+    // Index 0 is the 1-star bucket
+    final long[] histogram = new long[5];
+    // Creation times of the reviews added, for the trending activity
+    final List<Instant> addedAt;
+
+    private RatingDelta(long count, long sum, List<Instant> addedAt) {
+        this.count = count;
+        this.sum = sum;
+        this.addedAt = addedAt;
+    }
+
+    private RatingDelta(long count, long sum) {
+        this(count, sum, List.of());
+    }
+
+    static RatingDelta none() {
+        return new RatingDelta(0, 0);
+    }
+
+    static RatingDelta added(int rating, Instant createdAt) {
+        RatingDelta delta = new RatingDelta(1, rating, List.of(createdAt));
+        delta.histogram[rating - 1]++;
+        return delta;
+    }
+
+    /**
+     * The aggregates of a whole set of reviews, given their 1-5 star histogram: the change from none of them.
+     */
+    static RatingDelta counted(long[] histogram) {
+        long count = 0;
+        long sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            count += histogram[i];
+            sum += (i + 1) * histogram[i];
+        }
+        RatingDelta delta = new RatingDelta(count, sum);
+        System.arraycopy(histogram, 0, delta.histogram, 0, histogram.length);
+        return delta;
+    }
+
+    /**
+     * The average rating these aggregates amount to, computed as the delta update does; 0 without reviews.
+     */
+    double averageRating() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    static RatingDelta removed(int rating) {
+        RatingDelta delta = new RatingDelta(-1, -rating);
+        delta.histogram[rating - 1]--;
+        return delta;
+    }
+
+    static RatingDelta changed(int from, int to) {
+        RatingDelta delta = new RatingDelta(0, to - from);
+        delta.histogram[from - 1]--;
+        delta.histogram[to - 1]++;
+        return delta;
+    }
+
+    /**
+     * Combine two deltas, e.g. to apply a whole batch of reviews to a product in one update.
+     */
+    RatingDelta plus(RatingDelta other) {
+        List<Instant> combinedAddedAt = new ArrayList<>(addedAt.size() + other.addedAt.size());
+        combinedAddedAt.addAll(addedAt);
+        combinedAddedAt.addAll(other.addedAt);
+        RatingDelta combined = new RatingDelta(count + other.count, sum + other.sum, combinedAddedAt);
+        for (int i = 0; i < histogram.length; i++) {
+            combined.histogram[i] = histogram[i] + other.histogram[i];
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,85 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.projection.ReviewKey;
+import java.util.List;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory pre-check for "has this user already reviewed this product?".
+ *
+ * A negative answer is definite, so the common first-review case skips the existence query.
+ * A positive answer may be a false positive and is confirmed against the database. The unique
+ * (product_id, user_id) constraint remains the source of truth, so a filter that is still
+ * rebuilding, or missed a concurrent insert during the rebuild, costs a query, never correctness.
+ */
+@Slf4j
+@Component
+public class ReviewDuplicateFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final ReviewRepository reviewRepository;
+    private final long expectedReviews;
+    private final int rebuildChunkSize;
+
+    // Null until the first rebuild completes; everything "might" be a duplicate until then
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    public ReviewDuplicateFilter(ReviewRepository reviewRepository,
+                                 @Value("${reviews.dedupe.expected-reviews:1000000}") long expectedReviews,
+                                 @Value("${reviews.dedupe.rebuild-chunk-size:50000}") int rebuildChunkSize) {
+        this.reviewRepository = reviewRepository;
+        this.expectedReviews = expectedReviews;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    public boolean mightHaveReviewed(Long productId, Long userId) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(productId, userId);
+    }
+
+    public void recordReview(Long productId, Long userId) {
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(productId, userId);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(productId, userId);
+        }
+    }
+
+    /**
+     * Rebuild from the review table, scanning id ranges in parallel.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Long maxId = reviewRepository.findMaxId();
+        long reviewCount = reviewRepository.count();
+
+        BloomFilter next = new BloomFilter(Math.max(expectedReviews, reviewCount * 2), FALSE_POSITIVE_RATE);
+        building = next;
+
+        if (maxId != null) {
+            long chunks = maxId / rebuildChunkSize + 1;
+            LongStream.range(0, chunks).parallel().forEach(chunk -> {
+                long fromId = chunk * rebuildChunkSize;
+                List<ReviewKey> keys = reviewRepository.findKeysInIdRange(fromId, fromId + rebuildChunkSize);
+                keys.forEach(key -> next.put(key.getProductId(), key.getUserId()));
+            });
+        }
+
+        filter = next;
+        building = null;
+        log.info("Review duplicate filter rebuilt from {} reviews in {} ms",
+                reviewCount, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,233 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.dto.BulkIngestResult;
+import com.alper.product_review_backend.dto.BulkReviewRecord;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.repository.projection.ReviewKey;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Bulk review ingest for marketplace migrations.
+ *
+ * Reads NDJSON line by line, validates each record, and commits valid rows in chunks:
+ * one transaction per chunk, inserts batched by JDBC, and one aggregate update per product
+ * per chunk instead of one per review. Bad rows are reported and skipped. Stream events are
+ * not published for ingested reviews.
+ */
+@Slf4j
+@Service
+public class ReviewIngestService {
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final ProductAggregateService aggregateService;
+    private final ReviewDuplicateFilter duplicateFilter;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader recordReader;
+    private final int chunkSize;
+
+    public ReviewIngestService(ProductRepository productRepository,
+                               UserRepository userRepository,
+                               ReviewRepository reviewRepository,
+                               ProductAggregateService aggregateService,
+                               ReviewDuplicateFilter duplicateFilter,
+                               EntityManager entityManager,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${reviews.ingest.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.reviewRepository = reviewRepository;
+        this.aggregateService = aggregateService;
+        this.duplicateFilter = duplicateFilter;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recordReader = objectMapper.readerFor(BulkReviewRecord.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkIngestResult ingest(BufferedReader ndjson) throws IOException {
+        long start = System.nanoTime();
+        BulkIngestResult result = new BulkIngestResult();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = ndjson.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+
+            BulkReviewRecord record;
+            try {
+                record = recordReader.readValue(line);
+            } catch (JacksonException ex) {
+                result.reject(lineNumber, "Malformed JSON");
+                continue;
+            }
+
+            Set<ConstraintViolation<BulkReviewRecord>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                result.reject(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, record));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        log.info("Bulk review ingest: {} received, {} inserted, {} rejected in {} ms",
+                result.getReceived(), result.getInserted(), result.getRejected(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void writeChunk(List<Row> chunk, BulkIngestResult result) {
+        ChunkOutcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> insertChunk(chunk));
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer created one of these reviews first; nothing from this chunk was committed
+            chunk.forEach(row -> result.reject(row.line, "Chunk rolled back after a conflicting concurrent write"));
+            return;
+        }
+
+        outcome.rejections.forEach(rejection -> result.reject(rejection.getLine(), rejection.getMessage()));
+        outcome.inserted.forEach(record -> duplicateFilter.recordReview(record.getProductId(), record.getUserId()));
+        result.setInserted(result.getInserted() + outcome.inserted.size());
+    }
+
+    private ChunkOutcome insertChunk(List<Row> chunk) {
+        Set<Long> productIds = chunk.stream().map(row -> row.record.getProductId()).collect(Collectors.toSet());
+        Set<Long> userIds = chunk.stream().map(row -> row.record.getUserId()).collect(Collectors.toSet());
+        Set<Long> knownProducts = new HashSet<>(productRepository.findExistingIds(productIds));
+        Set<Long> knownUsers = new HashSet<>(userRepository.findExistingIds(userIds));
+        Set<String> reviewed = existingPairs(chunk);
+
+        ChunkOutcome outcome = new ChunkOutcome();
+        Map<Long, RatingDelta> deltas = new TreeMap<>();
+        Map<Long, RatingDelta> userDeltas = new TreeMap<>();
+        for (Row row : chunk) {
+            BulkReviewRecord record = row.record;
+            if (!knownProducts.contains(record.getProductId())) {
+                outcome.reject(row, "Product not found: " + record.getProductId());
+                continue;
+            }
+            if (!knownUsers.contains(record.getUserId())) {
+                outcome.reject(row, "User not found: " + record.getUserId());
+                continue;
+            }
+            // Also catches a second review for the same pair later in this chunk
+            if (!reviewed.add(pairKey(record.getProductId(), record.getUserId()))) {
+                outcome.reject(row, "User " + record.getUserId() + " already reviewed product " + record.getProductId());
+                continue;
+            }
+
+            Review review = new Review(
+                    productRepository.getReferenceById(record.getProductId()),
+                    userRepository.getReferenceById(record.getUserId()),
+                    record.getRating(),
+                    record.getComment());
+            if (record.getCreatedAt() != null) {
+                review.setCreatedAt(record.getCreatedAt());
+            }
+            entityManager.persist(review);
+
+            outcome.inserted.add(record);
+            deltas.merge(record.getProductId(), RatingDelta.added(record.getRating(), review.getCreatedAt()), RatingDelta::plus);
+            userDeltas.merge(record.getUserId(), RatingDelta.added(record.getRating(), review.getCreatedAt()), RatingDelta::plus);
+        }
+
+        entityManager.flush();
+        // Ascending product id keeps lock order consistent with concurrent chunks
+        deltas.forEach(aggregateService::applyDelta);
+        // Then ascending user id, after every product row, as single review writes do
+        userDeltas.forEach((userId, delta) -> userRepository.applyReviewDelta(userId, delta.count, delta.sum));
+        entityManager.clear();
+        return outcome;
+    }
+
+    // Only pairs the Bloom filter cannot rule out are checked against the database
+    private Set<String> existingPairs(List<Row> chunk) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Row row : chunk) {
+            if (duplicateFilter.mightHaveReviewed(row.record.getProductId(), row.record.getUserId())) {
+                productIds.add(row.record.getProductId());
+                userIds.add(row.record.getUserId());
+            }
+        }
+
+        Set<String> pairs = new HashSet<>();
+        if (!productIds.isEmpty()) {
+            for (ReviewKey key : reviewRepository.findKeysAmong(productIds, userIds)) {
+                pairs.add(pairKey(key.getProductId(), key.getUserId()));
+            }
+        }
+        return pairs;
+    }
+
+    private static String pairKey(Long productId, Long userId) {
+        return productId + ":" + userId;
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private final BulkReviewRecord record;
+
+        private Row(long line, BulkReviewRecord record) {
+            this.line = line;
+            this.record = record;
+        }
+    }
+
+    private static final class ChunkOutcome {
+
+        private final List<BulkReviewRecord> inserted = new ArrayList<>();
+        private final List<BulkIngestResult.LineError> rejections = new ArrayList<>();
+
+        private void reject(Row row, String message) {
+            rejections.add(new BulkIngestResult.LineError(row.line, message));
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.alper.product_review_backend.service;
 
+import com.alper.product_review_backend.domain.IdempotencyRecord;
 import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.ReviewTombstone;
+import com.alper.product_review_backend.domain.Role;
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.event.ReviewEvent;
+import com.alper.product_review_backend.exception.DuplicateReviewException;
+import com.alper.product_review_backend.repository.IdempotencyRecordRepository;
 import com.alper.product_review_backend.repository.ProductRepository;
 import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.ReviewTombstoneRepository;
+import com.alper.product_review_backend.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.Locale;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +31,16 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ReviewService {
 
+    private static final String REVIEW_UNIQUE_CONSTRAINT = "uk_review_product_user";
+
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ReviewTombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewDuplicateFilter duplicateFilter;
+    private final ProductAggregateService aggregateService;
 
     // Fetch reviews for a specific product, ordered by creation date descending
     public List<Review> getReviewsForProduct(Long productId) {
@@ -31,29 +52,178 @@ public class ReviewService {
 
     @Transactional
     public Review addReview(Long productId, User user, int rating, String comment) {
-        if (rating < 1 || rating > 5) {
-            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        return addReview(productId, user, rating, comment, null);
+    }
+
+    /**
+     * Same as {@link #addReview(Long, User, int, String)}, also recording the client's
+     * Idempotency-Key in this transaction so a replay can never create a second review.
+     */
+    @Transactional
+    public Review addReview(Long productId, User user, int rating, String comment, String idempotencyKey) {
+        validateRating(rating);
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
+
+        // Only confirm against the database when the filter says the user may have reviewed already
+        if (duplicateFilter.mightHaveReviewed(productId, user.getId())
+                && reviewRepository.existsByProductIdAndUserId(productId, user.getId())) {
+            throw duplicateReview(productId);
         }
 
+        Review review = insertReview(product, user, rating, comment);
+
+        if (idempotencyKey != null) {
+            idempotencyRecordRepository.save(
+                    new IdempotencyRecord(user.getId(), idempotencyKey, productId, review));
+        }
+
+        publish(ReviewEvent.Type.CREATED, review, productId);
+        return review;
+    }
+
+    /**
+     * Create the user's review of a product, or replace its rating and comment if one exists.
+     */
+    @Transactional
+    public Review upsertReview(Long productId, User user, int rating, String comment) {
+        validateRating(rating);
+
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
 
-        // 1) Save the new review with user
-        Review review = new Review(product, user, rating, comment);
-        reviewRepository.save(review);
+        Review existing = duplicateFilter.mightHaveReviewed(productId, user.getId())
+                ? reviewRepository.findByProductIdAndUserId(productId, user.getId()).orElse(null)
+                : null;
 
-        // 2) Update aggregate fields on Product
-        long oldCount = product.getReviewCount();
-        double oldAverage = product.getAverageRating();
+        if (existing == null) {
+            Review review = insertReview(product, user, rating, comment);
+            publish(ReviewEvent.Type.CREATED, review, productId);
+            return review;
+        }
 
-        long newCount = oldCount + 1;
-        double newAverage = ((oldAverage * oldCount) + rating) / newCount;
+        return updateLocked(lockReview(productId, existing.getId()), rating, comment);
+    }
 
-        product.setReviewCount(newCount);
-        product.setAverageRating(newAverage);
+    /**
+     * Change the rating and comment of the current user's own review.
+     */
+    @Transactional
+    public Review updateReview(Long productId, Long reviewId, User user, int rating, String comment) {
+        validateRating(rating);
 
-        productRepository.save(product);
+        Review review = lockReview(productId, reviewId);
+        if (!review.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException("You can only edit your own review");
+        }
+        return updateLocked(review, rating, comment);
+    }
 
+    /**
+     * Delete a review; allowed for its author and for admins.
+     */
+    @Transactional
+    public void deleteReview(Long productId, Long reviewId, User user) {
+        Review review = lockReview(productId, reviewId);
+        if (!review.getUser().getId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("You can only delete your own review");
+        }
+
+        reviewRepository.delete(review);
+        tombstoneRepository.save(new ReviewTombstone(reviewId, productId));
+        applyDelta(productId, review.getUser().getId(), RatingDelta.removed(review.getRating()));
+
+        publish(ReviewEvent.Type.DELETED, review, productId);
+    }
+
+    private Review lockReview(Long productId, Long reviewId) {
+        return reviewRepository.findForUpdateById(reviewId)
+                .filter(review -> review.getProduct().getId().equals(productId))
+                .orElseThrow(() -> new EntityNotFoundException("Review not found: " + reviewId));
+    }
+
+    // Caller holds the row lock, so the old rating cannot change underneath the delta
+    private Review updateLocked(Review review, int rating, String comment) {
+        RatingDelta delta = RatingDelta.changed(review.getRating(), rating);
+
+        review.setRating(rating);
+        review.setComment(comment);
+        reviewRepository.save(review);
+
+        // Applied even when only the comment changed, so the review list still gets a new ETag
+        Long productId = review.getProduct().getId();
+        applyDelta(productId, review.getUser().getId(), delta);
+
+        publish(ReviewEvent.Type.UPDATED, review, productId);
         return review;
     }
+
+    private Review insertReview(Product product, User user, int rating, String comment) {
+        // 1) Save the new review with user; the unique (product_id, user_id) constraint is the final word
+        Review review = new Review(product, user, rating, comment);
+        try {
+            reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException ex) {
+            if (!violates(ex, REVIEW_UNIQUE_CONSTRAINT)) {
+                throw ex;
+            }
+            throw duplicateReview(product.getId());
+        }
+        duplicateFilter.recordReview(product.getId(), user.getId());
+
+        // 2) Update aggregate fields on Product and the user's review stats
+        applyDelta(product.getId(), user.getId(), RatingDelta.added(rating, review.getCreatedAt()));
+        return review;
+    }
+
+    // Product row before user row, the same lock order as bulk ingest
+    private void applyDelta(Long productId, Long userId, RatingDelta delta) {
+        aggregateService.applyDelta(productId, delta);
+        userRepository.applyReviewDelta(userId, delta.count, delta.sum);
+    }
+
+    // Notify stream subscribers; delivered only once this transaction commits
+    private void publish(ReviewEvent.Type type, Review review, Long productId) {
+        // The delta update cleared the persistence context, so this reads the new aggregates
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
+        eventPublisher.publishEvent(new ReviewEvent(
+                type,
+                productId,
+                review.getId(),
+                review.getUser().getId(),
+                review.getUser().getUsername(),
+                review.getRating(),
+                review.getComment(),
+                review.getCreatedAt(),
+                product.getAverageRating(),
+                product.getReviewCount()
+        ));
+    }
+
+    private void validateRating(int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+
+    // Databases report the constraint name in their own case, sometimes only in the message
+    private static boolean violates(DataIntegrityViolationException ex, String constraint) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DuplicateReviewException duplicateReview(Long productId) {
+        return new DuplicateReviewException("You have already reviewed product " + productId
+                + "; use PUT to update your review");
+    }
 }
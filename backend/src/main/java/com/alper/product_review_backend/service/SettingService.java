@@ -0,0 +1,67 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Setting;
+import com.alper.product_review_backend.repository.SettingRepository;
+import java.util.Optional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads and locks {@link Setting} rows, creating a row the first time any node asks for it.
+ */
+@Service
+public class SettingService {
+
+    private final SettingRepository settingRepository;
+    private final TransactionTemplate newTransaction;
+
+    public SettingService(SettingRepository settingRepository, PlatformTransactionManager transactionManager) {
+        this.settingRepository = settingRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The setting as last committed; empty if no node has created it yet.
+     */
+    public Optional<Setting> find(String name) {
+        return settingRepository.findById(name);
+    }
+
+    /**
+     * The setting, locked until the caller's transaction ends. Creates the row (with a null value)
+     * if it does not exist yet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Setting lock(String name) {
+        Optional<Setting> setting = settingRepository.findForUpdateByName(name);
+        if (setting.isPresent()) {
+            return setting.get();
+        }
+        create(name);
+        return settingRepository.findForUpdateByName(name)
+                .orElseThrow(() -> new IllegalStateException("Setting '" + name + "' missing after insert"));
+    }
+
+    /**
+     * Write a changed setting at once, bumping its revision. The caller holds the row lock from {@link #lock}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Setting save(Setting setting) {
+        return settingRepository.saveAndFlush(setting);
+    }
+
+    // In a transaction of its own, so losing the insert race to another node leaves the caller's usable
+    private void create(String name) {
+        try {
+            newTransaction.executeWithoutResult(status -> settingRepository.saveAndFlush(new Setting(name)));
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created it first; its row is locked next like any other
+        }
+    }
+}
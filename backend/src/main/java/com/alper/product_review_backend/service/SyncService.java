@@ -0,0 +1,102 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.ReviewTombstone;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.ReviewTombstoneRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Delta sync for offline-capable clients.
+ * Returns products and reviews written, and reviews deleted, after the client's sync token, oldest first.
+ *
+ * Rows are stamped with updatedAt before their transaction commits, so a slow transaction
+ * could become visible behind a position a client has already passed. Only rows older than
+ * the settle window are served, which keeps the token monotonic for any transaction
+ * shorter than the window.
+ */
+@Service
+public class SyncService {
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReviewTombstoneRepository tombstoneRepository;
+    private final Duration settleWindow;
+
+    public SyncService(ProductRepository productRepository,
+                       ReviewRepository reviewRepository,
+                       ReviewTombstoneRepository tombstoneRepository,
+                       @Value("${sync.settle-window:2s}") Duration settleWindow) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleWindow = settleWindow;
+    }
+
+    public SyncBatch getChangesSince(String token, int limit) {
+        SyncToken position = SyncToken.decode(token);
+        Instant horizon = Instant.now().minus(settleWindow);
+        // One extra row per stream tells us whether the client should call again
+        PageRequest page = PageRequest.of(0, limit + 1);
+
+        List<Product> products = productRepository.findChangedSince(
+                position.productUpdatedAt, position.productId, horizon, page);
+        List<Review> reviews = reviewRepository.findChangedSince(
+                position.reviewUpdatedAt, position.reviewId, horizon, page);
+        List<ReviewTombstone> tombstones = tombstoneRepository.findDeletedSince(
+                position.tombstoneDeletedAt, position.tombstoneId, horizon, page);
+
+        boolean hasMore = products.size() > limit || reviews.size() > limit || tombstones.size() > limit;
+        products = products.subList(0, Math.min(limit, products.size()));
+        reviews = reviews.subList(0, Math.min(limit, reviews.size()));
+        tombstones = tombstones.subList(0, Math.min(limit, tombstones.size()));
+
+        Instant productUpdatedAt = position.productUpdatedAt;
+        long productId = position.productId;
+        if (!products.isEmpty()) {
+            Product last = products.get(products.size() - 1);
+            productUpdatedAt = last.getUpdatedAt();
+            productId = last.getId();
+        }
+
+        Instant reviewUpdatedAt = position.reviewUpdatedAt;
+        long reviewId = position.reviewId;
+        if (!reviews.isEmpty()) {
+            Review last = reviews.get(reviews.size() - 1);
+            reviewUpdatedAt = last.getUpdatedAt();
+            reviewId = last.getId();
+        }
+
+        Instant tombstoneDeletedAt = position.tombstoneDeletedAt;
+        long tombstoneId = position.tombstoneId;
+        if (!tombstones.isEmpty()) {
+            ReviewTombstone last = tombstones.get(tombstones.size() - 1);
+            tombstoneDeletedAt = last.getDeletedAt();
+            tombstoneId = last.getId();
+        }
+
+        List<Long> deletedReviewIds = tombstones.stream().map(ReviewTombstone::getReviewId).toList();
+        String nextToken = new SyncToken(productUpdatedAt, productId, reviewUpdatedAt, reviewId,
+                tombstoneDeletedAt, tombstoneId).encode();
+        return new SyncBatch(products, reviews, deletedReviewIds, nextToken, hasMore);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SyncBatch {
+        private final List<Product> products;
+        private final List<Review> reviews;
+        private final List<Long> deletedReviewIds;
+        private final String nextToken;
+        private final boolean hasMore;
+    }
+}
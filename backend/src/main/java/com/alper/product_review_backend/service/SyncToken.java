@@ -0,0 +1,72 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.dto.PageCursor;
+import java.time.Instant;
+
+/**
+ * Position of a client in the product, review and deleted-review change streams.
+ * Each stream is ordered by (timestamp, id), so a position is the last pair the client has seen.
+ *
+ * Tokens issued before review deletes existed hold only the product and review positions. They
+ * are still accepted: both streams resume where they were, and the deleted-review stream starts
+ * from the beginning, which lists every delete since a tombstone is written for each one.
+ */
+final class SyncToken {
+
+    static final SyncToken INITIAL = new SyncToken(Instant.EPOCH, 0L, Instant.EPOCH, 0L, Instant.EPOCH, 0L);
+
+    // Product and review positions only, as issued before the deleted-review stream
+    private static final int LEGACY_PARTS = 4;
+
+    final Instant productUpdatedAt;
+    final long productId;
+    final Instant reviewUpdatedAt;
+    final long reviewId;
+    final Instant tombstoneDeletedAt;
+    final long tombstoneId;
+
+    SyncToken(Instant productUpdatedAt, long productId, Instant reviewUpdatedAt, long reviewId,
+              Instant tombstoneDeletedAt, long tombstoneId) {
+        this.productUpdatedAt = productUpdatedAt;
+        this.productId = productId;
+        this.reviewUpdatedAt = reviewUpdatedAt;
+        this.reviewId = reviewId;
+        this.tombstoneDeletedAt = tombstoneDeletedAt;
+        this.tombstoneId = tombstoneId;
+    }
+
+    static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+        String[] parts = PageCursor.decode(token);
+        if (parts.length != 6 && parts.length != LEGACY_PARTS) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+        try {
+            boolean legacy = parts.length == LEGACY_PARTS;
+            return new SyncToken(
+                    fromMicros(Long.parseLong(parts[0])), Long.parseLong(parts[1]),
+                    fromMicros(Long.parseLong(parts[2])), Long.parseLong(parts[3]),
+                    legacy ? INITIAL.tombstoneDeletedAt : fromMicros(Long.parseLong(parts[4])),
+                    legacy ? INITIAL.tombstoneId : Long.parseLong(parts[5]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+
+    String encode() {
+        return PageCursor.encode(
+                String.valueOf(toMicros(productUpdatedAt)), String.valueOf(productId),
+                String.valueOf(toMicros(reviewUpdatedAt)), String.valueOf(reviewId),
+                String.valueOf(toMicros(tombstoneDeletedAt)), String.valueOf(tombstoneId));
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogSnapshot;
+import com.alper.product_review_backend.catalog.TrendingIndex;
+import com.alper.product_review_backend.dto.TrendingProductDto;
+import com.alper.product_review_backend.repository.ProductRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Trending products: reviews counted with a weight that halves every {@code halfLife}, so a
+ * burst of reviews this week outranks a larger but older total.
+ *
+ * A product's activity is stored as log2 of the sum of 2^(half-lives from a fixed epoch to each
+ * review's creation). A new review adds one term in O(1), and stored values never have to decay:
+ * time scales every product's sum by the same factor, which changes scores but never their
+ * order. The current score is recovered by subtracting the half-lives elapsed since the epoch,
+ * and the log form stays finite however far the epoch lies in the past. Editing or deleting a
+ * review does not take back its activity. Changing the half-life re-weights activity already
+ * stored.
+ */
+@Service
+public class TrendingService {
+
+    public static final int MAX_RESULTS = 50;
+
+    // Origin of the stored activity; any fixed instant works
+    static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    // Products whose reviews have decayed below this much of one fresh review are not trending
+    static final double MIN_SCORE = 0.01;
+
+    private final ProductRepository productRepository;
+    private final CatalogIndex catalogIndex;
+    private final TrendingIndex trendingIndex;
+    private final double halfLifeSeconds;
+
+    public TrendingService(ProductRepository productRepository,
+                           CatalogIndex catalogIndex,
+                           TrendingIndex trendingIndex,
+                           @Value("${trending.half-life:24h}") Duration halfLife) {
+        this.productRepository = productRepository;
+        this.catalogIndex = catalogIndex;
+        this.trendingIndex = trendingIndex;
+        this.halfLifeSeconds = halfLife.toMillis() / 1000.0;
+    }
+
+    /**
+     * Add newly created reviews to a product's activity. Must join the caller's transaction so
+     * the activity commits with the reviews.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReviews(Long productId, List<Instant> createdAt) {
+        if (createdAt.isEmpty()) {
+            return;
+        }
+        double activity = Double.NEGATIVE_INFINITY;
+        for (Instant instant : createdAt) {
+            activity = logSum(activity, halfLivesSinceEpoch(instant));
+        }
+        productRepository.addTrendingActivity(productId, activity);
+        productRepository.findTrendingActivityById(productId)
+                .ifPresent(stored -> trendingIndex.stageActivity(productId, stored));
+    }
+
+    /**
+     * Up to {@code limit} products with the highest trending score, highest first.
+     *
+     * @throws IllegalArgumentException if limit is not between 1 and {@value #MAX_RESULTS}
+     */
+    public List<TrendingProductDto> trending(int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_RESULTS);
+        }
+        double now = halfLivesSinceEpoch(Instant.now());
+        CatalogSnapshot catalog = catalogIndex.current();
+        List<TrendingProductDto> products = new ArrayList<>(limit);
+        for (TrendingIndex.Entry entry : trendingIndex.top(TrendingIndex.CAPACITY)) {
+            double score = Math.pow(2, entry.getActivity() - now);
+            if (products.size() == limit || score < MIN_SCORE) {
+                break;
+            }
+            // Skips a product deleted since it was ranked
+            catalog.find(entry.getProductId()).ifPresent(product -> products.add(new TrendingProductDto(
+                    product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                    product.getAverageRating(), product.getReviewCount(), score)));
+        }
+        return products;
+    }
+
+    double halfLivesSinceEpoch(Instant instant) {
+        return Duration.between(EPOCH, instant).toMillis() / 1000.0 / halfLifeSeconds;
+    }
+
+    // log2(2^a + 2^b) without leaving the log domain
+    static double logSum(double a, double b) {
+        double max = Math.max(a, b);
+        if (max == Double.NEGATIVE_INFINITY) {
+            return max;
+        }
+        return max + Math.log1p(Math.pow(2, -Math.abs(a - b))) / Math.log(2);
+    }
+}
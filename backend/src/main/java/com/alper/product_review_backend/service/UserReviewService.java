@@ -0,0 +1,79 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.dto.PageCursor;
+import com.alper.product_review_backend.dto.PageResponse;
+import com.alper.product_review_backend.dto.UserReviewDto;
+import com.alper.product_review_backend.dto.UserReviewStatsDto;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.repository.projection.RatingTotals;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A user's own reviews and review stats.
+ *
+ * Reviews are paged newest first by (createdAt, id) and the cursor carries the last pair seen,
+ * so each page is a range scan of the (user_id, created_at, id) index however deep the client
+ * pages. The stats are read from counters on the user row that every review write adjusts.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserReviewService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public PageResponse<UserReviewDto> reviews(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<UserReviewDto> rows;
+        if (cursor == null) {
+            rows = reviewRepository.findUserReviews(userId, page);
+        } else {
+            String[] parts = PageCursor.decode(cursor, 2);
+            try {
+                rows = reviewRepository.findUserReviewsBefore(
+                        userId, fromMicros(Long.parseLong(parts[0])), Long.parseLong(parts[1]), page);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<UserReviewDto> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            UserReviewDto last = items.get(limit - 1);
+            nextCursor = PageCursor.encode(String.valueOf(toMicros(last.getCreatedAt())), String.valueOf(last.getId()));
+        }
+        return new PageResponse<>(items, nextCursor, null);
+    }
+
+    @Transactional(readOnly = true)
+    public UserReviewStatsDto stats(Long userId) {
+        RatingTotals totals = userRepository.findReviewTotalsById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        long count = totals.getReviewCount();
+        return new UserReviewStatsDto(count, count == 0 ? 0.0 : (double) totals.getRatingSum() / count);
+    }
+
+    // Timestamps are stored with microsecond precision, so the cursor round-trips exactly
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+}
@@ -0,0 +1,20 @@
+package com.alper.product_review_backend.stream;
+
+import com.alper.product_review_backend.event.ReviewEvent;
+import java.io.IOException;
+
+/**
+ * Destination of a review stream subscription (an SSE connection in production).
+ */
+public interface EventSink {
+
+    /**
+     * Deliver one event. May block on network I/O; failures drop the subscription.
+     */
+    void send(ReviewEvent event) throws IOException;
+
+    /**
+     * Close the underlying connection; called when the subscriber is dropped.
+     */
+    void close();
+}
@@ -0,0 +1,229 @@
+package com.alper.product_review_backend.stream;
+
+import com.alper.product_review_backend.event.ReviewEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-process fan-out of committed review events to stream subscribers.
+ *
+ * Publishing never blocks: each subscriber has a bounded buffer and events are written
+ * to the network by a small shared dispatcher pool. A subscriber whose buffer is full
+ * is too slow to keep up and is dropped; its client reconnects and catches up via delta sync.
+ * A watchdog also drops a subscriber whose send has been blocked longer than the send timeout
+ * and interrupts the dispatcher thread, so a few stalled clients cannot hold the whole pool.
+ */
+@Slf4j
+@Component
+public class ReviewEventBus {
+
+    private final int bufferSize;
+    private final ExecutorService dispatcher;
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService watchdog;
+
+    private final Map<Long, Set<Subscription>> byProduct = new ConcurrentHashMap<>();
+    private final Set<Subscription> firehose = ConcurrentHashMap.newKeySet();
+
+    public ReviewEventBus(@Value("${reviews.stream.buffer-size:64}") int bufferSize,
+                          @Value("${reviews.stream.dispatch-threads:4}") int dispatchThreads,
+                          @Value("${reviews.stream.send-timeout:10s}") Duration sendTimeout) {
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "review-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "review-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkIntervalMillis = Math.max(1, sendTimeout.toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::evictStalledSenders, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribe to events for one product, or to all products when {@code productId} is null.
+     */
+    public Subscription subscribe(Long productId, EventSink sink) {
+        Subscription subscription = new Subscription(productId, sink, bufferSize);
+        if (productId == null) {
+            firehose.add(subscription);
+        } else {
+            byProduct.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        if (subscription.productId == null) {
+            firehose.remove(subscription);
+            return;
+        }
+        byProduct.computeIfPresent(subscription.productId, (id, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    public int subscriberCount() {
+        return firehose.size() + byProduct.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Only committed writes reach subscribers
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReviewCommitted(ReviewEvent event) {
+        publish(event);
+    }
+
+    public void publish(ReviewEvent event) {
+        Set<Subscription> subscribers = byProduct.get(event.getProductId());
+        if (subscribers != null) {
+            subscribers.forEach(subscription -> enqueue(subscription, event));
+        }
+        firehose.forEach(subscription -> enqueue(subscription, event));
+    }
+
+    private void enqueue(Subscription subscription, ReviewEvent event) {
+        if (!subscription.buffer.offer(event)) {
+            if (detach(subscription)) {
+                log.warn("Dropping slow review stream subscriber (product {})", subscription.productId);
+                // Close here only if no dispatcher is draining it; a running drain closes it itself
+                if (subscription.draining.compareAndSet(false, true)) {
+                    closeSink(subscription);
+                }
+            }
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        while (true) {
+            ReviewEvent event;
+            while (!subscription.closed.get() && (event = subscription.buffer.poll()) != null) {
+                subscription.startSend();
+                try {
+                    subscription.sink.send(event);
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("Review stream subscriber disconnected: {}", ex.getMessage());
+                    detach(subscription);
+                } finally {
+                    subscription.endSend();
+                }
+            }
+            subscription.draining.set(false);
+            // Dropped while draining (send failed, buffer overflowed or the watchdog evicted it)
+            if (subscription.closed.get()) {
+                closeSink(subscription);
+                return;
+            }
+            // An event may have been enqueued after the last poll but before the flag was cleared
+            if (subscription.buffer.isEmpty() || !subscription.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean detach(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        unsubscribe(subscription);
+        subscription.buffer.clear();
+        return true;
+    }
+
+    private void closeSink(Subscription subscription) {
+        if (subscription.sinkClosed.compareAndSet(false, true)) {
+            subscription.sink.close();
+        }
+    }
+
+    private void evictStalledSenders() {
+        long now = System.nanoTime();
+        firehose.forEach(subscription -> evictIfStalled(subscription, now));
+        byProduct.values().forEach(subscribers -> subscribers.forEach(subscription -> evictIfStalled(subscription, now)));
+    }
+
+    // The sink is closed by the dispatcher thread once the send gives up: closing it here could block
+    // on the same stalled connection and stall the watchdog with it
+    private void evictIfStalled(Subscription subscription, long now) {
+        synchronized (subscription) {
+            if (subscription.sender == null || now - subscription.sendStartedAt < sendTimeoutNanos
+                    || !detach(subscription)) {
+                return;
+            }
+            log.warn("Dropping stalled review stream subscriber (product {})", subscription.productId);
+            // Interrupted while still registered as the sender, so the interrupt cannot reach a later send
+            subscription.sender.interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Handle returned to the subscriber; pass it back to {@link #unsubscribe}.
+     */
+    public static final class Subscription {
+
+        private final Long productId;
+        private final EventSink sink;
+        private final ArrayBlockingQueue<ReviewEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean sinkClosed = new AtomicBoolean();
+        // Dispatcher thread blocked in a send and since when; guarded by this subscription
+        private Thread sender;
+        private long sendStartedAt;
+
+        private Subscription(Long productId, EventSink sink, int bufferSize) {
+            this.productId = productId;
+            this.sink = sink;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        private synchronized void startSend() {
+            sender = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+
+        private void endSend() {
+            synchronized (this) {
+                sender = null;
+            }
+            // Clear an interrupt from the watchdog that arrived as the send returned
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.alper.product_review_backend.stream;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Opens SSE connections on the review event bus and unsubscribes them when the connection ends.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewStreams {
+
+    private final ReviewEventBus eventBus;
+
+    @Value("${reviews.stream.timeout:30m}")
+    private Duration timeout;
+
+    /**
+     * Open a stream for one product, or for every product when {@code productId} is null.
+     */
+    public SseEmitter open(Long productId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ReviewEventBus.Subscription subscription = eventBus.subscribe(productId, new SseEventSink(emitter));
+
+        Runnable cleanup = () -> eventBus.unsubscribe(subscription);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(ex -> cleanup.run());
+        return emitter;
+    }
+}
@@ -0,0 +1,47 @@
+package com.alper.product_review_backend.stream;
+
+import com.alper.product_review_backend.dto.ReviewDto;
+import com.alper.product_review_backend.dto.ReviewStreamEventDto;
+import com.alper.product_review_backend.event.ReviewEvent;
+import java.io.IOException;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Writes review events to an SSE connection as {@code review.created} etc.
+ */
+public class SseEventSink implements EventSink {
+
+    private final SseEmitter emitter;
+
+    public SseEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(ReviewEvent event) throws IOException {
+        ReviewDto review = new ReviewDto(
+                event.getReviewId(),
+                event.getRating(),
+                event.getComment(),
+                event.getUsername(),
+                event.getCreatedAt()
+        );
+        ReviewStreamEventDto payload = new ReviewStreamEventDto(
+                event.getProductId(),
+                review,
+                event.getAverageRating(),
+                event.getReviewCount()
+        );
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getReviewId()))
+                .name("review." + event.getType().name().toLowerCase(Locale.ROOT))
+                .data(payload, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
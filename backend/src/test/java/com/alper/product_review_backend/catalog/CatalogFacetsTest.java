@@ -0,0 +1,94 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.CatalogFacetsDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogFacetsTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    // Stands in for the category dictionary: ids handed out in order of first use
+    private final List<String> categoryNames = new ArrayList<>();
+
+    private int categoryId(String category) {
+        if (!categoryNames.contains(category)) {
+            categoryNames.add(category);
+        }
+        return categoryNames.indexOf(category) + 1;
+    }
+
+    private CatalogFacets build(CatalogRow... rows) {
+        return CatalogFacets.build(List.of(rows), this::categoryId, id -> categoryNames.get(id - 1));
+    }
+
+    private static CatalogRow row(long id, String category, String price, double rating, long version) {
+        return new CatalogRow(id, "Product " + id, category, new BigDecimal(price), rating, 1, 0.0, 0.0, version, T0);
+    }
+
+    private static List<Long> ratingCounts(CatalogFacetsDto facets) {
+        return facets.getRatings().stream().map(CatalogFacetsDto.RatingFacet::getCount).toList();
+    }
+
+    private static List<Long> priceCounts(CatalogFacetsDto facets) {
+        return facets.getPriceRanges().stream().map(CatalogFacetsDto.PriceRangeFacet::getCount).toList();
+    }
+
+    @Test
+    void counts_groupByCategoryPriceAndRating() {
+        CatalogFacets facets = build(
+                row(1, "Phones", "799.00", 4.5, 0),
+                row(2, "Phones", "499.99", 3.9, 0),
+                row(3, "Laptops", "1299.00", 5.0, 0),
+                row(4, "Books", "24.99", 0.0, 0),
+                row(5, "Books", "25.00", 2.0, 0),
+                row(6, "Phones", "99.99", 1.5, 0));
+
+        CatalogFacetsDto counts = facets.counts();
+        assertThat(counts.getTotal()).isEqualTo(6);
+        assertThat(counts.getCategories()).extracting(CatalogFacetsDto.CategoryFacet::getCategory)
+                .containsExactly("Phones", "Books", "Laptops");
+        assertThat(counts.getCategories()).extracting(CatalogFacetsDto.CategoryFacet::getCount)
+                .containsExactly(3L, 2L, 1L);
+        // [0, 25) [25, 50) [50, 100) [100, 250) [250, 500) [500, 1000) [1000, -)
+        assertThat(priceCounts(counts)).containsExactly(1L, 1L, 1L, 0L, 1L, 1L, 1L);
+        assertThat(counts.getPriceRanges().get(6).getMaxPrice()).isNull();
+        // At least 4, 3, 2, 1 stars
+        assertThat(ratingCounts(counts)).containsExactly(2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void apply_movesChangedProductsBetweenBuckets() {
+        CatalogFacets facets = build(
+                row(1, "Phones", "799.00", 0.0, 0),
+                row(2, "Phones", "49.00", 0.0, 0));
+
+        // A review lifts product 1 to 4.0; product 2 moves category; product 3 is new
+        facets.apply(List.of(
+                row(1, "Phones", "799.00", 4.0, 1),
+                row(2, "Tablets", "49.00", 0.0, 1),
+                row(3, "Tablets", "149.00", 3.0, 0)), List.of());
+
+        CatalogFacetsDto counts = facets.counts();
+        assertThat(counts.getTotal()).isEqualTo(3);
+        assertThat(counts.getCategories()).extracting(CatalogFacetsDto.CategoryFacet::getCategory)
+                .containsExactly("Tablets", "Phones");
+        assertThat(ratingCounts(counts)).containsExactly(1L, 2L, 2L, 2L);
+
+        // Stale upsert is ignored, removal drops the last product of a category
+        facets.apply(List.of(row(1, "Phones", "799.00", 0.0, 0)), List.of());
+        facets.apply(List.of(), List.of(1L));
+        counts = facets.counts();
+        assertThat(counts.getTotal()).isEqualTo(2);
+        assertThat(facets.categoryCountsEqual(Map.of(categoryId("Tablets"), 2L))).isTrue();
+        assertThat(ratingCounts(counts)).containsExactly(0L, 1L, 1L, 1L);
+        assertThat(priceCounts(counts)).containsExactly(0L, 1L, 0L, 1L, 0L, 0L, 0L);
+    }
+}
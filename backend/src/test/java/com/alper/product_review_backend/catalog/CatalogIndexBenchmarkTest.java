@@ -0,0 +1,129 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.dto.ProductFilter;
+import com.alper.product_review_backend.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving a listing page from the catalog index with the JPA query it replaced, and a
+ * category's top rated from the leaderboard with the filtered index query.
+ * The default suite checks both return the same rows; the timing comparisons are tagged
+ * {@code benchmark} and run with {@code mvn test -Pbenchmark}. Not a JMH harness.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class CatalogIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexBenchmarkTest.class);
+
+    private static final int PRODUCTS = 10_000;
+
+    private static final Pageable LISTING_PAGE = PageRequest.of(40, 25, Sort.by(Sort.Direction.DESC, "price"));
+    private static final CatalogQuery LISTING_QUERY = CatalogQuery.from(new ProductFilter(), LISTING_PAGE, false);
+    private static final CatalogQuery CATEGORY_QUERY =
+            new CatalogQuery(SortKey.BAYESIAN_RATING, true, "Category 5", null, null, null, 0, 10, false);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Test
+    void indexServesSamePagesAsJpa() {
+        saveListingProducts();
+
+        List<Long> fromIndex = catalogIndex.current().query(LISTING_QUERY).getItems().stream()
+                .map(dto -> dto.getId()).toList();
+        List<Long> fromJpa = productRepository.findAllBy(LISTING_PAGE).getContent().stream()
+                .map(Product::getId).toList();
+        assertThat(fromIndex).hasSize(25).isEqualTo(fromJpa);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void indexServesPagesFasterThanJpa() {
+        saveListingProducts();
+
+        double indexOps = measure(2_000, () -> catalogIndex.current().query(LISTING_QUERY));
+        double jpaOps = measure(200, () -> productRepository.findAllBy(LISTING_PAGE));
+
+        log.debug("Catalog listing (page 40 by price desc, {} products): index {} ops/sec, JPA {} ops/sec",
+                PRODUCTS, Math.round(indexOps), Math.round(jpaOps));
+        assertThat(indexOps).isGreaterThan(jpaOps);
+    }
+
+    private void saveListingProducts() {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            // Distinct prices so both paths agree on order without a tie-break
+            products.add(new Product("Bench " + i, "Desc", "Category " + (i % 12),
+                    BigDecimal.valueOf(100_000 + (i * 7919L) % PRODUCTS * 10L + i % 10, 2)));
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void leaderboardServesSameTopAsCategoryQuery() {
+        saveRatedProducts();
+
+        List<Long> fromLeaderboard = catalogIndex.leaderboard("Category 5", 10).stream()
+                .map(entry -> entry.getId()).toList();
+        List<Long> fromQuery = catalogIndex.current().query(CATEGORY_QUERY).getItems().stream()
+                .map(dto -> dto.getId()).toList();
+        assertThat(fromLeaderboard).hasSize(10).isEqualTo(fromQuery);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void leaderboardServesTopFasterThanCategoryQuery() {
+        saveRatedProducts();
+
+        double leaderboardOps = measure(20_000, () -> catalogIndex.leaderboard("Category 5", 10));
+        double queryOps = measure(2_000, () -> catalogIndex.current().query(CATEGORY_QUERY));
+
+        log.debug("Category top 10 by Bayesian rating ({} products): leaderboard {} ops/sec, filtered query {} ops/sec",
+                PRODUCTS, Math.round(leaderboardOps), Math.round(queryOps));
+        assertThat(leaderboardOps).isGreaterThan(queryOps);
+    }
+
+    private void saveRatedProducts() {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product("Bench " + i, "Desc", "Category " + (i % 12), BigDecimal.TEN);
+            // Distinct ratings so both paths agree on order without a tie-break
+            product.setBayesianRating(1 + (i * 7919L % PRODUCTS) / (double) PRODUCTS);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+    }
+
+    private static double measure(int iterations, Runnable operation) {
+        // Warm up, then measure
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return iterations / (elapsed / 1e9);
+    }
+}
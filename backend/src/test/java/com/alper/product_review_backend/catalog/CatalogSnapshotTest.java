@@ -0,0 +1,155 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static CatalogRow row(long id, String name, String category, String price, double rating, long reviews) {
+        return new CatalogRow(id, name, category, new BigDecimal(price), rating, reviews, 0.0, 0.0, 0L, T0);
+    }
+
+    private static CatalogRow version(CatalogRow row, long version, double rating, long reviews) {
+        return new CatalogRow(row.getId(), row.getName(), row.getCategory(),
+                BigDecimal.valueOf(row.getPriceCents(), 2), rating, reviews,
+                row.getBayesianRating(), row.getWilsonScore(), version, T0.plusSeconds(version));
+    }
+
+    private static final List<CatalogRow> ROWS = List.of(
+            row(3, "Lamp", "Home", "25.00", 4.0, 2),
+            row(1, "Phone", "Electronics", "999.99", 4.5, 10),
+            row(2, "Cable", "Electronics", "9.99", 3.0, 4),
+            row(5, "Rug", "Home", "25.00", 5.0, 1),
+            row(4, "Book", "Books", "14.50", 0.0, 0));
+
+    private static CatalogQuery sorted(SortKey key, boolean descending) {
+        return new CatalogQuery(key, descending, null, null, null, null, 0, 10, false);
+    }
+
+    private static List<Long> ids(CatalogPage page) {
+        return page.getItems().stream().map(ProductSummaryDto::getId).toList();
+    }
+
+    @Test
+    void query_sortsByEachKeyWithIdTieBreak() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS);
+
+        assertThat(ids(snapshot.query(sorted(SortKey.ID, false)))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(ids(snapshot.query(sorted(SortKey.ID, true)))).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(ids(snapshot.query(sorted(SortKey.PRICE, false)))).containsExactly(2L, 4L, 3L, 5L, 1L);
+        assertThat(ids(snapshot.query(sorted(SortKey.PRICE, true)))).containsExactly(1L, 3L, 5L, 4L, 2L);
+        assertThat(ids(snapshot.query(sorted(SortKey.NAME, false)))).containsExactly(4L, 2L, 3L, 1L, 5L);
+        assertThat(ids(snapshot.query(sorted(SortKey.CATEGORY, false)))).containsExactly(4L, 1L, 2L, 3L, 5L);
+        assertThat(ids(snapshot.query(sorted(SortKey.AVERAGE_RATING, true)))).containsExactly(5L, 1L, 3L, 2L, 4L);
+        assertThat(ids(snapshot.query(sorted(SortKey.REVIEW_COUNT, true)))).containsExactly(1L, 2L, 3L, 5L, 4L);
+    }
+
+    @Test
+    void query_returnsSummariesWithDecodedColumns() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS);
+
+        ProductSummaryDto first = snapshot.query(sorted(SortKey.ID, false)).getItems().get(0);
+
+        assertThat(first.getName()).isEqualTo("Phone");
+        assertThat(first.getCategory()).isEqualTo("Electronics");
+        assertThat(first.getPrice()).isEqualByComparingTo("999.99");
+        assertThat(first.getPrice().scale()).isEqualTo(2);
+        assertThat(first.getAverageRating()).isEqualTo(4.5);
+        assertThat(first.getReviewCount()).isEqualTo(10);
+    }
+
+    @Test
+    void query_pagesWithOffsetAndReportsNextAndTotal() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS);
+
+        CatalogPage first = snapshot.query(new CatalogQuery(SortKey.PRICE, false, null, null, null, null, 0, 2, true));
+        CatalogPage last = snapshot.query(new CatalogQuery(SortKey.PRICE, false, null, null, null, null, 4, 2, true));
+
+        assertThat(ids(first)).containsExactly(2L, 4L);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getTotal()).isEqualTo(5);
+        assertThat(ids(last)).containsExactly(1L);
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    @Test
+    void query_filtersByCategoryPriceAndRating() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS);
+
+        CatalogPage home = snapshot.query(new CatalogQuery(SortKey.ID, false, "Home", null, null, null, 0, 10, true));
+        CatalogPage cheap = snapshot.query(new CatalogQuery(SortKey.ID, false, null, 1000L, 2500L, null, 0, 10, true));
+        CatalogPage rated = snapshot.query(new CatalogQuery(SortKey.ID, false, "Electronics", null, null, 4.0, 0, 10, true));
+        CatalogPage unknown = snapshot.query(new CatalogQuery(SortKey.ID, false, "Garden", null, null, null, 0, 10, true));
+
+        assertThat(ids(home)).containsExactly(3L, 5L);
+        assertThat(ids(cheap)).containsExactly(3L, 4L, 5L);
+        assertThat(ids(rated)).containsExactly(1L);
+        assertThat(unknown.getItems()).isEmpty();
+        assertThat(unknown.getTotal()).isZero();
+    }
+
+    @Test
+    void query_filteredPagingCountsOnlyMatches() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS);
+
+        CatalogPage page = snapshot.query(new CatalogQuery(SortKey.PRICE, true, "Home", null, null, null, 1, 1, true));
+
+        assertThat(ids(page)).containsExactly(5L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_patchesRowsWithoutTouchingTheOriginal() {
+        CatalogSnapshot original = CatalogSnapshot.build(ROWS);
+        original.query(sorted(SortKey.AVERAGE_RATING, true));
+
+        CatalogSnapshot updated = original.apply(List.of(version(ROWS.get(4), 1, 5.0, 3)), List.of());
+
+        assertThat(ids(updated.query(sorted(SortKey.AVERAGE_RATING, true)))).containsExactly(4L, 5L, 1L, 3L, 2L);
+        assertThat(ids(original.query(sorted(SortKey.AVERAGE_RATING, true)))).containsExactly(5L, 1L, 3L, 2L, 4L);
+        assertThat(updated.getVersionSum()).isEqualTo(1);
+        assertThat(updated.getLastUpdatedAt()).isEqualTo(T0.plusSeconds(1));
+    }
+
+    @Test
+    void apply_ignoresUpsertsOlderThanTheIndexedRow() {
+        CatalogRow book = ROWS.get(4);
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS)
+                .apply(List.of(version(book, 2, 4.0, 2)), List.of())
+                .apply(List.of(version(book, 1, 3.0, 1)), List.of());
+
+        ProductSummaryDto indexed = snapshot.query(sorted(SortKey.ID, false)).getItems().get(3);
+        assertThat(indexed.getReviewCount()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_insertsAndRemovesRows() {
+        CatalogSnapshot snapshot = CatalogSnapshot.build(ROWS)
+                .apply(List.of(row(7, "Chair", "Furniture", "80.00", 0.0, 0)), List.of(1L, 2L));
+
+        assertThat(ids(snapshot.query(sorted(SortKey.ID, false)))).containsExactly(3L, 4L, 5L, 7L);
+        assertThat(snapshot.getProductCount()).isEqualTo(4);
+        assertThat(snapshot.getMaxId()).isEqualTo(7);
+        assertThat(ids(snapshot.query(new CatalogQuery(SortKey.ID, false, "Furniture", null, null, null, 0, 10, false))))
+                .containsExactly(7L);
+    }
+
+    @Test
+    void emptySnapshot_hasNullWatermarks() {
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+
+        assertThat(snapshot.getProductCount()).isZero();
+        assertThat(snapshot.getMaxId()).isNull();
+        assertThat(snapshot.getLastUpdatedAt()).isNull();
+        assertThat(snapshot.query(sorted(SortKey.PRICE, false)).getItems()).isEmpty();
+    }
+}
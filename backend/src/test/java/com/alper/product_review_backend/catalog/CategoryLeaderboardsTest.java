@@ -0,0 +1,109 @@
+package com.alper.product_review_backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryLeaderboardsTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static CatalogRow row(long id, String category, double bayesianRating, long reviewCount, long version) {
+        return new CatalogRow(id, "Product " + id, category, BigDecimal.TEN, bayesianRating, reviewCount,
+                bayesianRating, 0.0, version, T0);
+    }
+
+    private static List<Long> ids(List<CatalogRow> rows) {
+        return rows.stream().map(CatalogRow::getId).toList();
+    }
+
+    @Test
+    void top_ranksByRatingThenReviewCount() {
+        CategoryLeaderboards leaderboards = CategoryLeaderboards.build(List.of(
+                row(1, "Headphones", 4.1, 10, 0),
+                row(2, "Headphones", 4.6, 3, 0),
+                row(3, "Headphones", 4.1, 25, 0),
+                row(4, "Phones", 4.9, 8, 0)));
+
+        assertThat(ids(leaderboards.top("Headphones", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(leaderboards.top("Headphones", 2))).containsExactly(2L, 3L);
+        assertThat(ids(leaderboards.top("Phones", 10))).containsExactly(4L);
+        assertThat(leaderboards.top("Garden", 10)).isEmpty();
+    }
+
+    @Test
+    void apply_movesProductsWithinAndAcrossCategories() {
+        CategoryLeaderboards leaderboards = CategoryLeaderboards.build(List.of(
+                row(1, "Headphones", 4.1, 10, 0),
+                row(2, "Headphones", 4.6, 3, 0),
+                row(3, "Phones", 4.0, 1, 0)));
+
+        // A review lifts product 1; product 3 is recategorized; an unchanged re-stage keeps one entry
+        leaderboards.apply(List.of(
+                row(1, "Headphones", 4.7, 11, 1),
+                row(3, "Headphones", 4.0, 1, 1),
+                row(3, "Headphones", 4.0, 1, 1)), List.of());
+
+        assertThat(ids(leaderboards.top("Headphones", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(leaderboards.top("Phones", 10)).isEmpty();
+        assertThat(leaderboards.top("Headphones", 1).get(0).getReviewCount()).isEqualTo(11);
+    }
+
+    @Test
+    void apply_ignoresStaleRowsAndDropsRemovedProducts() {
+        CategoryLeaderboards leaderboards = CategoryLeaderboards.build(List.of(
+                row(1, "Headphones", 4.7, 11, 2),
+                row(2, "Headphones", 4.6, 3, 0)));
+
+        leaderboards.apply(List.of(row(1, "Headphones", 4.1, 10, 1)), List.of(2L));
+
+        assertThat(ids(leaderboards.top("Headphones", 10))).containsExactly(1L);
+        assertThat(leaderboards.top("Headphones", 10).get(0).getBayesianRating()).isEqualTo(4.7);
+    }
+
+    @Test
+    void top_seesEveryProductExactlyOnceWhileProductsMove() throws InterruptedException {
+        int products = 20;
+        List<CatalogRow> rows = new ArrayList<>();
+        for (int id = 1; id <= products; id++) {
+            rows.add(row(id, "Headphones", 4.0 + id / 100.0, 5, 0));
+        }
+        CategoryLeaderboards leaderboards = CategoryLeaderboards.build(rows);
+
+        AtomicBoolean moving = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch readersDone = new CountDownLatch(2);
+        for (int r = 0; r < 2; r++) {
+            Thread reader = new Thread(() -> {
+                while (moving.get() && failure.get() == null) {
+                    List<Long> top = ids(leaderboards.top("Headphones", products));
+                    if (top.size() != products || new HashSet<>(top).size() != products) {
+                        failure.set("Saw " + top);
+                    }
+                }
+                readersDone.countDown();
+            });
+            reader.start();
+        }
+
+        // Move products from the bottom of the board to the top and back, one product per batch
+        for (int version = 1; version <= 5_000 && failure.get() == null; version++) {
+            long id = 1 + version % products;
+            double rating = version % 2 == 0 ? 5.0 : 3.0;
+            leaderboards.apply(List.of(row(id, "Headphones", rating, 5 + version, version)), List.of());
+        }
+        moving.set(false);
+        readersDone.await();
+
+        assertThat(failure.get()).isNull();
+    }
+}
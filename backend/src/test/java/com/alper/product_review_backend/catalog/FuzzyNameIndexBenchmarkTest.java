@@ -0,0 +1,141 @@
+package com.alper.product_review_backend.catalog;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recall and latency of the trigram fuzzy index against a naive {@code LIKE '%...%'} scan, for
+ * queries with one typo in the brand. Recall is checked in the default suite; the latency
+ * comparison is tagged {@code benchmark} and runs with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class FuzzyNameIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FuzzyNameIndexBenchmarkTest.class);
+
+    private static final int PRODUCTS = 20_000;
+    private static final int QUERIES = 300;
+
+    private static final String[] BRANDS = {"Sennheiser", "Logitech", "Microsoft", "Panasonic", "Philips",
+            "Samsung", "Lenovo", "Corsair", "Garmin", "Bose", "Canon", "Nikon", "Razer", "Dyson", "Anker"};
+    private static final String[] SERIES = {"Momentum", "ZenBook", "Galaxy", "Inspire", "Studio", "Vector",
+            "Pulse", "Summit", "Nomad", "Quantum"};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void fuzzyIndexFindsMisspelledNamesThatLikeScanMisses() {
+        Workload workload = saveWorkload();
+
+        int indexHits = 0;
+        int likeHits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            Long target = workload.targets().get(q);
+            if (fuzzySearch(workload.queries().get(q)).stream().anyMatch(product -> product.getId().equals(target))) {
+                indexHits++;
+            }
+            if (likeScan(workload.queries().get(q)).contains(target)) {
+                likeHits++;
+            }
+        }
+
+        double indexRecall = (double) indexHits / QUERIES;
+        double likeRecall = (double) likeHits / QUERIES;
+        assertThat(indexRecall).isGreaterThanOrEqualTo(0.95);
+        assertThat(indexRecall).isGreaterThan(likeRecall);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void fuzzyIndexAnswersFasterThanLikeScan() {
+        Workload workload = saveWorkload();
+
+        long indexNanos = 0;
+        long likeNanos = 0;
+        for (String query : workload.queries()) {
+            long start = System.nanoTime();
+            fuzzySearch(query);
+            indexNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            likeScan(query);
+            likeNanos += System.nanoTime() - start;
+        }
+
+        log.debug("Fuzzy name search over {} products: trigram {} us/query, LIKE scan {} us/query",
+                PRODUCTS, indexNanos / 1_000 / QUERIES, likeNanos / 1_000 / QUERIES);
+        assertThat(indexNanos).isLessThan(likeNanos);
+    }
+
+    private List<ProductSummaryDto> fuzzySearch(String query) {
+        return catalogIndex.fuzzySearch(query, 10);
+    }
+
+    private List<Long> likeScan(String query) {
+        return jdbcTemplate.queryForList(
+                "select id from product where lower(name) like ? limit 10", Long.class, "%" + query + "%");
+    }
+
+    // Saves the catalog and picks the queries: a product's brand with one typo, plus its model number
+    private Workload saveWorkload() {
+        Random random = new Random(7);
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        List<String[]> names = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String series = SERIES[random.nextInt(SERIES.length)];
+            String model = "X" + Integer.toString(100_000 + i, 36).toUpperCase();
+            names.add(new String[] {brand, series, model});
+            products.add(new Product(brand + " " + series + " " + model, "Desc", "Category", BigDecimal.TEN));
+        }
+        List<Product> saved = productRepository.saveAll(products);
+
+        List<Long> targets = new ArrayList<>(QUERIES);
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int q = 0; q < QUERIES; q++) {
+            int i = random.nextInt(PRODUCTS);
+            String[] name = names.get(i);
+            targets.add(saved.get(i).getId());
+            queries.add(typo(name[0].toLowerCase(), random) + " " + name[2].toLowerCase());
+        }
+        return new Workload(targets, queries);
+    }
+
+    // One random deletion, insertion or substitution
+    private static String typo(String word, Random random) {
+        int at = random.nextInt(word.length());
+        char letter = (char) ('a' + random.nextInt(26));
+        return switch (random.nextInt(3)) {
+            case 0 -> word.substring(0, at) + word.substring(at + 1);
+            case 1 -> word.substring(0, at) + letter + word.substring(at);
+            default -> word.substring(0, at) + letter + word.substring(at + 1);
+        };
+    }
+
+    private record Workload(List<Long> targets, List<String> queries) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.alper.product_review_backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyNameIndexTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static CatalogRow row(long id, String name, long reviews) {
+        return row(id, name, reviews, 0L);
+    }
+
+    private static CatalogRow row(long id, String name, long reviews, long version) {
+        return new CatalogRow(id, name, "Category", BigDecimal.ONE, 0.0, reviews, 0.0, 0.0, version, T0);
+    }
+
+    private static final List<CatalogRow> ROWS = List.of(
+            row(1, "Sennheiser HD 600", 40),
+            row(2, "Sennheiser Momentum 4", 90),
+            row(3, "ASUS ZenBook 14", 25),
+            row(4, "Samsung Galaxy S24", 300),
+            row(5, "Sony WH-1000XM5", 120));
+
+    @Test
+    void search_toleratesTyposInEveryWord() {
+        FuzzyNameIndex index = FuzzyNameIndex.build(ROWS);
+
+        assertThat(index.search("Senheiser", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("zenbok", 10)).containsExactly(3L);
+        assertThat(index.search("senheiser momentun", 10)).containsExactly(2L);
+        assertThat(index.search("galaxi samsnug", 10)).isEmpty();
+        assertThat(index.search("galaxi samsun", 10)).containsExactly(4L);
+    }
+
+    @Test
+    void search_ranksFewerEditsFirstThenReviewCount() {
+        FuzzyNameIndex index = FuzzyNameIndex.build(List.of(
+                row(1, "Lamp", 5),
+                row(2, "Lamb", 50),
+                row(3, "Lamps", 500)));
+
+        // "lamp" is exact for 1 and one edit away from 2 and 3
+        assertThat(index.search("lamp", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(index.search("lamp", 2)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void search_requiresShortWordsToMatchExactly() {
+        FuzzyNameIndex index = FuzzyNameIndex.build(ROWS);
+
+        assertThat(index.search("sennheiser hd", 10)).containsExactly(1L);
+        assertThat(index.search("sennheiser hx", 10)).isEmpty();
+        assertThat(index.search("", 10)).isEmpty();
+    }
+
+    @Test
+    void apply_followsRenamesAndRemovals() {
+        FuzzyNameIndex index = FuzzyNameIndex.build(ROWS);
+
+        index.apply(List.of(row(3, "ASUS VivoBook 15", 25, 1)), List.of(2L));
+
+        assertThat(index.search("zenbok", 10)).isEmpty();
+        assertThat(index.search("vivobok", 10)).containsExactly(3L);
+        assertThat(index.search("senheiser", 10)).containsExactly(1L);
+
+        // An older version of product 3 arriving late is ignored
+        index.apply(List.of(row(3, "ASUS ZenBook 14", 25, 0)), List.of());
+        assertThat(index.search("zenbok", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void boundedDistance_stopsAtTheBound() {
+        assertThat(FuzzyNameIndex.boundedDistance("senheiser", "sennheiser", 2)).isEqualTo(1);
+        assertThat(FuzzyNameIndex.boundedDistance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(FuzzyNameIndex.boundedDistance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(FuzzyNameIndex.boundedDistance("abc", "abcdef", 2)).isEqualTo(3);
+        assertThat(FuzzyNameIndex.maxEdits(3)).isZero();
+        assertThat(FuzzyNameIndex.maxEdits(4)).isEqualTo(1);
+        assertThat(FuzzyNameIndex.maxEdits(8)).isEqualTo(2);
+    }
+}
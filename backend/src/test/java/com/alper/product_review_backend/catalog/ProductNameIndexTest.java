@@ -0,0 +1,161 @@
+package com.alper.product_review_backend.catalog;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductNameIndexTest.class);
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static CatalogRow row(long id, String name, long reviews) {
+        return row(id, name, reviews, 0L);
+    }
+
+    private static CatalogRow row(long id, String name, long reviews, long version) {
+        return new CatalogRow(id, name, "Category", BigDecimal.ONE, 0.0, reviews, 0.0, 0.0, version, T0);
+    }
+
+    private static List<Long> ids(List<ProductNameIndex.Entry> entries) {
+        return entries.stream().map(ProductNameIndex.Entry::getId).toList();
+    }
+
+    @Test
+    void suggest_matchesAnyWordPrefixRankedByReviewCount() {
+        ProductNameIndex index = ProductNameIndex.build(List.of(
+                row(1, "Samsung Galaxy S24", 50),
+                row(2, "Galaxy Watch", 80),
+                row(3, "Galaxy Buds", 10),
+                row(4, "iPhone 15", 100)));
+
+        assertThat(ids(index.suggest("gal", 10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(index.suggest("Galaxy W", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("sam", 10))).containsExactly(1L);
+        // "samsung ..." and "s24" both start with "s"; the product is listed once
+        assertThat(ids(index.suggest("s", 10))).containsExactly(1L);
+        assertThat(index.suggest("gal", 10).get(0).getName()).isEqualTo("Galaxy Watch");
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_ignoresCaseAccentsAndPunctuation() {
+        ProductNameIndex index = ProductNameIndex.build(List.of(row(1, "Crème Brûlée Torch", 1)));
+
+        assertThat(ids(index.suggest("CREME-br", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("brulee t", 10))).containsExactly(1L);
+        assertThat(ProductNameIndex.normalize("  Café,  Crème-Brûlée! ")).isEqualTo("cafe creme brulee");
+    }
+
+    @Test
+    void suggest_keepsOnlyTheBestRankedAndHonoursLimit() {
+        List<CatalogRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            rows.add(row(id, "Cable " + id, id));
+        }
+        ProductNameIndex index = ProductNameIndex.build(rows);
+
+        assertThat(ids(index.suggest("cab", 10))).containsExactly(25L, 24L, 23L, 22L, 21L, 20L, 19L, 18L, 17L, 16L);
+        assertThat(ids(index.suggest("cable", 3))).containsExactly(25L, 24L, 23L);
+    }
+
+    @Test
+    void apply_reRanksAndRefillsAfterUpdatesAndRemovals() {
+        List<CatalogRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            rows.add(row(id, "Cable " + id, id));
+        }
+        ProductNameIndex index = ProductNameIndex.build(rows);
+
+        index.apply(List.of(row(25, "Cable 25", 0, 1)), List.of());
+        assertThat(ids(index.suggest("cab", 10))).containsExactly(24L, 23L, 22L, 21L, 20L, 19L, 18L, 17L, 16L, 15L);
+
+        index.apply(List.of(row(3, "Cable 3", 500, 1)), List.of(24L));
+        assertThat(ids(index.suggest("cab", 3))).containsExactly(3L, 23L, 22L);
+        assertThat(index.size()).isEqualTo(24);
+    }
+
+    @Test
+    void apply_movesRenamedProductsAndIgnoresStaleUpserts() {
+        ProductNameIndex index = ProductNameIndex.build(List.of(
+                row(1, "Galaxy Buds", 10, 2),
+                row(2, "Galaxy Watch", 5, 0)));
+
+        index.apply(List.of(row(1, "Pixel Buds", 10, 3)), List.of());
+        assertThat(ids(index.suggest("gal", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("pix", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("buds", 10))).containsExactly(1L);
+
+        index.apply(List.of(row(1, "Galaxy Buds", 10, 2)), List.of());
+        assertThat(ids(index.suggest("gal", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void apply_prunesAndRecompressesSharedPrefixes() {
+        ProductNameIndex index = ProductNameIndex.build(List.of(
+                row(1, "test", 1),
+                row(2, "tester", 2),
+                row(3, "testing", 3)));
+
+        index.apply(List.of(), List.of(2L));
+        assertThat(ids(index.suggest("test", 10))).containsExactly(3L, 1L);
+        assertThat(index.suggest("teste", 10)).isEmpty();
+
+        index.apply(List.of(), List.of(1L));
+        assertThat(ids(index.suggest("te", 10))).containsExactly(3L);
+        assertThat(ids(index.suggest("testin", 10))).containsExactly(3L);
+
+        index.apply(List.of(row(4, "tester", 4)), List.of());
+        assertThat(ids(index.suggest("test", 10))).containsExactly(4L, 3L);
+    }
+
+    // Timing depends on the machine, so it only runs with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void suggest_p99StaysWellUnderAMillisecondOnALargeCatalog() {
+        String[] words = {"wireless", "phone", "case", "cable", "charger", "laptop", "stand", "lamp", "desk",
+                "chair", "book", "guide", "headphones", "speaker", "watch", "band", "camera", "lens", "bag", "pro"};
+        Random random = new Random(42);
+        List<CatalogRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 200_000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + Long.toString(id, 36);
+            rows.add(row(id, name, random.nextInt(1000)));
+        }
+        ProductNameIndex index = ProductNameIndex.build(rows);
+
+        String[] prefixes = new String[10_000];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+        for (String prefix : prefixes) {
+            index.suggest(prefix, 10);
+        }
+
+        long[] nanos = new long[prefixes.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            long start = System.nanoTime();
+            assertThat(index.suggest(prefixes[i], 10)).isNotEmpty();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long p99 = nanos[(int) (nanos.length * 0.99)];
+
+        log.debug("Name suggestions over {} products: p50 {} ns, p99 {} ns",
+                rows.size(), nanos[nanos.length / 2], p99);
+        assertThat(p99).isLessThan(1_000_000L);
+    }
+}
@@ -0,0 +1,79 @@
+package com.alper.product_review_backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingHeapTest {
+
+    private static List<Long> ids(List<TrendingIndex.Entry> entries) {
+        return entries.stream().map(TrendingIndex.Entry::getProductId).toList();
+    }
+
+    @Test
+    void top_ordersByActivityThenId() {
+        TrendingHeap heap = TrendingHeap.build(3, Map.of(1L, 5.0, 2L, 7.0, 3L, 5.0, 4L, 1.0));
+
+        assertThat(ids(heap.top(10))).containsExactly(2L, 1L, 3L);
+        assertThat(ids(heap.top(1))).containsExactly(2L);
+        assertThat(heap.size()).isEqualTo(4);
+    }
+
+    @Test
+    void update_promotesProductsFromOutsideTheHeap() {
+        TrendingHeap heap = TrendingHeap.build(2, Map.of(1L, 5.0, 2L, 4.0, 3L, 3.0));
+
+        heap.update(3L, 6.0);
+        assertThat(ids(heap.top(2))).containsExactly(3L, 1L);
+
+        // A stale value applied after a newer commit is ignored
+        heap.update(3L, 2.0);
+        assertThat(ids(heap.top(2))).containsExactly(3L, 1L);
+
+        heap.update(2L, 5.5);
+        assertThat(ids(heap.top(2))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void remove_refillsTheHeapFromEveryProduct() {
+        TrendingHeap heap = TrendingHeap.build(2, Map.of(1L, 5.0, 2L, 4.0, 3L, 3.0));
+
+        heap.remove(1L);
+        assertThat(ids(heap.top(2))).containsExactly(2L, 3L);
+
+        heap.remove(3L);
+        heap.remove(42L);
+        assertThat(ids(heap.top(2))).containsExactly(2L);
+        assertThat(heap.size()).isEqualTo(1);
+    }
+
+    @Test
+    void randomUpdates_matchAFullSort() {
+        Random random = new Random(7);
+        TrendingHeap heap = new TrendingHeap(10);
+        Map<Long, Double> activity = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(20) == 0) {
+                heap.remove(id);
+                activity.remove(id);
+                continue;
+            }
+            double value = activity.getOrDefault(id, 0.0) + random.nextDouble();
+            heap.update(id, value);
+            activity.put(id, value);
+        }
+
+        List<Long> expected = activity.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(ids(heap.top(10))).isEqualTo(expected);
+    }
+}
@@ -1,8 +1,13 @@
 package com.alper.product_review_backend.controller;
 
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
 import com.alper.product_review_backend.domain.Role;
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
 import com.alper.product_review_backend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,9 +19,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -40,6 +51,12 @@ class AdminControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
     private String adminToken;
     private String userToken;
     private String uniqueId;
@@ -149,12 +166,108 @@ class AdminControllerIntegrationTest {
         mockMvc.perform(get("/api/admin/users")
                         .header("Authorization", "Bearer " + adminToken))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(2))))
-                .andExpect(jsonPath("$[0].id", notNullValue()))
-                .andExpect(jsonPath("$[0].email", notNullValue()))
-                .andExpect(jsonPath("$[0].role", notNullValue()))
+                .andExpect(jsonPath("$.items", hasSize(greaterThanOrEqualTo(2))))
+                .andExpect(jsonPath("$.items[0].id", notNullValue()))
+                .andExpect(jsonPath("$.items[0].email", notNullValue()))
+                .andExpect(jsonPath("$.items[0].role", notNullValue()))
                 // Password should NOT be included in response
-                .andExpect(jsonPath("$[0].password").doesNotExist());
+                .andExpect(jsonPath("$.items[0].password").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users - Keyset pages cover every matching user exactly once")
+    void getUsers_pagesWithCursor() throws Exception {
+        Instant startedAt = Instant.now().minusSeconds(1);
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(new User("page" + i + "_" + uniqueId, "page" + i + "_" + uniqueId + "@example.com", "x", Role.USER));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/admin/users")
+                    .param("usernamePrefix", "page")
+                    .param("createdFrom", startedAt.toString())
+                    .param("size", "2")
+                    .header("Authorization", "Bearer " + adminToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            seen.addAll(JsonPath.read(body, "$.items[*].username"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactly(
+                "page0_" + uniqueId, "page1_" + uniqueId, "page2_" + uniqueId, "page3_" + uniqueId, "page4_" + uniqueId);
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users - Filters by role, enabled and username prefix")
+    void getUsers_filters() throws Exception {
+        User disabled = new User("off_" + uniqueId, "off_" + uniqueId + "@example.com", "x", Role.USER);
+        disabled.setEnabled(false);
+        userRepository.save(disabled);
+        userRepository.save(new User("offX" + uniqueId, "offx_" + uniqueId + "@example.com", "x", Role.ADMIN));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("role", "ADMIN")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].role", everyItem(is("ADMIN"))))
+                .andExpect(jsonPath("$.items[*].username", hasItem("admin_" + uniqueId)));
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("enabled", "false")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].username", hasItem("off_" + uniqueId)))
+                .andExpect(jsonPath("$.items[*].username", not(hasItem("user_" + uniqueId))));
+
+        // '_' in the prefix is literal, not a LIKE wildcard
+        mockMvc.perform(get("/api/admin/users")
+                        .param("usernamePrefix", "off_" + uniqueId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].username", contains("off_" + uniqueId)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/users - Invalid createdAt range or cursor returns 400")
+    void getUsers_invalidParams_returns400() throws Exception {
+        mockMvc.perform(get("/api/admin/users")
+                        .param("createdFrom", "2024-02-01T00:00:00Z")
+                        .param("createdTo", "2024-01-01T00:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/users - Streams filtered users without passwords")
+    void exportUsers_csv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/export/users")
+                        .param("format", "csv")
+                        .param("role", "ADMIN")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).startsWith("id,username,email,role,enabled,createdAt\r\n");
+        assertThat(body).contains(",admin_" + uniqueId + ",admin_" + uniqueId + "@example.com,ADMIN,true,");
+        assertThat(body).doesNotContain("user_" + uniqueId);
+        assertThat(body).doesNotContain("$2");
     }
 
     @Test
@@ -273,4 +386,355 @@ class AdminControllerIntegrationTest {
                         .header("Authorization", adminToken))
                 .andExpect(status().isUnauthorized());
     }
+
+    // ==================== BULK REVIEW INGEST TESTS ====================
+
+    @Test
+    @DisplayName("POST /api/admin/reviews/bulk - Valid lines are inserted, bad lines reported")
+    void ingestReviews_insertsValidLinesAndReportsErrors() throws Exception {
+        Product product = productRepository.save(new Product("Bulk", "Desc", "Cat", new BigDecimal("5.00")));
+        User alice = userRepository.save(new User("alice_" + uniqueId, "alice_" + uniqueId + "@example.com", "x", Role.USER));
+        User bob = userRepository.save(new User("bob_" + uniqueId, "bob_" + uniqueId + "@example.com", "x", Role.USER));
+
+        String ndjson = String.join("\n",
+                "{\"productId\":" + product.getId() + ",\"userId\":" + alice.getId() + ",\"rating\":5,\"comment\":\"Great\",\"createdAt\":\"2024-03-01T10:00:00Z\"}",
+                "{\"productId\":" + product.getId() + ",\"userId\":" + bob.getId() + ",\"rating\":2}",
+                "{\"productId\":" + product.getId() + ",\"userId\":" + bob.getId() + ",\"rating\":4}",
+                "{\"productId\":999999,\"userId\":" + alice.getId() + ",\"rating\":3}",
+                "{\"productId\":" + product.getId() + ",\"userId\":" + alice.getId() + ",\"rating\":9}",
+                "not json",
+                "");
+
+        mockMvc.perform(post("/api/admin/reviews/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(6)))
+                .andExpect(jsonPath("$.inserted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(4)))
+                .andExpect(jsonPath("$.errors[*].line", containsInAnyOrder(3, 4, 5, 6)));
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getReviewCount()).isEqualTo(2);
+        assertThat(after.getRatingSum()).isEqualTo(7);
+        assertThat(after.getAverageRating()).isEqualTo(3.5);
+        assertThat(after.getRating5Count()).isEqualTo(1);
+        assertThat(after.getRating2Count()).isEqualTo(1);
+
+        User bobAfter = userRepository.findById(bob.getId()).orElseThrow();
+        assertThat(bobAfter.getReviewCount()).isEqualTo(1);
+        assertThat(bobAfter.getRatingSum()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/reviews/bulk - Multi-chunk ingest keeps aggregates consistent")
+    void ingestReviews_acrossChunks_matchesRecount() throws Exception {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(productRepository.save(new Product("P" + i, "Desc", "Cat", new BigDecimal("1.00"))));
+        }
+        List<User> reviewers = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            reviewers.add(userRepository.save(new User("r" + i + "_" + uniqueId, "r" + i + "_" + uniqueId + "@example.com", "x", Role.USER)));
+        }
+
+        long reviewsBefore = reviewRepository.count();
+        StringBuilder ndjson = new StringBuilder();
+        long expectedSum = 0;
+        for (User reviewer : reviewers) {
+            for (Product product : products) {
+                int rating = 1 + (int) ((reviewer.getId() + product.getId()) % 5);
+                expectedSum += rating;
+                ndjson.append("{\"productId\":").append(product.getId())
+                        .append(",\"userId\":").append(reviewer.getId())
+                        .append(",\"rating\":").append(rating).append("}\n");
+            }
+        }
+
+        mockMvc.perform(post("/api/admin/reviews/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted", is(3000)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+
+        assertThat(reviewRepository.count() - reviewsBefore).isEqualTo(3000);
+        long countSum = 0;
+        long ratingSum = 0;
+        for (Product product : products) {
+            Product after = productRepository.findById(product.getId()).orElseThrow();
+            assertThat(after.getReviewCount()).isEqualTo(150);
+            countSum += after.getReviewCount();
+            ratingSum += after.getRatingSum();
+        }
+        assertThat(countSum).isEqualTo(3000);
+        assertThat(ratingSum).isEqualTo(expectedSum);
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/aggregates/reconcile - Admin can repair drifted review aggregates")
+    void reconcileAggregates_asAdmin_repairsDrift() throws Exception {
+        Product product = productRepository.save(new Product("Drifted", "Desc", "Cat", new BigDecimal("5.00")));
+        product.setReviewCount(4);
+        product.setRatingSum(12);
+        product.setAverageRating(3.0);
+        productRepository.save(product);
+
+        mockMvc.perform(post("/api/admin/aggregates/reconcile")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.repairedProducts", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.reviewCountDrift", greaterThanOrEqualTo(4)));
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getReviewCount()).isZero();
+        assertThat(after.getAverageRating()).isZero();
+
+        mockMvc.perform(post("/api/admin/aggregates/reconcile")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/reviews/bulk - Should return 403 for regular user")
+    void ingestReviews_asUser_returns403() throws Exception {
+        mockMvc.perform(post("/api/admin/reviews/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"productId\":1,\"userId\":1,\"rating\":5}"))
+                .andExpect(status().isForbidden());
+    }
+
+    // ==================== EXPORT TESTS ====================
+
+    @Test
+    @DisplayName("GET /api/admin/export/reviews - Streams NDJSON filtered by product")
+    void exportReviews_ndjsonForProduct() throws Exception {
+        Product first = productRepository.save(new Product("First", "Desc", "Cat", new BigDecimal("5.00")));
+        Product second = productRepository.save(new Product("Second", "Desc", "Cat", new BigDecimal("5.00")));
+        User alice = userRepository.save(new User("alice_" + uniqueId, "alice_" + uniqueId + "@example.com", "x", Role.USER));
+        User bob = userRepository.save(new User("bob_" + uniqueId, "bob_" + uniqueId + "@example.com", "x", Role.USER));
+        reviewRepository.save(new Review(first, alice, 5, "Great"));
+        reviewRepository.save(new Review(first, bob, 3, null));
+        reviewRepository.save(new Review(second, alice, 1, "Bad"));
+
+        MvcResult result = mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("productId", String.valueOf(first.getId()))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+                .andExpect(header().string("Content-Disposition", containsString("reviews.ndjson")))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"productId\":" + first.getId(), "\"username\":\"alice_" + uniqueId + "\"",
+                "\"rating\":5", "\"comment\":\"Great\"");
+        assertThat(lines[1]).contains("\"rating\":3", "\"comment\":null");
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/reviews - CSV escapes commas and quotes")
+    void exportReviews_csvEscapesFields() throws Exception {
+        Product product = productRepository.save(new Product("Csv", "Desc", "Cat", new BigDecimal("5.00")));
+        User alice = userRepository.save(new User("alice_" + uniqueId, "alice_" + uniqueId + "@example.com", "x", Role.USER));
+        reviewRepository.save(new Review(product, alice, 4, "Good, but \"loud\""));
+
+        MvcResult result = mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("format", "csv")
+                        .param("productId", String.valueOf(product.getId()))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,productId,userId,username,rating,comment,createdAt,updatedAt");
+        assertThat(lines[1]).contains(",4,\"Good, but \"\"loud\"\"\",");
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/reviews - Date range excludes reviews outside it")
+    void exportReviews_dateRange() throws Exception {
+        Product product = productRepository.save(new Product("Range", "Desc", "Cat", new BigDecimal("5.00")));
+        User alice = userRepository.save(new User("alice_" + uniqueId, "alice_" + uniqueId + "@example.com", "x", Role.USER));
+        Review old = new Review(product, alice, 2, "Old");
+        old.setCreatedAt(Instant.parse("2020-01-01T00:00:00Z"));
+        reviewRepository.save(old);
+
+        mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("productId", String.valueOf(product.getId()))
+                        .param("from", "2021-01-01T00:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("productId", String.valueOf(product.getId()))
+                        .param("from", "2019-12-31T00:00:00Z")
+                        .param("to", "2020-01-02T00:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"comment\":\"Old\"")));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/reviews - Invalid format or range returns 400")
+    void exportReviews_invalidParams_returns400() throws Exception {
+        mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("format", "xml")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/admin/export/reviews")
+                        .param("from", "2024-02-01T00:00:00Z")
+                        .param("to", "2024-01-01T00:00:00Z")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/products - Streams products as CSV")
+    void exportProducts_csv() throws Exception {
+        Product product = productRepository.save(new Product("Exported " + uniqueId, "Desc", "Cat", new BigDecimal("12.50")));
+
+        MvcResult result = mockMvc.perform(get("/api/admin/export/products")
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).startsWith("id,name,description,category,price,averageRating,reviewCount,updatedAt\r\n");
+        assertThat(body).contains(product.getId() + ",Exported " + uniqueId + ",Desc,Cat,12.50,0.0,0,");
+        assertThat(body.split("\r\n")).hasSize((int) productRepository.count() + 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/export/products - Should return 403 for regular user")
+    void exportProducts_asUser_returns403() throws Exception {
+        mockMvc.perform(get("/api/admin/export/products")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    // ==================== PRODUCT IMPORT TESTS ====================
+
+    @Test
+    @DisplayName("POST /api/admin/products/import - NDJSON import runs async and reports row errors")
+    void importProducts_ndjson() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"name\":\"Imported A " + uniqueId + "\",\"category\":\"Books\",\"price\":10.5}",
+                "{\"name\":\"Imported B " + uniqueId + "\",\"description\":\"Desc\",\"category\":\"Books\",\"price\":3}",
+                "{\"name\":\"\",\"category\":\"Books\",\"price\":3}",
+                "{\"name\":\"Free\",\"category\":\"Books\",\"price\":0}",
+                "{broken",
+                "{\"name\":\"Imported C " + uniqueId + "\",\"category\":\"Toys\",\"price\":7.25}");
+        long productsBefore = productRepository.count();
+
+        MvcResult submitted = mockMvc.perform(post("/api/admin/products/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/admin/products/import/")))
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+        String jobId = JsonPath.read(submitted.getResponse().getContentAsString(), "$.id");
+
+        awaitImport(jobId)
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.result.received", is(6)))
+                .andExpect(jsonPath("$.result.inserted", is(3)))
+                .andExpect(jsonPath("$.result.rejected", is(3)))
+                .andExpect(jsonPath("$.result.errors[*].line", contains(3, 4, 5)))
+                .andExpect(jsonPath("$.result.errors[2].message", is("Malformed JSON")));
+
+        assertThat(productRepository.count() - productsBefore).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/products/import - CSV import with quoted fields")
+    void importProducts_csv() throws Exception {
+        String csv = "name,description,category,price\r\n"
+                + "\"Lamp, desk " + uniqueId + "\",\"Bright\nand warm\",Home,19.99\r\n"
+                + "Rug " + uniqueId + ",,Home,abc\r\n"
+                + "Mug " + uniqueId + ",,Kitchen,4.50\r\n";
+        long productsBefore = productRepository.count();
+
+        MvcResult submitted = mockMvc.perform(post("/api/admin/products/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String jobId = JsonPath.read(submitted.getResponse().getContentAsString(), "$.id");
+
+        awaitImport(jobId)
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.result.inserted", is(2)))
+                .andExpect(jsonPath("$.result.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.result.errors[0].message", is("price: not a number")));
+
+        assertThat(productRepository.count() - productsBefore).isEqualTo(2);
+        assertThat(productRepository.findAll())
+                .anySatisfy(product -> {
+                    assertThat(product.getName()).isEqualTo("Lamp, desk " + uniqueId);
+                    assertThat(product.getDescription()).isEqualTo("Bright\nand warm");
+                    assertThat(product.getPrice()).isEqualByComparingTo("19.99");
+                });
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/products/import - CSV without required columns fails the job")
+    void importProducts_csvMissingColumns_fails() throws Exception {
+        MvcResult submitted = mockMvc.perform(post("/api/admin/products/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("name,category\nLamp,Home\n"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String jobId = JsonPath.read(submitted.getResponse().getContentAsString(), "$.id");
+
+        awaitImport(jobId)
+                .andExpect(jsonPath("$.status", is("FAILED")))
+                .andExpect(jsonPath("$.message", containsString("price")));
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/products/import/{jobId} - Unknown job returns 404")
+    void getImportJob_unknown_returns404() throws Exception {
+        mockMvc.perform(get("/api/admin/products/import/does-not-exist")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/products/import - Should return 403 for regular user")
+    void importProducts_asUser_returns403() throws Exception {
+        mockMvc.perform(post("/api/admin/products/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"X\",\"category\":\"Y\",\"price\":1}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private ResultActions awaitImport(String jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            MvcResult result = mockMvc.perform(get("/api/admin/products/import/" + jobId)
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String status = JsonPath.read(result.getResponse().getContentAsString(), "$.status");
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        return mockMvc.perform(get("/api/admin/products/import/" + jobId)
+                .header("Authorization", "Bearer " + adminToken));
+    }
 }
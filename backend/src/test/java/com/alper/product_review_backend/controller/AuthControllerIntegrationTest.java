@@ -315,6 +315,60 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.role", is("ADMIN")));
     }
 
+    // ==================== RATE LIMIT TESTS ====================
+
+    @Test
+    @DisplayName("POST /api/auth/login - Should return 429 with Retry-After once the burst is used up")
+    void login_rateLimited_returns429() throws Exception {
+        String requestBody = """
+                {
+                  "username": "nonexistent",
+                  "password": "password123"
+                }
+                """;
+
+        // Default burst is 10 attempts per client IP
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestBody))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status", is(429)));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Other clients are not affected by one client's limit")
+    void login_rateLimit_isPerClient() throws Exception {
+        String requestBody = """
+                {
+                  "username": "nonexistent",
+                  "password": "password123"
+                }
+                """;
+
+        for (int i = 0; i < 11; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(requestBody));
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isUnauthorized());
+    }
+
     // Helper method to extract token from JSON response
     private String extractTokenFromResponse(String response) {
         // Simple extraction - in real tests you might use Jackson
@@ -1,9 +1,13 @@
 package com.alper.product_review_backend.controller;
 
 import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
 import com.alper.product_review_backend.repository.ProductRepository;
 import com.alper.product_review_backend.repository.ReviewRepository;
 import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.service.ReviewService;
+import com.jayway.jsonpath.JsonPath;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +18,12 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -40,6 +47,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @BeforeEach
     void setUp() {
         reviewRepository.deleteAll();
@@ -62,13 +72,13 @@ class ProductControllerIntegrationTest {
                         .param("size", "10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content", hasSize(5)))
-                .andExpect(jsonPath("$.totalElements", is(5)))
-                .andExpect(jsonPath("$.totalPages", is(1)))
-                .andExpect(jsonPath("$.content[0].id", notNullValue()))
-                .andExpect(jsonPath("$.content[0].name", notNullValue()))
-                .andExpect(jsonPath("$.content[0].category", notNullValue()))
-                .andExpect(jsonPath("$.content[0].price", notNullValue()));
+                .andExpect(jsonPath("$.items", hasSize(5)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()))
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.items[0].id", notNullValue()))
+                .andExpect(jsonPath("$.items[0].name", notNullValue()))
+                .andExpect(jsonPath("$.items[0].category", notNullValue()))
+                .andExpect(jsonPath("$.items[0].price", notNullValue()));
     }
 
     @Test
@@ -77,13 +87,42 @@ class ProductControllerIntegrationTest {
         mockMvc.perform(get("/api/products")
                         .param("page", "0")
                         .param("size", "2")
+                        .param("includeTotal", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content", hasSize(2)))
-                .andExpect(jsonPath("$.totalElements", is(5)))
-                .andExpect(jsonPath("$.totalPages", is(3)))
-                .andExpect(jsonPath("$.first", is(true)))
-                .andExpect(jsonPath("$.last", is(false)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.total", is(5)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should follow nextCursor to the last page")
+    void getProducts_followsCursorToLastPage() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/products")
+                        .param("size", "3")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andReturn();
+
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/products")
+                        .param("cursor", cursor)
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[1].price", is(2499.99)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should reject a malformed cursor")
+    void getProducts_rejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -93,9 +132,9 @@ class ProductControllerIntegrationTest {
                         .param("sort", "price,asc")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].price", is(39.99)))
-                .andExpect(jsonPath("$.content[1].price", is(49.99)))
-                .andExpect(jsonPath("$.content[4].price", is(2499.99)));
+                .andExpect(jsonPath("$.items[0].price", is(39.99)))
+                .andExpect(jsonPath("$.items[1].price", is(49.99)))
+                .andExpect(jsonPath("$.items[4].price", is(2499.99)));
     }
 
     @Test
@@ -105,8 +144,8 @@ class ProductControllerIntegrationTest {
                         .param("sort", "price,desc")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].price", is(2499.99)))
-                .andExpect(jsonPath("$.content[4].price", is(39.99)));
+                .andExpect(jsonPath("$.items[0].price", is(2499.99)))
+                .andExpect(jsonPath("$.items[4].price", is(39.99)));
     }
 
     @Test
@@ -116,7 +155,58 @@ class ProductControllerIntegrationTest {
                         .param("sort", "name,asc")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].name", is("Java Programming")));
+                .andExpect(jsonPath("$.items[0].name", is("Java Programming")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should filter by category and price range")
+    void getProducts_filtersByCategoryAndPrice() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("category", "Books")
+                        .param("sort", "price,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name", is("Spring Boot Guide")))
+                .andExpect(jsonPath("$.items[1].name", is("Java Programming")));
+
+        mockMvc.perform(get("/api/products")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "999.99")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name", is("iPhone 15")))
+                .andExpect(jsonPath("$.items[1].name", is("Samsung Galaxy")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should count only matching products when a filter is set")
+    void getProducts_totalCountsFilteredProducts() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("category", "Electronics")
+                        .param("size", "2")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andExpect(jsonPath("$.total", is(3)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should reject an unsupported sort property")
+    void getProducts_rejectsUnsupportedSort() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("sort", "description,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should reject minPrice greater than maxPrice")
+    void getProducts_rejectsInvertedPriceRange() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -154,9 +244,8 @@ class ProductControllerIntegrationTest {
                         .param("size", "3")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content", hasSize(2)))
-                .andExpect(jsonPath("$.first", is(false)))
-                .andExpect(jsonPath("$.last", is(true)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
     }
 
     @Test
@@ -167,8 +256,231 @@ class ProductControllerIntegrationTest {
                         .param("size", "10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content", hasSize(0)))
-                .andExpect(jsonPath("$.empty", is(true)));
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should answer 304 when the ETag is still current")
+    void getProductById_returns304ForMatchingEtag() throws Exception {
+        Product product = productRepository.findAll().get(0);
+
+        String etag = mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should return a new ETag after the product changes")
+    void getProductById_etagChangesWhenProductIsUpdated() throws Exception {
+        Product product = productRepository.findAll().get(0);
+
+        String etag = mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        product.setPrice(new BigDecimal("1.00"));
+        productRepository.save(product);
+
+        mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.price", is(1.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should answer 304 until the catalog changes")
+    void getProducts_returns304UntilCatalogChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        productRepository.save(new Product("Kotlin in Action", "Learn Kotlin", "Books", new BigDecimal("44.99")));
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(6)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/suggest - Should complete any word of the name")
+    void suggest_completesWordPrefixes() throws Exception {
+        mockMvc.perform(get("/api/products/suggest").param("q", "PRO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("Java Programming")))
+                .andExpect(jsonPath("$[1].name", is("MacBook Pro")))
+                .andExpect(jsonPath("$[1].category", is("Electronics")))
+                .andExpect(jsonPath("$[1].reviewCount", is(0)));
+
+        mockMvc.perform(get("/api/products/suggest").param("q", "s").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Samsung Galaxy")));
+
+        mockMvc.perform(get("/api/products/suggest").param("q", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/suggest - Should include products as soon as they are created")
+    void suggest_includesNewProducts() throws Exception {
+        productRepository.save(new Product("Galaxy Tab", "Android tablet", "Electronics", new BigDecimal("499.99")));
+
+        mockMvc.perform(get("/api/products/suggest").param("q", "gal"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Galaxy Tab", "Samsung Galaxy")));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/suggest - Should reject a limit outside 1-10")
+    void suggest_rejectsInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/products/suggest").param("q", "a").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/suggest").param("q", "a").param("limit", "11"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Should count products per category, price range and rating")
+    void facets_countCatalog() throws Exception {
+        mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(5)))
+                .andExpect(jsonPath("$.categories[0].category", is("Electronics")))
+                .andExpect(jsonPath("$.categories[0].count", is(3)))
+                .andExpect(jsonPath("$.categories[1].category", is("Books")))
+                .andExpect(jsonPath("$.categories[1].count", is(2)))
+                .andExpect(jsonPath("$.priceRanges", hasSize(7)))
+                .andExpect(jsonPath("$.priceRanges[1].minPrice", is(25.0)))
+                .andExpect(jsonPath("$.priceRanges[1].maxPrice", is(50.0)))
+                .andExpect(jsonPath("$.priceRanges[1].count", is(2)))
+                .andExpect(jsonPath("$.priceRanges[5].count", is(2)))
+                .andExpect(jsonPath("$.priceRanges[6].maxPrice", nullValue()))
+                .andExpect(jsonPath("$.priceRanges[6].count", is(1)))
+                .andExpect(jsonPath("$.ratings[0].minRating", is(4)))
+                .andExpect(jsonPath("$.ratings[*].count", everyItem(is(0))));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Should reflect product writes as soon as they commit")
+    void facets_followProductWrites() throws Exception {
+        Product kindle = productRepository.save(new Product("Kindle", "E-reader", "Books", new BigDecimal("89.99")));
+        productRepository.save(new Product("Desk Lamp", "Warm light", "Home", new BigDecimal("19.99")));
+
+        mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(7)))
+                .andExpect(jsonPath("$.categories[*].category", contains("Books", "Electronics", "Home")))
+                .andExpect(jsonPath("$.categories[0].count", is(3)))
+                .andExpect(jsonPath("$.priceRanges[0].count", is(1)))
+                .andExpect(jsonPath("$.priceRanges[2].count", is(1)));
+
+        productRepository.delete(kindle);
+
+        mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(6)))
+                .andExpect(jsonPath("$.categories[*].category", contains("Electronics", "Books", "Home")))
+                .andExpect(jsonPath("$.priceRanges[2].count", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/top-rated - Should rank a category's products as reviews arrive")
+    void topRated_followsReviewWrites() throws Exception {
+        mockMvc.perform(get("/api/products/top-rated").param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].rank", contains(1, 2, 3)));
+
+        Product macbook = productNamed("MacBook Pro");
+        User reviewer = userRepository.save(new User("ranker", "ranker@example.com", "password123", Role.USER));
+        reviewService.addReview(macbook.getId(), reviewer, 5, "Fast");
+
+        mockMvc.perform(get("/api/products/top-rated").param("category", "Electronics").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].rank", is(1)))
+                .andExpect(jsonPath("$[0].id", is(macbook.getId().intValue())))
+                .andExpect(jsonPath("$[0].reviewCount", is(1)))
+                .andExpect(jsonPath("$[0].price", is(2499.99)));
+
+        mockMvc.perform(get("/api/products/top-rated").param("category", "Garden"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/top-rated - Should reject a missing category or an out-of-range limit")
+    void topRated_rejectsInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/products/top-rated"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/top-rated").param("category", "Books").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id}/recommendations - Should list products reviewed by the same users")
+    void recommendations_followRebuild() throws Exception {
+        Product iphone = productNamed("iPhone 15");
+        Product macbook = productNamed("MacBook Pro");
+        Product java = productNamed("Java Programming");
+        User first = userRepository.save(new User("first", "first@example.com", "password123", Role.USER));
+        User second = userRepository.save(new User("second", "second@example.com", "password123", Role.USER));
+        User third = userRepository.save(new User("third", "third@example.com", "password123", Role.USER));
+        User admin = userRepository.save(new User("recadmin", "recadmin@example.com", "password123", Role.ADMIN));
+
+        // iPhone and MacBook share two reviewers; every other pair shares at most one
+        reviewService.addReview(iphone.getId(), first, 5, "Great");
+        reviewService.addReview(macbook.getId(), first, 4, "Fast");
+        reviewService.addReview(java.getId(), first, 4, "Clear");
+        reviewService.addReview(iphone.getId(), second, 4, "Good");
+        reviewService.addReview(macbook.getId(), second, 5, "Love it");
+        reviewService.addReview(iphone.getId(), third, 3, "Fine");
+        reviewService.addReview(productNamed("Samsung Galaxy").getId(), third, 4, "Nice");
+
+        mockMvc.perform(post("/api/admin/recommendations/rebuild").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", is(7)))
+                .andExpect(jsonPath("$.products", is(2)))
+                .andExpect(jsonPath("$.neighbors", is(2)));
+
+        mockMvc.perform(get("/api/products/{id}/recommendations", iphone.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(macbook.getId().intValue())))
+                .andExpect(jsonPath("$[0].name", is("MacBook Pro")))
+                .andExpect(jsonPath("$[0].coReviewers", is(2)))
+                // 2 / sqrt(3 reviewers * 2 reviewers)
+                .andExpect(jsonPath("$[0].score", closeTo(0.8165, 0.001)));
+
+        mockMvc.perform(get("/api/products/{id}/recommendations", java.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id}/recommendations - Should reject an unknown product or an out-of-range limit")
+    void recommendations_rejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/products/{id}/recommendations", 999_999))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/products/{id}/recommendations", productNamed("iPhone 15").getId())
+                        .param("limit", "21"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/admin/recommendations/rebuild"))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -178,4 +490,10 @@ class ProductControllerIntegrationTest {
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk());
     }
+
+    private Product productNamed(String name) {
+        return productRepository.findAll().stream()
+                .filter(product -> product.getName().equals(name))
+                .findFirst().orElseThrow();
+    }
 }
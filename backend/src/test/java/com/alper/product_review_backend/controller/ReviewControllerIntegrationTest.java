@@ -6,7 +6,16 @@ import com.alper.product_review_backend.domain.User;
 import com.alper.product_review_backend.repository.ProductRepository;
 import com.alper.product_review_backend.repository.ReviewRepository;
 import com.alper.product_review_backend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,10 +24,14 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 
@@ -202,9 +215,10 @@ class ReviewControllerIntegrationTest {
                         .content("{\"rating\": 5, \"comment\": \"Excellent!\"}"))
                 .andExpect(status().isOk());
 
-        // Post second review (3 stars)
+        // Post second review (3 stars) from another user; one review per user and product
+        User secondUser = userRepository.save(new User("seconduser", "second@example.com", "password123", Role.USER));
         mockMvc.perform(post("/api/products/{id}/reviews", productId)
-                        .with(user(testUser))
+                        .with(user(secondUser))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"rating\": 3, \"comment\": \"Average\"}"))
                 .andExpect(status().isOk());
@@ -232,4 +246,277 @@ class ReviewControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username", is("testuser")));
     }
+
+    @Test
+    void getReviews_etagChangesAfterNewReview() throws Exception {
+        String etag = mockMvc.perform(get("/api/products/{id}/reviews", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products/{id}/reviews", productId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4, \"comment\": \"Fresh review\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/{id}/reviews", productId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void streamReviews_receivesEventAfterReviewIsCommitted() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/products/{id}/reviews/stream", productId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4, \"comment\": \"Streamed review\"}"))
+                .andExpect(status().isOk());
+
+        // Delivery happens on the stream dispatcher threads
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains("review.created"); i++) {
+            Thread.sleep(100);
+            body = stream.getResponse().getContentAsString();
+        }
+
+        assertThat(body)
+                .contains("event:review.created")
+                .contains("\"comment\":\"Streamed review\"")
+                .contains("\"reviewCount\":1");
+    }
+
+    @Test
+    void streamReviews_forNonExistentProduct_returns404() throws Exception {
+        mockMvc.perform(get("/api/products/{id}/reviews/stream", 99999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void postReview_withSameIdempotencyKey_returnsOriginalReviewWithoutDoubleCounting() throws Exception {
+        String jsonBody = "{\"rating\": 5, \"comment\": \"Retried review\"}";
+
+        String first = mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String replay = mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(reviewRepository.count()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(1)));
+    }
+
+    @Test
+    void postReview_concurrentDuplicatesWithSameKey_createOneReview() throws Exception {
+        int requests = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        try {
+            List<Callable<String>> calls = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                calls.add(() -> mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                                .with(user(testUser))
+                                .header("Idempotency-Key", "burst-1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"rating\": 4, \"comment\": \"Burst\"}"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+            }
+
+            Set<String> bodies = new HashSet<>();
+            for (Future<String> result : pool.invokeAll(calls)) {
+                bodies.add(result.get());
+            }
+
+            assertThat(bodies).hasSize(1);
+            assertThat(reviewRepository.count()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void postReview_idempotencyKeyReusedForAnotherProduct_returns400() throws Exception {
+        Product other = productRepository.save(new Product("Other", "Description", "TestCategory", new BigDecimal("10.00")));
+
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"First\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/products/{id}/reviews", other.getId())
+                        .with(user(testUser))
+                        .header("Idempotency-Key", "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Second\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void postReview_secondReviewBySameUser_returns409() throws Exception {
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"First\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1, \"comment\": \"Again\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status", is(409)));
+
+        assertThat(reviewRepository.count()).isEqualTo(1);
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(5.0)));
+    }
+
+    @Test
+    void putReview_createsThenReplacesTheUsersReview() throws Exception {
+        User otherUser = userRepository.save(new User("otheruser", "other@example.com", "password123", Role.USER));
+        mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(otherUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 2, \"comment\": \"Other\"}"))
+                .andExpect(status().isOk());
+
+        // First PUT creates: (2 + 4) / 2 = 3.0
+        mockMvc.perform(put("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4, \"comment\": \"Draft\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating", is(4)));
+
+        // Second PUT replaces: (2 + 5) / 2 = 3.5, count unchanged
+        mockMvc.perform(put("/api/products/{id}/reviews", productId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Final\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating", is(5)))
+                .andExpect(jsonPath("$.comment", is("Final")));
+
+        assertThat(reviewRepository.count()).isEqualTo(2);
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(jsonPath("$.reviewCount", is(2)))
+                .andExpect(jsonPath("$.averageRating", is(3.5)));
+    }
+
+    @Test
+    void putReview_withoutAuthentication_returnsUnauthorized() throws Exception {
+        mockMvc.perform(put("/api/products/{id}/reviews", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Anonymous\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void putReviewById_editsOwnReviewAndAdjustsAggregates() throws Exception {
+        Integer reviewId = postReviewAs(testUser, 5);
+
+        mockMvc.perform(put("/api/products/{id}/reviews/{reviewId}", productId, reviewId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 2, \"comment\": \"Changed my mind\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(reviewId)))
+                .andExpect(jsonPath("$.rating", is(2)));
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(2.0)));
+    }
+
+    @Test
+    void putReviewById_onSomeoneElsesReview_returns403() throws Exception {
+        Integer reviewId = postReviewAs(testUser, 5);
+        User intruder = userRepository.save(new User("intruder", "intruder@example.com", "password123", Role.USER));
+
+        mockMvc.perform(put("/api/products/{id}/reviews/{reviewId}", productId, reviewId)
+                        .with(user(intruder))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1, \"comment\": \"Hijacked\"}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", productId, reviewId)
+                        .with(user(intruder)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deleteReview_byOwner_removesItFromAggregates() throws Exception {
+        User otherUser = userRepository.save(new User("otheruser", "other@example.com", "password123", Role.USER));
+        postReviewAs(otherUser, 2);
+        Integer reviewId = postReviewAs(testUser, 5);
+
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", productId, reviewId)
+                        .with(user(testUser)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(2.0)));
+
+        // The user may review again after deleting
+        postReviewAs(testUser, 4);
+    }
+
+    @Test
+    void deleteReview_byAdmin_isAllowed() throws Exception {
+        Integer reviewId = postReviewAs(testUser, 1);
+        User admin = userRepository.save(new User("moderator", "moderator@example.com", "password123", Role.ADMIN));
+
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", productId, reviewId)
+                        .with(user(admin)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(jsonPath("$.reviewCount", is(0)))
+                .andExpect(jsonPath("$.averageRating", is(0.0)));
+    }
+
+    @Test
+    void deleteReview_unknownReview_returns404() throws Exception {
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", productId, 99999L)
+                        .with(user(testUser)))
+                .andExpect(status().isNotFound());
+    }
+
+    private Integer postReviewAs(User author, int rating) throws Exception {
+        String body = mockMvc.perform(post("/api/products/{id}/reviews", productId)
+                        .with(user(author))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": " + rating + ", \"comment\": \"Review\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.id");
+    }
 }
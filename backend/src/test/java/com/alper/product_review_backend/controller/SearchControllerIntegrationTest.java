@@ -0,0 +1,239 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.search.SearchService;
+import com.jayway.jsonpath.JsonPath;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the full-text search endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SearchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User testUser;
+    private Long phoneId;
+    private Long headphonesId;
+    private Long phoneReviewId;
+    private Long headphonesReviewId;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(new User("searcher", "searcher@example.com", "password123", Role.USER));
+        User otherUser = userRepository.save(new User("other", "other@example.com", "password123", Role.USER));
+
+        Product phone = productRepository.save(new Product(
+                "Pixel Phone", "Android phone with an all-day battery", "Electronics", new BigDecimal("699.00")));
+        Product headphones = productRepository.save(new Product(
+                "Battery Pack Headphones", "Wireless headphones", "Electronics", new BigDecimal("149.00")));
+        productRepository.save(new Product("Desk Lamp", "Warm LED light", "Home", new BigDecimal("39.00")));
+        phoneId = phone.getId();
+        headphonesId = headphones.getId();
+
+        phoneReviewId = reviewRepository.save(new Review(phone, otherUser, 4, "Battery lasts all day")).getId();
+        headphonesReviewId = reviewRepository.save(new Review(headphones, otherUser, 2, "Battery died within a month")).getId();
+    }
+
+    @Test
+    @DisplayName("GET /api/search/products - Should rank name matches above description matches")
+    void searchProducts_ranksMatches() throws Exception {
+        mockMvc.perform(get("/api/search/products").param("q", "batteries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(headphonesId.intValue())))
+                .andExpect(jsonPath("$.items[0].name", is("Battery Pack Headphones")))
+                .andExpect(jsonPath("$.items[0].score", greaterThan(0.0)))
+                .andExpect(jsonPath("$.items[1].id", is(phoneId.intValue())))
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/search/products - Should page through hits with the cursor")
+    void searchProducts_pagesWithCursor() throws Exception {
+        String response = mockMvc.perform(get("/api/search/products").param("q", "battery").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(response, "$.nextCursor");
+
+        mockMvc.perform(get("/api/search/products").param("q", "battery").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(phoneId.intValue())))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/search/reviews - Should find reviews as they are written and deleted")
+    void searchReviews_followsWrites() throws Exception {
+        String created = mockMvc.perform(post("/api/products/{id}/reviews", phoneId)
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"rating": 5, "comment": "Great camera, battery could be better"}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer reviewId = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "battery"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)));
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "camera battery").param("productId", phoneId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(reviewId)))
+                .andExpect(jsonPath("$.items[0].productId", is(phoneId.intValue())))
+                .andExpect(jsonPath("$.items[0].username", is("searcher")))
+                .andExpect(jsonPath("$.items[0].rating", is(5)));
+
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", phoneId, reviewId)
+                        .with(user(testUser)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "camera"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.total", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/search/reviews - Should pick up reviews written elsewhere when reconciled")
+    void searchReviews_catchesUpOnWritesFromElsewhere() throws Exception {
+        // Written straight to the database, as another node would, so this node's index is not told
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("update review set comment = ?, updated_at = ? where id = ?",
+                "Charging cable frayed", now, phoneReviewId);
+        jdbcTemplate.update("delete from review where id = ?", headphonesReviewId);
+        jdbcTemplate.update("insert into review_tombstones (review_id, product_id, deleted_at) values (?, ?, ?)",
+                headphonesReviewId, headphonesId, now);
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "cable"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+
+        searchService.reconcile();
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "cable"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(phoneReviewId.intValue())));
+        mockMvc.perform(get("/api/search/reviews").param("q", "battery"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/search/products - Should reject a blank query")
+    void search_rejectsBlankQuery() throws Exception {
+        mockMvc.perform(get("/api/search/products").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search/reviews"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/search/products/fuzzy - Should find products despite typos")
+    void fuzzySearch_toleratesTypos() throws Exception {
+        mockMvc.perform(get("/api/search/products/fuzzy").param("q", "pxl phone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/search/products/fuzzy").param("q", "pixl phone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(phoneId.intValue())))
+                .andExpect(jsonPath("$[0].name", is("Pixel Phone")));
+
+        mockMvc.perform(get("/api/search/products/fuzzy").param("q", "Batery Headphone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(headphonesId.intValue())));
+    }
+
+    @Test
+    @DisplayName("GET /api/search/products/fuzzy - Should reject an out-of-range limit")
+    void fuzzySearch_rejectsInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/search/products/fuzzy").param("q", "lamp").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search/products/fuzzy").param("q", "lamp").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/search/rebuild - Admin can rebuild the indexes")
+    void rebuild_asAdmin_reindexesEverything() throws Exception {
+        User admin = userRepository.save(new User("searchadmin", "searchadmin@example.com", "password123", Role.ADMIN));
+
+        mockMvc.perform(post("/api/admin/search/rebuild").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", is(3)))
+                .andExpect(jsonPath("$.reviews", is(2)));
+
+        mockMvc.perform(get("/api/search/reviews").param("q", "died"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId", is(headphonesId.intValue())));
+
+        mockMvc.perform(post("/api/admin/search/rebuild").with(user(testUser)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Search endpoints should be publicly accessible without authentication")
+    void search_isPubliclyAccessible() throws Exception {
+        mockMvc.perform(get("/api/search/products").param("q", "lamp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name", is("Desk Lamp")));
+    }
+}
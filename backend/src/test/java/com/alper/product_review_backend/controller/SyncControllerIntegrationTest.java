@@ -0,0 +1,183 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.PageCursor;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the delta sync endpoint.
+ */
+@SpringBootTest(properties = "sync.settle-window=0s")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SyncControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Product phone;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(new User("syncuser", "sync@example.com", "password123", Role.USER));
+
+        phone = productRepository.save(new Product("Phone", "A phone", "Phones", new BigDecimal("500.00")));
+        productRepository.save(new Product("Laptop", "A laptop", "Laptops", new BigDecimal("1500.00")));
+        productRepository.save(new Product("Tablet", "A tablet", "Tablets", new BigDecimal("700.00")));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Initial sync returns the whole catalog")
+    void initialSync_returnsEverything() throws Exception {
+        mockMvc.perform(get("/api/sync/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(3)))
+                .andExpect(jsonPath("$.reviews", hasSize(0)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.nextToken", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Only rows written after the token are returned")
+    void incrementalSync_returnsOnlyNewChanges() throws Exception {
+        String token = initialSyncToken();
+
+        mockMvc.perform(get("/api/sync/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(0)))
+                .andExpect(jsonPath("$.reviews", hasSize(0)));
+
+        mockMvc.perform(post("/api/products/{id}/reviews", phone.getId())
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Synced\"}"))
+                .andExpect(status().isOk());
+
+        // The review and the product whose aggregates it changed
+        mockMvc.perform(get("/api/sync/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].id", is(phone.getId().intValue())))
+                .andExpect(jsonPath("$.products[0].reviewCount", is(1)))
+                .andExpect(jsonPath("$.reviews", hasSize(1)))
+                .andExpect(jsonPath("$.reviews[0].productId", is(phone.getId().intValue())))
+                .andExpect(jsonPath("$.reviews[0].comment", is("Synced")))
+                .andExpect(jsonPath("$.reviews[0].username", is("syncuser")));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Deleted reviews are reported by id")
+    void incrementalSync_reportsDeletedReviews() throws Exception {
+        MvcResult posted = mockMvc.perform(post("/api/products/{id}/reviews", phone.getId())
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Short-lived\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Integer reviewId = JsonPath.read(posted.getResponse().getContentAsString(), "$.id");
+        String token = initialSyncToken();
+
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", phone.getId(), reviewId)
+                        .with(user(testUser)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/sync/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", hasSize(0)))
+                .andExpect(jsonPath("$.deletedReviewIds", contains(reviewId)))
+                .andExpect(jsonPath("$.products[0].reviewCount", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Tokens from before deleted reviews were synced are still accepted")
+    void incrementalSync_acceptsTokensWithoutTheDeletedReviewPosition() throws Exception {
+        MvcResult posted = mockMvc.perform(post("/api/products/{id}/reviews", phone.getId())
+                        .with(user(testUser))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5, \"comment\": \"Short-lived\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Integer reviewId = JsonPath.read(posted.getResponse().getContentAsString(), "$.id");
+        mockMvc.perform(delete("/api/products/{id}/reviews/{reviewId}", phone.getId(), reviewId)
+                        .with(user(testUser)))
+                .andExpect(status().isNoContent());
+
+        // Only the product and review positions, as the old format held
+        String[] parts = PageCursor.decode(initialSyncToken(), 6);
+        String legacyToken = PageCursor.encode(parts[0], parts[1], parts[2], parts[3]);
+
+        mockMvc.perform(get("/api/sync/changes").param("since", legacyToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(0)))
+                .andExpect(jsonPath("$.reviews", hasSize(0)))
+                .andExpect(jsonPath("$.deletedReviewIds", contains(reviewId)));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Large change sets are paged with hasMore")
+    void sync_pagesWithLimit() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/sync/changes").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andReturn();
+
+        String token = JsonPath.read(first.getResponse().getContentAsString(), "$.nextToken");
+
+        mockMvc.perform(get("/api/sync/changes").param("since", token).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Malformed tokens are rejected")
+    void sync_rejectsMalformedToken() throws Exception {
+        mockMvc.perform(get("/api/sync/changes").param("since", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String initialSyncToken() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/sync/changes"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.nextToken");
+    }
+}
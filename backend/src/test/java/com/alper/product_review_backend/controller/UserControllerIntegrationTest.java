@@ -0,0 +1,185 @@
+package com.alper.product_review_backend.controller;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.recommend.RecommendationService;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import com.alper.product_review_backend.service.ReviewService;
+import com.jayway.jsonpath.JsonPath;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the current user's endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    private User me;
+    private Product headphones;
+    private Product speaker;
+    private Product cable;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        me = userRepository.save(new User("me", "me@example.com", "password123", Role.USER));
+        headphones = productRepository.save(new Product("Headphones", "Noise cancelling", "Electronics", new BigDecimal("199.00")));
+        speaker = productRepository.save(new Product("Speaker", "Bluetooth", "Electronics", new BigDecimal("89.00")));
+        cable = productRepository.save(new Product("Cable", "USB-C", "Electronics", new BigDecimal("9.00")));
+        productRepository.save(new Product("Novel", "Paperback", "Books", new BigDecimal("15.00")));
+
+        // Headphone reviewers split between the speaker (rated 5) and the cable (rated 3)
+        for (int i = 0; i < 4; i++) {
+            User other = userRepository.save(new User("other" + i, "other" + i + "@example.com", "password123", Role.USER));
+            reviewService.addReview(headphones.getId(), other, 4, "Good");
+            if (i < 2) {
+                reviewService.addReview(speaker.getId(), other, 5, "Loud");
+            } else {
+                reviewService.addReview(cable.getId(), other, 3, "Fine");
+            }
+        }
+        reviewService.addReview(headphones.getId(), me, 5, "Love them");
+        recommendationService.rebuild();
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/recommendations - Should recommend unseen products similar to the user's reviews")
+    void recommendations_scoreUnseenProducts() throws Exception {
+        mockMvc.perform(get("/api/users/me/recommendations").with(user(me)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(speaker.getId().intValue())))
+                .andExpect(jsonPath("$[1].id", is(cable.getId().intValue())))
+                .andExpect(jsonPath("$[0].score", greaterThan(0.0)));
+
+        User newcomer = userRepository.save(new User("newcomer", "newcomer@example.com", "password123", Role.USER));
+        mockMvc.perform(get("/api/users/me/recommendations").with(user(newcomer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/recommendations - Should drop a product once the user reviews it")
+    void recommendations_refreshAfterReview() throws Exception {
+        mockMvc.perform(get("/api/users/me/recommendations").with(user(me)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(speaker.getId().intValue())));
+
+        reviewService.addReview(speaker.getId(), me, 5, "Great too");
+
+        mockMvc.perform(get("/api/users/me/recommendations").with(user(me)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(cable.getId().intValue())));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/recommendations - Should require authentication and a valid limit")
+    void recommendations_rejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/users/me/recommendations"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/me/recommendations").with(user(me)).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/reviews - Should page through the user's reviews newest first")
+    void reviews_pageNewestFirst() throws Exception {
+        reviewService.addReview(speaker.getId(), me, 4, "Loud enough");
+        reviewService.addReview(cable.getId(), me, 2, "Frays");
+
+        String response = mockMvc.perform(get("/api/users/me/reviews").with(user(me)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].productId", is(cable.getId().intValue())))
+                .andExpect(jsonPath("$.items[0].productName", is("Cable")))
+                .andExpect(jsonPath("$.items[0].rating", is(2)))
+                .andExpect(jsonPath("$.items[1].productName", is("Speaker")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(response, "$.nextCursor");
+
+        mockMvc.perform(get("/api/users/me/reviews").with(user(me)).param("cursor", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].productName", is("Headphones")))
+                .andExpect(jsonPath("$.items[0].comment", is("Love them")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        mockMvc.perform(get("/api/users/me/reviews").with(user(me)).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users/me/reviews"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/me/reviews/stats - Should follow the user's review writes")
+    void reviewStats_followWrites() throws Exception {
+        mockMvc.perform(get("/api/users/me/reviews/stats").with(user(me)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(5.0)));
+
+        Review speakerReview = reviewService.addReview(speaker.getId(), me, 4, "Loud enough");
+        reviewService.upsertReview(headphones.getId(), me, 3, "Ear cups wear out");
+
+        mockMvc.perform(get("/api/users/me/reviews/stats").with(user(me)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(2)))
+                .andExpect(jsonPath("$.averageRating", is(3.5)));
+
+        reviewService.deleteReview(speaker.getId(), speakerReview.getId(), me);
+
+        mockMvc.perform(get("/api/users/me/reviews/stats").with(user(me)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(1)))
+                .andExpect(jsonPath("$.averageRating", is(3.0)));
+
+        User newcomer = userRepository.save(new User("newcomer", "newcomer@example.com", "password123", Role.USER));
+        mockMvc.perform(get("/api/users/me/reviews/stats").with(user(newcomer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount", is(0)))
+                .andExpect(jsonPath("$.averageRating", is(0.0)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.alper.product_review_backend.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the compact page envelope with Spring's default PageImpl serialization
+ * for a typical product listing page (20 items, sorted). Sizes are checked in the default suite;
+ * the serialization time comparison is tagged {@code benchmark} and runs with {@code mvn test -Pbenchmark}.
+ */
+class PageResponseSerializationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PageResponseSerializationTest.class);
+
+    private static final int ITERATIONS = 5_000;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void envelope_containsOnlyItemsCursorAndOptionalTotal() {
+        Page<ProductSummaryDto> page = typicalPage();
+
+        String withoutTotal = mapper.writeValueAsString(PageResponse.of(page, null));
+        String withTotal = mapper.writeValueAsString(PageResponse.of(page, page.getTotalElements()));
+
+        assertThat(withoutTotal).startsWith("{\"items\":[");
+        assertThat(withoutTotal).contains("\"nextCursor\":\"");
+        assertThat(withoutTotal).doesNotContain("\"total\"", "pageable", "sort");
+        assertThat(withTotal).endsWith(",\"total\":500}");
+    }
+
+    @Test
+    void envelope_isSmallerThanPageImpl() {
+        Page<ProductSummaryDto> page = typicalPage();
+
+        String legacyJson = mapper.writeValueAsString(page);
+        String leanJson = mapper.writeValueAsString(PageResponse.of(page, null));
+
+        // Only the envelope differs, so the saving is the pageable/sort/flags overhead
+        assertThat(leanJson.length()).isLessThan(legacyJson.length());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void envelope_serializesFasterThanPageImpl() {
+        Page<ProductSummaryDto> page = typicalPage();
+        PageResponse<ProductSummaryDto> envelope = PageResponse.of(page, null);
+
+        long legacyNanos = time(() -> mapper.writeValueAsString(page));
+        long leanNanos = time(() -> mapper.writeValueAsString(envelope));
+
+        log.debug("PageImpl: {} bytes, {} ns/op | PageResponse: {} bytes, {} ns/op",
+                mapper.writeValueAsString(page).length(), legacyNanos / ITERATIONS,
+                mapper.writeValueAsString(envelope).length(), leanNanos / ITERATIONS);
+        assertThat(leanNanos).isLessThan(legacyNanos);
+    }
+
+    private long time(Runnable serialization) {
+        // Warm up before measuring
+        for (int i = 0; i < ITERATIONS; i++) {
+            serialization.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serialization.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Page<ProductSummaryDto> typicalPage() {
+        List<ProductSummaryDto> items = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            items.add(new ProductSummaryDto(i, "Product " + i, "Phones",
+                    new BigDecimal("499.00").add(BigDecimal.valueOf(i)), 4.2, 17L));
+        }
+        return new PageImpl<>(items, PageRequest.of(0, 20, Sort.by("price").ascending()), 500);
+    }
+}
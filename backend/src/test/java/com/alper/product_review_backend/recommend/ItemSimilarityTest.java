@@ -0,0 +1,115 @@
+package com.alper.product_review_backend.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ItemSimilarityTest {
+
+    // (product, user) pairs
+    private static Map<Long, List<ItemSimilarity.Neighbor>> compute(long[][] reviews, int maxNeighbors, int minCoReviewers) {
+        long[] productIds = new long[reviews.length];
+        long[] userIds = new long[reviews.length];
+        for (int i = 0; i < reviews.length; i++) {
+            productIds[i] = reviews[i][0];
+            userIds[i] = reviews[i][1];
+        }
+        return ItemSimilarity.compute(productIds, userIds, maxNeighbors, minCoReviewers);
+    }
+
+    private static List<Long> ids(List<ItemSimilarity.Neighbor> neighbors) {
+        return neighbors.stream().map(ItemSimilarity.Neighbor::getProductId).toList();
+    }
+
+    @Test
+    void compute_scoresCosineOfReviewerSets() {
+        Map<Long, List<ItemSimilarity.Neighbor>> neighbors = compute(new long[][]{
+                {10, 1}, {20, 1}, {30, 1},
+                {10, 2}, {20, 2},
+                {10, 3}, {30, 3},
+                {10, 4}, {40, 4}}, 10, 1);
+
+        // Product 10 has 4 reviewers; 20 shares 2 of its 2, 30 shares 2 of its 2, 40 shares 1 of its 1
+        assertThat(ids(neighbors.get(10L))).containsExactly(20L, 30L, 40L);
+        assertThat(neighbors.get(10L).get(0).getScore()).isCloseTo(2 / Math.sqrt(8), within(1e-12));
+        assertThat(neighbors.get(10L).get(0).getCoReviewers()).isEqualTo(2);
+        assertThat(neighbors.get(10L).get(2).getScore()).isCloseTo(1 / Math.sqrt(4), within(1e-12));
+
+        assertThat(ids(neighbors.get(40L))).containsExactly(10L);
+        assertThat(neighbors.get(40L).get(0).getScore()).isCloseTo(0.5, within(1e-12));
+    }
+
+    @Test
+    void compute_appliesNeighborLimitAndMinimumCoReviewers() {
+        long[][] reviews = {
+                {10, 1}, {20, 1}, {30, 1},
+                {10, 2}, {20, 2},
+                {10, 3}, {30, 3},
+                {10, 4}, {40, 4}};
+
+        Map<Long, List<ItemSimilarity.Neighbor>> neighbors = compute(reviews, 1, 2);
+
+        // 20 and 30 tie on score and co-reviewers; the lower id wins
+        assertThat(ids(neighbors.get(10L))).containsExactly(20L);
+        assertThat(ids(neighbors.get(30L))).containsExactly(10L);
+        assertThat(neighbors).doesNotContainKey(40L);
+    }
+
+    @Test
+    void compute_skipsUsersWhoReviewedTooManyProducts() {
+        List<long[]> reviews = new ArrayList<>();
+        for (long product = 1; product <= ItemSimilarity.MAX_PRODUCTS_PER_USER + 1; product++) {
+            reviews.add(new long[]{product, 1});
+        }
+        reviews.add(new long[]{1, 2});
+        reviews.add(new long[]{2, 2});
+
+        Map<Long, List<ItemSimilarity.Neighbor>> neighbors = compute(reviews.toArray(long[][]::new), 10, 1);
+
+        assertThat(ids(neighbors.get(1L))).containsExactly(2L);
+        assertThat(neighbors.get(1L).get(0).getCoReviewers()).isEqualTo(1);
+        assertThat(neighbors).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void compute_matchesPairwiseCountsAcrossForkJoinLeaves() {
+        Random random = new Random(11);
+        Map<Long, Set<Long>> reviewers = new HashMap<>();
+        List<long[]> reviews = new ArrayList<>();
+        for (long user = 0; user < 400; user++) {
+            Set<Long> products = new HashSet<>();
+            for (int i = 0; i < 8; i++) {
+                products.add((long) random.nextInt(1_000));
+            }
+            for (long product : products) {
+                reviews.add(new long[]{product, user});
+                reviewers.computeIfAbsent(product, key -> new HashSet<>()).add(user);
+            }
+        }
+
+        Map<Long, List<ItemSimilarity.Neighbor>> neighbors = compute(reviews.toArray(long[][]::new), 5, 1);
+
+        for (Map.Entry<Long, List<ItemSimilarity.Neighbor>> entry : neighbors.entrySet()) {
+            Set<Long> a = reviewers.get(entry.getKey());
+            assertThat(entry.getValue()).hasSizeLessThanOrEqualTo(5);
+            for (ItemSimilarity.Neighbor neighbor : entry.getValue()) {
+                Set<Long> shared = new HashSet<>(a);
+                shared.retainAll(reviewers.get(neighbor.getProductId()));
+                assertThat(neighbor.getCoReviewers()).isEqualTo(shared.size());
+                assertThat(neighbor.getScore()).isCloseTo(
+                        shared.size() / Math.sqrt((double) a.size() * reviewers.get(neighbor.getProductId()).size()),
+                        within(1e-12));
+            }
+        }
+        assertThat(neighbors).hasSizeGreaterThan(256);
+    }
+}
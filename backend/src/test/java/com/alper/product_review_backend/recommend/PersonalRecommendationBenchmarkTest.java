@@ -0,0 +1,125 @@
+package com.alper.product_review_backend.recommend;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of computing a user's recommendations on a cache miss, for users with a full history
+ * ({@value PersonalRecommendationService#MAX_HISTORY} reviews) against a seeded neighbor table with
+ * {@value RecommendationService#MAX_NEIGHBORS} neighbors per product. Tagged {@code benchmark}, so it
+ * runs with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@DirtiesContext
+@Tag("benchmark")
+class PersonalRecommendationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonalRecommendationBenchmarkTest.class);
+
+    // The first user warms the JVM up; each measured user reviews products no one else did
+    private static final int USERS = 6;
+    private static final int PRODUCTS = USERS * PersonalRecommendationService.MAX_HISTORY;
+
+    // Target for a recommendation list computed on demand
+    private static final long TARGET_MS = 20;
+
+    @Autowired
+    private PersonalRecommendationService personalRecommendationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        // The neighbor table outlives the context in the shared in-memory database
+        jdbcTemplate.update("delete from product_neighbors");
+    }
+
+    @Test
+    void coldRecommendationsForAFullHistory_takeUnderTarget() {
+        List<User> users = seed();
+
+        personalRecommendationService.recommendations(users.get(0).getId(), 10);
+        long[] nanos = new long[USERS - 1];
+        for (int i = 1; i < USERS; i++) {
+            long start = System.nanoTime();
+            List<?> items = personalRecommendationService.recommendations(users.get(i).getId(), 10);
+            nanos[i - 1] = System.nanoTime() - start;
+            assertThat(items).isNotEmpty();
+        }
+
+        Arrays.sort(nanos);
+        long medianMs = nanos[nanos.length / 2] / 1_000_000;
+        log.debug("Personal recommendations, {} reviews of history, cache miss: median {} ms, max {} ms",
+                PersonalRecommendationService.MAX_HISTORY, medianMs, nanos[nanos.length - 1] / 1_000_000);
+        assertThat(medianMs).isLessThan(TARGET_MS);
+    }
+
+    private List<User> seed() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Product " + i, "Desc", "Category " + (i % 20), BigDecimal.TEN));
+        }
+        products = productRepository.saveAll(products);
+
+        List<User> users = new ArrayList<>(USERS);
+        List<Review> reviews = new ArrayList<>(PRODUCTS);
+        for (int u = 0; u < USERS; u++) {
+            User user = userRepository.save(new User("heavy" + u, "heavy" + u + "@example.com", "password123", Role.USER));
+            users.add(user);
+            for (int i = 0; i < PersonalRecommendationService.MAX_HISTORY; i++) {
+                Product product = products.get(u * PersonalRecommendationService.MAX_HISTORY + i);
+                reviews.add(new Review(product, user, 1 + i % 5, "Review " + i));
+            }
+        }
+        reviewRepository.saveAll(reviews);
+
+        // A full neighbor list for every product, spread over the whole catalog
+        List<Object[]> rows = new ArrayList<>(PRODUCTS * RecommendationService.MAX_NEIGHBORS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            for (int rank = 1; rank <= RecommendationService.MAX_NEIGHBORS; rank++) {
+                Product neighbor = products.get((i + rank * 37) % PRODUCTS);
+                rows.add(new Object[]{products.get(i).getId(), rank, neighbor.getId(), 1.0 / rank, 2});
+            }
+        }
+        jdbcTemplate.update("delete from product_neighbors");
+        jdbcTemplate.batchUpdate("""
+                insert into product_neighbors (product_id, neighbor_rank, neighbor_id, score, co_reviewers)
+                values (?, ?, ?, ?, ?)
+                """, rows);
+        return users;
+    }
+}
@@ -0,0 +1,55 @@
+package com.alper.product_review_backend.recommend;
+
+import com.alper.product_review_backend.dto.RecommendationRebuildResult;
+import com.alper.product_review_backend.service.SettingService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext
+class RecommendationServiceTest {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private SettingService settingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rebuild_waitsForARebuildHoldingTheLockOnAnotherNode() throws Exception {
+        long generation = recommendationService.generation();
+        CompletableFuture<RecommendationRebuildResult> rebuild = new CompletableFuture<>();
+
+        // Stands in for another node's rebuild transaction, which this node's local lock does not cover
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            settingService.lock(RecommendationService.REBUILD_SETTING);
+            CompletableFuture.supplyAsync(recommendationService::rebuild).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    rebuild.completeExceptionally(ex);
+                } else {
+                    rebuild.complete(result);
+                }
+            });
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            assertThat(rebuild).isNotDone();
+        });
+
+        assertThat(rebuild.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(recommendationService.generation()).isEqualTo(generation + 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.alper.product_review_backend.repository;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.service.CategoryDictionary;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Category storage before (name repeated on every product row) and after (integer id into the
+ * category table): bytes per row spent on the category, and latency of a category-filtered count.
+ * The default suite checks sizes and that both layouts count the same rows; the latency comparison
+ * is tagged {@code benchmark} and runs with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class CategoryStorageBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryStorageBenchmarkTest.class);
+
+    private static final int PRODUCTS = 20_000;
+
+    private static final String[] CATEGORIES = {"Electronics & Accessories", "Home & Kitchen", "Books",
+            "Sports & Outdoors", "Toys & Games", "Health & Personal Care", "Beauty", "Automotive Parts",
+            "Garden & Patio", "Office Products", "Pet Supplies", "Musical Instruments"};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void categoryIdsShrinkRowsAndMatchNameFilters() {
+        saveProducts();
+
+        String category = CATEGORIES[5];
+        int categoryId = categoryDictionary.idOf(category);
+        assertThat(categoryDictionary.nameOf(categoryId)).isEqualTo(category);
+        assertThat(productRepository.findAll().get(0).getCategory()).isIn((Object[]) CATEGORIES);
+
+        withLegacyTable(() -> {
+            Long legacyMatches = jdbcTemplate.queryForObject(
+                    "select count(*) from legacy_product where category = ?", Long.class, category);
+            Long matches = jdbcTemplate.queryForObject(
+                    "select count(*) from product where category_id = ?", Long.class, categoryId);
+            assertThat(matches).isEqualTo(legacyMatches).isGreaterThanOrEqualTo((long) PRODUCTS / CATEGORIES.length);
+
+            Double legacyBytes = jdbcTemplate.queryForObject(
+                    "select avg(octet_length(category)) from legacy_product", Double.class);
+            assertThat(legacyBytes).isGreaterThan(Integer.BYTES);
+        });
+    }
+
+    @Test
+    @Tag("benchmark")
+    void categoryIdFiltersAreFasterThanNameFilters() {
+        saveProducts();
+
+        String category = CATEGORIES[5];
+        int categoryId = categoryDictionary.idOf(category);
+        withLegacyTable(() -> {
+            double legacyMicros = measure(200, () -> jdbcTemplate.queryForObject(
+                    "select count(*) from legacy_product where category = ?", Long.class, category));
+            double idMicros = measure(200, () -> jdbcTemplate.queryForObject(
+                    "select count(*) from product where category_id = ?", Long.class, categoryId));
+
+            log.debug("Category filter over {} products: name {} us per count, id {} us per count",
+                    PRODUCTS, Math.round(legacyMicros), Math.round(idMicros));
+            assertThat(idMicros).isLessThan(legacyMicros);
+        });
+    }
+
+    private void saveProducts() {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product("Product " + i, "Desc", CATEGORIES[i % CATEGORIES.length], BigDecimal.TEN));
+        }
+        productRepository.saveAll(products);
+    }
+
+    // The previous layout: the name stored on each product row, without an index
+    private void withLegacyTable(Runnable comparison) {
+        jdbcTemplate.execute("drop table if exists legacy_product");
+        jdbcTemplate.execute("""
+                create table legacy_product as
+                select p.id, c.name as category from product p join category c on c.id = p.category_id""");
+        try {
+            comparison.run();
+        } finally {
+            jdbcTemplate.execute("drop table legacy_product");
+        }
+    }
+
+    // Mean microseconds per call after a warm-up pass
+    private static double measure(int iterations, Runnable operation) {
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / 1e3 / iterations;
+    }
+}
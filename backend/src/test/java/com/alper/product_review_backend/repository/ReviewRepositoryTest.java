@@ -4,6 +4,7 @@ import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.domain.Review;
 import com.alper.product_review_backend.domain.Role;
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.service.CategoryDictionary;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -11,10 +12,13 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+// Product categories are stored through the dictionary, which is not part of the JPA slice
+@Import(CategoryDictionary.class)
 class ReviewRepositoryTest {
 
     @Autowired
@@ -43,7 +47,9 @@ class ReviewRepositoryTest {
         Review oldReview = new Review(product, user, 3, "Old");
         oldReview.setCreatedAt(Instant.now().minus(1, ChronoUnit.DAYS));
 
-        Review newReview = new Review(product, user, 5, "New");
+        // One review per user and product, so the newer review comes from another user
+        User otherUser = userRepository.save(new User("otheruser", "other@example.com", "password123", Role.USER));
+        Review newReview = new Review(product, otherUser, 5, "New");
         newReview.setCreatedAt(Instant.now());
 
         reviewRepository.save(oldReview);
@@ -56,4 +62,23 @@ class ReviewRepositoryTest {
         assertThat(result.get(0).getComment()).isEqualTo("New");
         assertThat(result.get(1).getComment()).isEqualTo("Old");
     }
+
+    @Test
+    void findReviewedProductIds_returnsOnlyTheUsersReviewedCandidates() {
+        User user = userRepository.save(new User("reviewer", "reviewer@example.com", "password123", Role.USER));
+        User otherUser = userRepository.save(new User("otherreviewer", "otherreviewer@example.com", "password123", Role.USER));
+
+        Product reviewed = productRepository.save(new Product("Reviewed", "Description", "TestCategory", BigDecimal.TEN));
+        Product reviewedByOther = productRepository.save(new Product("Other", "Description", "TestCategory", BigDecimal.TEN));
+        Product notCandidate = productRepository.save(new Product("Skipped", "Description", "TestCategory", BigDecimal.TEN));
+
+        reviewRepository.save(new Review(reviewed, user, 4, "Mine"));
+        reviewRepository.save(new Review(notCandidate, user, 4, "Mine too"));
+        reviewRepository.save(new Review(reviewedByOther, otherUser, 4, "Theirs"));
+
+        List<Long> result = reviewRepository.findReviewedProductIds(
+                user.getId(), List.of(reviewed.getId(), reviewedByOther.getId()));
+
+        assertThat(result).containsExactly(reviewed.getId());
+    }
 }
@@ -0,0 +1,116 @@
+package com.alper.product_review_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static SearchDocument doc(long id, long scope, String title, String body) {
+        return new SearchDocument(id, scope, title, body);
+    }
+
+    private static List<Long> ids(SearchHits hits) {
+        return hits.getHits().stream().map(SearchHits.Hit::getId).toList();
+    }
+
+    private static final List<SearchDocument> REVIEWS = List.of(
+            doc(1, 10, "", "Battery life is great, the battery lasts two days"),
+            doc(2, 10, "", "Great screen but the battery drains quickly and the case feels cheap"),
+            doc(3, 20, "", "Comfortable headphones with rich bass"),
+            doc(4, 20, "", "Batteries died after a week"),
+            doc(5, 30, "", "Solid build, nothing else to say about it really, a fine product overall"));
+
+    @Test
+    void terms_normalizesDropsStopWordsAndFoldsPlurals() {
+        assertThat(TextAnalyzer.terms("The Batteries, the CASES and Café cherries!"))
+                .containsExactly("battery", "case", "cafe", "cherry");
+        assertThat(TextAnalyzer.terms(null)).isEmpty();
+    }
+
+    @Test
+    void search_ranksByBm25() {
+        InvertedIndex index = InvertedIndex.of(REVIEWS);
+
+        SearchHits hits = index.search("battery", null, 0, 10);
+
+        // Two mentions beat one; the short review beats the long one with a single mention
+        assertThat(ids(hits)).containsExactly(1L, 4L, 2L);
+        assertThat(hits.getTotal()).isEqualTo(3);
+        assertThat(hits.getHits().get(0).getScore()).isGreaterThan(hits.getHits().get(1).getScore());
+    }
+
+    @Test
+    void search_scoresDocumentsMatchingMoreTermsHigher() {
+        InvertedIndex index = InvertedIndex.of(REVIEWS);
+
+        assertThat(ids(index.search("battery screen", null, 0, 10)).get(0)).isEqualTo(2L);
+        assertThat(ids(index.search("the and of", null, 0, 10))).isEmpty();
+        assertThat(ids(index.search("unknown", null, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_weighsTitleAboveBody() {
+        InvertedIndex index = InvertedIndex.of(List.of(
+                doc(1, 1, "Travel Mug", "Keeps coffee hot for hours"),
+                doc(2, 2, "Coffee Grinder", "Burr grinder for espresso")));
+
+        assertThat(ids(index.search("coffee", null, 0, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_filtersByScopeAndPages() {
+        InvertedIndex index = InvertedIndex.of(REVIEWS);
+
+        assertThat(ids(index.search("battery", 10L, 0, 10))).containsExactly(1L, 2L);
+
+        SearchHits second = index.search("battery", null, 1, 1);
+        assertThat(ids(second)).containsExactly(4L);
+        assertThat(second.getTotal()).isEqualTo(3);
+        assertThat(ids(index.search("battery", null, 3, 1))).isEmpty();
+    }
+
+    @Test
+    void apply_replacesAndRemovesDocuments() {
+        InvertedIndex index = InvertedIndex.of(REVIEWS);
+
+        index.apply(List.of(doc(3, 20, "", "Battery case for headphones")), List.of(1L));
+
+        assertThat(ids(index.search("battery", null, 0, 10))).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(ids(index.search("bass", null, 0, 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void merge_ofSegmentsMatchesSingleBuild() {
+        InvertedIndex single = InvertedIndex.of(REVIEWS);
+        InvertedIndex merged = InvertedIndex.merge(List.of(
+                InvertedIndex.of(REVIEWS.subList(0, 2)),
+                InvertedIndex.of(REVIEWS.subList(2, 5))));
+
+        SearchHits expected = single.search("battery great", null, 0, 10);
+        SearchHits actual = merged.search("battery great", null, 0, 10);
+
+        assertThat(ids(actual)).isEqualTo(ids(expected));
+        assertThat(actual.getHits().get(0).getScore()).isEqualTo(expected.getHits().get(0).getScore());
+        assertThat(merged.size()).isEqualTo(5);
+    }
+
+    @Test
+    void apply_removesDocumentsFromMergedSegments() {
+        InvertedIndex merged = InvertedIndex.merge(List.of(
+                InvertedIndex.of(REVIEWS.subList(0, 2)),
+                InvertedIndex.of(REVIEWS.subList(2, 5))));
+
+        // Removals move postings around, so later removals rely on the positions being kept up to date
+        merged.apply(List.of(), List.of(1L, 4L));
+        merged.apply(List.of(doc(2, 10, "", "Battery replaced under warranty")), List.of(5L));
+
+        assertThat(ids(merged.search("battery", null, 0, 10))).containsExactly(2L);
+        assertThat(ids(merged.search("great", null, 0, 10))).isEmpty();
+        assertThat(ids(merged.search("headphones bass", null, 0, 10))).containsExactly(3L);
+        assertThat(merged.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,120 @@
+package com.alper.product_review_backend.security.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StripedTokenBucketStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedTokenBucketStoreTest.class);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final StripedTokenBucketStore store = new StripedTokenBucketStore(16, clock::get);
+    private final RateLimitPolicy fivePerSecond = new RateLimitPolicy(5, Duration.ofSeconds(1));
+
+    @Test
+    void tryConsume_allowsBurstThenReportsWait() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(store.tryConsume("k", fivePerSecond)).isZero();
+        }
+
+        long wait = store.tryConsume("k", fivePerSecond);
+        // One token refills every 200 ms
+        assertThat(wait).isCloseTo(Duration.ofMillis(200).toNanos(), within(2L));
+    }
+
+    @Test
+    void tryConsume_refillsOverTime() {
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("k", fivePerSecond);
+        }
+
+        // 2.5 tokens back
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+        assertThat(store.tryConsume("k", fivePerSecond)).isZero();
+        assertThat(store.tryConsume("k", fivePerSecond)).isZero();
+        assertThat(store.tryConsume("k", fivePerSecond)).isPositive();
+    }
+
+    @Test
+    void tryConsume_keysAreIndependent() {
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("a", fivePerSecond);
+        }
+
+        assertThat(store.tryConsume("a", fivePerSecond)).isPositive();
+        assertThat(store.tryConsume("b", fivePerSecond)).isZero();
+    }
+
+    @Test
+    void evictIdle_dropsOnlyFullyRefilledBuckets() {
+        store.tryConsume("idle", fivePerSecond);
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("busy", fivePerSecond);
+        }
+
+        clock.addAndGet(Duration.ofMillis(300).toNanos());
+        store.evictIdle();
+
+        // "idle" is back to 5 tokens; "busy" has only 1.5
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    // Throughput depends on the machine, so it only runs with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void tryConsume_overheadSupportsWellOver100kChecksPerSecond() throws Exception {
+        StripedTokenBucketStore realStore = new StripedTokenBucketStore();
+        RateLimitPolicy policy = new RateLimitPolicy(1_000, Duration.ofSeconds(1));
+        int threads = 4;
+        int checksPerThread = 250_000;
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user:" + i;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < checksPerThread; i++) {
+                        realStore.tryConsume(keys[(i * 31 + offset) % keys.length], policy);
+                    }
+                    return null;
+                });
+            }
+
+            // Warm up, then measure
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+            long start = System.nanoTime();
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            double checksPerSecond = (double) threads * checksPerThread / (elapsed / 1e9);
+            log.debug("Token bucket: {} checks/sec, {} ns/check per thread ({} threads)",
+                    Math.round(checksPerSecond), elapsed / checksPerThread, threads);
+            assertThat(checksPerSecond).isGreaterThan(100_000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.AggregateReconciliationResult;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Two products per chunk, so the products below are scanned by separate parallel tasks
+@SpringBootTest(properties = "aggregates.reconcile-chunk-size=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AggregateReconciliationServiceTest {
+
+    @Autowired
+    private AggregateReconciliationService reconciliationService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+    private Product reviewed;
+    private Product untouched;
+    private Product unreviewed;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        alice = userRepository.save(new User("alice", "alice@example.com", "password123", Role.USER));
+        bob = userRepository.save(new User("bob", "bob@example.com", "password123", Role.USER));
+        reviewed = productRepository.save(new Product("Reviewed", "Desc", "Cat", new BigDecimal("10.00")));
+        untouched = productRepository.save(new Product("Untouched", "Desc", "Cat", new BigDecimal("10.00")));
+        unreviewed = productRepository.save(new Product("Unreviewed", "Desc", "Cat", new BigDecimal("10.00")));
+
+        reviewService.addReview(reviewed.getId(), alice, 5, "Great");
+        reviewService.addReview(reviewed.getId(), bob, 3, "Okay");
+        reviewService.addReview(untouched.getId(), alice, 4, "Good");
+    }
+
+    @Test
+    void reconcile_repairsDriftedProductsOnly() {
+        // A lost delete left one 5-star review counted twice, and a stray 1-star bucket on a product without reviews
+        Product drifted = productRepository.findById(reviewed.getId()).orElseThrow();
+        drifted.setReviewCount(3);
+        drifted.setRatingSum(13);
+        drifted.setRating5Count(2);
+        drifted.setAverageRating(13 / 3.0);
+        productRepository.save(drifted);
+        Product stray = productRepository.findById(unreviewed.getId()).orElseThrow();
+        stray.setRating1Count(1);
+        productRepository.save(stray);
+        long untouchedVersion = productRepository.findById(untouched.getId()).orElseThrow().getVersion();
+
+        AggregateReconciliationResult result = reconciliationService.reconcile();
+
+        assertThat(result.getProducts()).isEqualTo(3);
+        assertThat(result.getReviews()).isEqualTo(3);
+        assertThat(result.getRepairedProducts()).isEqualTo(2);
+        assertThat(result.getReviewCountDrift()).isEqualTo(1);
+        assertThat(result.getRatingSumDrift()).isEqualTo(5);
+        assertThat(result.getHistogramDrift()).isEqualTo(2);
+        assertThat(result.getMaxAverageRatingDrift()).isCloseTo(13 / 3.0 - 4.0, within(1e-9));
+
+        Product repaired = productRepository.findById(reviewed.getId()).orElseThrow();
+        assertThat(repaired.getReviewCount()).isEqualTo(2);
+        assertThat(repaired.getRatingSum()).isEqualTo(8);
+        assertThat(repaired.getRating5Count()).isEqualTo(1);
+        assertThat(repaired.getRating3Count()).isEqualTo(1);
+        assertThat(repaired.getAverageRating()).isEqualTo(4.0);
+        assertThat(productRepository.findById(unreviewed.getId()).orElseThrow().getRating1Count()).isZero();
+        assertThat(productRepository.findById(untouched.getId()).orElseThrow().getVersion()).isEqualTo(untouchedVersion);
+        assertThat(catalogIndex.current().find(reviewed.getId()).orElseThrow().getAverageRating()).isEqualTo(4.0);
+    }
+
+    @Test
+    void reconcile_consistentAggregates_reportsNoDrift() {
+        AggregateReconciliationResult result = reconciliationService.reconcile();
+
+        assertThat(result.getProducts()).isEqualTo(3);
+        assertThat(result.getReviews()).isEqualTo(3);
+        assertThat(result.getRepairedProducts()).isZero();
+        assertThat(result.getReviewCountDrift()).isZero();
+        assertThat(result.getMaxAverageRatingDrift()).isZero();
+        assertThat(result.getUsers()).isEqualTo(2);
+        assertThat(result.getRepairedUsers()).isZero();
+    }
+
+    @Test
+    void reconcile_repairsDriftedUserStats() {
+        // Stats that started at zero next to existing reviews, then went negative on a delete
+        jdbcTemplate.update("update users set review_count = -1, rating_sum = -5 where id = ?", alice.getId());
+
+        AggregateReconciliationResult result = reconciliationService.reconcile();
+
+        assertThat(result.getUsers()).isEqualTo(2);
+        assertThat(result.getRepairedUsers()).isEqualTo(1);
+        assertThat(result.getRepairedProducts()).isZero();
+        User repaired = userRepository.findById(alice.getId()).orElseThrow();
+        assertThat(repaired.getReviewCount()).isEqualTo(2);
+        assertThat(repaired.getRatingSum()).isEqualTo(9);
+    }
+
+    @Test
+    void backfillUserStats_countsReviewersWithoutStats() {
+        jdbcTemplate.update("update users set review_count = 0, rating_sum = 0");
+
+        reconciliationService.backfillUserStats();
+
+        assertThat(userRepository.findById(alice.getId()).orElseThrow())
+                .extracting(User::getReviewCount, User::getRatingSum).containsExactly(2L, 9L);
+        assertThat(userRepository.findById(bob.getId()).orElseThrow())
+                .extracting(User::getReviewCount, User::getRatingSum).containsExactly(1L, 3L);
+    }
+}
@@ -0,0 +1,44 @@
+package com.alper.product_review_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_isTrueForEveryInsertedPair() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long product = 1; product <= 100; product++) {
+            for (long user = 1; user <= 100; user++) {
+                filter.put(product, user);
+            }
+        }
+
+        for (long product = 1; product <= 100; product++) {
+            for (long user = 1; user <= 100; user++) {
+                assertThat(filter.mightContain(product, user)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void falsePositiveRate_staysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filter.put(i, i + 1);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (long i = 0; i < probes; i++) {
+            // Swapped pairs are never inserted
+            if (filter.mightContain(i + 1_000_000, i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
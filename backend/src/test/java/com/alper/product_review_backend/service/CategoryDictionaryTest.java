@@ -0,0 +1,80 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.repository.ProductRepository;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CategoryDictionaryTest {
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long categoryRows(String name) {
+        return jdbcTemplate.queryForObject("select count(*) from category where name = ?", Long.class, name);
+    }
+
+    @Test
+    void newCategory_isInsertedInTheProductWriteTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productRepository.saveAndFlush(new Product("Kettle", "Desc", "Small Appliances", BigDecimal.TEN));
+
+            assertThat(categoryRows("Small Appliances")).isEqualTo(1);
+            // Another connection does not see the row until the product commits with it
+            long seenElsewhere = CompletableFuture.supplyAsync(() -> categoryRows("Small Appliances")).join();
+            assertThat(seenElsewhere).isZero();
+        });
+
+        assertThat(categoryRows("Small Appliances")).isEqualTo(1);
+        int id = categoryDictionary.idOf("Small Appliances");
+        assertThat(categoryDictionary.nameOf(id)).isEqualTo("Small Appliances");
+    }
+
+    @Test
+    void rolledBackProductWrite_leavesNoCategoryBehind() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            productRepository.saveAndFlush(new Product("Kettle", "Desc", "Small Appliances", BigDecimal.TEN));
+            status.setRollbackOnly();
+        });
+
+        assertThat(categoryRows("Small Appliances")).isZero();
+
+        // The id was never cached, so the next write creates the row again
+        Product saved = productRepository.save(new Product("Kettle", "Desc", "Small Appliances", BigDecimal.TEN));
+        assertThat(categoryRows("Small Appliances")).isEqualTo(1);
+        assertThat(productRepository.findById(saved.getId())).get()
+                .extracting(Product::getCategory).isEqualTo("Small Appliances");
+    }
+
+    @Test
+    void productCategory_mustReferenceACategoryRow() {
+        Product saved = productRepository.save(new Product("Kettle", "Desc", "Small Appliances", BigDecimal.TEN));
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "update product set category_id = ? where id = ?", Integer.MAX_VALUE, saved.getId()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.alper.product_review_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_splitsPlainFields() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,c\n1,,3\n"));
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).containsExactly("1", "", "3");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_handlesQuotedCommasQuotesAndLineBreaks() throws IOException {
+        String csv = "name,description\r\n"
+                + "\"Lamp, desk\",\"Says \"\"hi\"\"\"\r\n"
+                + "Rug,\"line one\nline two\"\r\n"
+                + "Mug,plain";
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+
+        assertThat(reader.next()).containsExactly("name", "description");
+        assertThat(reader.next()).containsExactly("Lamp, desk", "Says \"hi\"");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Rug", "line one\nline two");
+        assertThat(reader.recordLine()).isEqualTo(3);
+        assertThat(reader.next()).containsExactly("Mug", "plain");
+        assertThat(reader.recordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_skipsBlankLines() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a\n\n\nb\n"));
+
+        assertThat(reader.next()).containsExactly("a");
+        assertThat(reader.next()).containsExactly("b");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+}
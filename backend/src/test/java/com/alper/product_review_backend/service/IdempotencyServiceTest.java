@@ -0,0 +1,137 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Review;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.ReviewDto;
+import com.alper.product_review_backend.repository.IdempotencyRecordRepository;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Product product;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("replayer", "replayer@example.com", "password123", Role.USER));
+        product = productRepository.save(new Product("Replayed", "Desc", "Cat", new BigDecimal("10.00")));
+    }
+
+    @Test
+    void concurrentSubmissionsOnTwoNodes_replayTheCommittedReview() throws Exception {
+        // Separate instances share the database but not the in-memory entries, like two nodes
+        IdempotencyService nodeA = new IdempotencyService(recordRepository, reviewRepository, Duration.ofHours(1), 100);
+        IdempotencyService nodeB = new IdempotencyService(recordRepository, reviewRepository, Duration.ofHours(1), 100);
+        CountDownLatch bothSubmitting = new CountDownLatch(2);
+        CountDownLatch aCommitted = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ReviewDto> first = pool.submit(() -> {
+                ReviewDto dto = nodeA.submitOnce(user.getId(), "two-nodes", product.getId(), () -> {
+                    bothSubmitting.countDown();
+                    await(bothSubmitting);
+                    return submit();
+                });
+                aCommitted.countDown();
+                return dto;
+            });
+            // Node B found no record before node A committed, then fails on the review node A wrote
+            Future<ReviewDto> second = pool.submit(() -> nodeB.submitOnce(user.getId(), "two-nodes", product.getId(), () -> {
+                bothSubmitting.countDown();
+                await(aCommitted);
+                return submit();
+            }));
+
+            ReviewDto original = first.get(30, TimeUnit.SECONDS);
+            ReviewDto replayed = second.get(30, TimeUnit.SECONDS);
+            assertThat(replayed.getId()).isEqualTo(original.getId());
+            assertThat(replayed.getComment()).isEqualTo("Once only");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(reviewRepository.count()).isEqualTo(1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getReviewCount()).isEqualTo(1);
+    }
+
+    @Test
+    void replayAfterTheReviewWasDeleted_returnsTheOriginalResult() {
+        IdempotencyService nodeA = new IdempotencyService(recordRepository, reviewRepository, Duration.ofHours(1), 100);
+        ReviewDto original = nodeA.submitOnce(user.getId(), "deleted-later", product.getId(), () -> submit("deleted-later"));
+
+        reviewService.deleteReview(product.getId(), original.getId(), user);
+
+        // A fresh node has no memory entry, so the replay is answered from the database record alone
+        IdempotencyService nodeB = new IdempotencyService(recordRepository, reviewRepository, Duration.ofHours(1), 100);
+        ReviewDto replayed = nodeB.submitOnce(user.getId(), "deleted-later", product.getId(), () -> {
+            throw new AssertionError("A replay must not run the submission");
+        });
+
+        assertThat(replayed).usingRecursiveComparison().ignoringFields("createdAt").isEqualTo(original);
+        // The database keeps microseconds
+        assertThat(replayed.getCreatedAt()).isEqualTo(original.getCreatedAt().truncatedTo(ChronoUnit.MICROS));
+        assertThat(reviewRepository.count()).isZero();
+    }
+
+    private ReviewDto submit() {
+        return submit("two-nodes");
+    }
+
+    private ReviewDto submit(String idempotencyKey) {
+        Review review = reviewService.addReview(product.getId(), user, 5, "Once only", idempotencyKey);
+        return new ReviewDto(review.getId(), review.getRating(), review.getComment(),
+                review.getUser().getUsername(), review.getCreatedAt());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other node");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.CatalogIndex;
+import com.alper.product_review_backend.catalog.CatalogQuery;
+import com.alper.product_review_backend.catalog.SortKey;
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.ProductSummaryDto;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ProductRankingServiceTest {
+
+    private static final double PRIOR_WEIGHT = 10;
+
+    @Autowired
+    private ProductRankingService rankingService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Product single;
+    private Product established;
+    private Product poor;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (int i = 0; i < 6; i++) {
+            users.add(userRepository.save(new User("ranker" + i, "ranker" + i + "@example.com", "password123", Role.USER)));
+        }
+        single = productRepository.save(new Product("One Review", "Desc", "Ranking", BigDecimal.TEN));
+        established = productRepository.save(new Product("Many Reviews", "Desc", "Ranking", BigDecimal.TEN));
+        poor = productRepository.save(new Product("Poor Reviews", "Desc", "Ranking", BigDecimal.TEN));
+
+        reviewService.addReview(single.getId(), users.get(0), 5, "Perfect");
+        int[] ratings = {5, 5, 5, 5, 4, 5};
+        for (int i = 0; i < ratings.length; i++) {
+            reviewService.addReview(established.getId(), users.get(i), ratings[i], "Great");
+        }
+        reviewService.addReview(poor.getId(), users.get(0), 1, "Broke");
+        reviewService.addReview(poor.getId(), users.get(1), 2, "Meh");
+    }
+
+    // Same formulas as the UPDATE statements, written out independently
+    private static double bayesian(long sum, long count, double priorMean) {
+        return (PRIOR_WEIGHT * priorMean + sum) / (PRIOR_WEIGHT + count);
+    }
+
+    private static double wilson(long sum, long count) {
+        if (count == 0) {
+            return 0.0;
+        }
+        double z = ProductRankingService.Z;
+        double p = (sum - count) / (4.0 * count);
+        return (p + z * z / (2 * count) - z * Math.sqrt((p * (1 - p) + z * z / (4 * count)) / count))
+                / (1 + z * z / count);
+    }
+
+    private List<Long> order(SortKey key) {
+        return catalogIndex.current().query(new CatalogQuery(key, true, "Ranking", null, null, null, 0, 10, false))
+                .getItems().stream().map(ProductSummaryDto::getId).toList();
+    }
+
+    @Test
+    void reviewWrites_updateScoresInTheSameTransaction() {
+        double prior = rankingService.priorMean();
+
+        Product reloaded = productRepository.findById(established.getId()).orElseThrow();
+        assertThat(reloaded.getBayesianRating()).isCloseTo(bayesian(29, 6, prior), within(1e-9));
+        assertThat(reloaded.getWilsonScore()).isCloseTo(wilson(29, 6), within(1e-9));
+
+        Product one = productRepository.findById(single.getId()).orElseThrow();
+        assertThat(one.getWilsonScore()).isCloseTo(wilson(5, 1), within(1e-9));
+        assertThat(one.getWilsonScore()).isLessThan(reloaded.getWilsonScore());
+    }
+
+    @Test
+    void scores_rankEstablishedProductsAboveSingleReviews() {
+        // Adopt the catalog mean of these reviews (37 / 9 stars) as the prior
+        rankingService.refresh();
+        double prior = rankingService.priorMean();
+        assertThat(prior).isCloseTo(37.0 / 9, within(0.01));
+
+        Product one = productRepository.findById(single.getId()).orElseThrow();
+        assertThat(one.getBayesianRating()).isCloseTo(bayesian(5, 1, prior), within(1e-9));
+
+        assertThat(order(SortKey.AVERAGE_RATING)).containsExactly(single.getId(), established.getId(), poor.getId());
+        assertThat(order(SortKey.BAYESIAN_RATING)).containsExactly(established.getId(), single.getId(), poor.getId());
+        assertThat(order(SortKey.WILSON_SCORE)).containsExactly(established.getId(), single.getId(), poor.getId());
+    }
+
+    @Test
+    void refresh_onlyRewritesStaleScores() {
+        rankingService.refresh();
+        Product unreviewed = productRepository.save(new Product("No Reviews", "Desc", "Ranking", BigDecimal.TEN));
+
+        // Only the product saved without scores is stale
+        assertThat(rankingService.refresh()).isEqualTo(1);
+        assertThat(productRepository.findById(unreviewed.getId()).orElseThrow().getBayesianRating())
+                .isCloseTo(rankingService.priorMean(), within(1e-9));
+        assertThat(rankingService.refresh()).isZero();
+    }
+
+    @Test
+    void refresh_keepsTheStoredPriorWithinToleranceAndLeavesVersionsAlone() {
+        rankingService.refresh();
+        long revision = rankingService.priorRevision();
+        long version = productRepository.findById(single.getId()).orElseThrow().getVersion();
+
+        // Another node stored a prior just inside the tolerance of this catalog's mean (37 / 9 stars)
+        double storedPrior = 37.0 / 9 + 0.005;
+        jdbcTemplate.update("update settings set setting_value = ?, revision = revision + 1 where name = ?",
+                Double.toString(storedPrior), ProductRankingService.PRIOR_MEAN_SETTING);
+
+        // Adopted rather than replaced, so every reviewed product is rescored once and then left alone
+        assertThat(rankingService.refresh()).isEqualTo(3);
+        assertThat(rankingService.priorMean()).isEqualTo(storedPrior);
+        assertThat(rankingService.priorRevision()).isEqualTo(revision + 1);
+        assertThat(rankingService.refresh()).isZero();
+
+        Product rescored = productRepository.findById(single.getId()).orElseThrow();
+        assertThat(rescored.getBayesianRating()).isCloseTo(bayesian(5, 1, storedPrior), within(1e-9));
+        assertThat(rescored.getVersion()).isEqualTo(version);
+    }
+}
@@ -4,11 +4,18 @@ import com.alper.product_review_backend.domain.Product;
 import com.alper.product_review_backend.domain.Review;
 import com.alper.product_review_backend.domain.Role;
 import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.exception.DuplicateReviewException;
 import com.alper.product_review_backend.repository.ProductRepository;
 import com.alper.product_review_backend.repository.ReviewRepository;
 import com.alper.product_review_backend.repository.UserRepository;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +23,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -68,8 +76,10 @@ class ReviewServiceTest {
         assertThat(afterFirst.getReviewCount()).isEqualTo(1);
         assertThat(afterFirst.getAverageRating()).isEqualTo(4.0);
 
-        // second review: rating 2
-        Review r2 = reviewService.addReview(product.getId(), user, 2, "Meh");
+        // second review by another user: rating 2
+        User secondUser = userRepository.save(new User("servicetest2_" + uniqueId,
+                "servicetest2_" + uniqueId + "@example.com", "password123", Role.USER));
+        Review r2 = reviewService.addReview(product.getId(), secondUser, 2, "Meh");
         assertThat(r2.getId()).isNotNull();
 
         Product afterSecond = productRepository.findById(product.getId()).orElseThrow();
@@ -77,4 +87,91 @@ class ReviewServiceTest {
         // (4 + 2) / 2 = 3.0
         assertThat(afterSecond.getAverageRating()).isEqualTo(3.0);
     }
+
+    @Test
+    void addReview_twiceBySameUser_throwsDuplicateReview() {
+        reviewService.addReview(product.getId(), user, 4, "Good");
+
+        assertThatThrownBy(() -> reviewService.addReview(product.getId(), user, 1, "Changed my mind"))
+                .isInstanceOf(DuplicateReviewException.class);
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getReviewCount()).isEqualTo(1);
+        assertThat(after.getAverageRating()).isEqualTo(4.0);
+    }
+
+    @Test
+    void updateAndDeleteReview_adjustAggregatesIncrementally() {
+        User secondUser = userRepository.save(new User("servicetest2_" + uniqueId,
+                "servicetest2_" + uniqueId + "@example.com", "password123", Role.USER));
+        Review mine = reviewService.addReview(product.getId(), user, 5, "Great");
+        reviewService.addReview(product.getId(), secondUser, 1, "Bad");
+
+        reviewService.updateReview(product.getId(), mine.getId(), user, 3, "Okay");
+        Product afterEdit = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(afterEdit.getReviewCount()).isEqualTo(2);
+        assertThat(afterEdit.getRatingSum()).isEqualTo(4);
+        assertThat(afterEdit.getAverageRating()).isEqualTo(2.0);
+        assertThat(afterEdit.getRating5Count()).isZero();
+        assertThat(afterEdit.getRating3Count()).isEqualTo(1);
+
+        reviewService.deleteReview(product.getId(), mine.getId(), user);
+        Product afterDelete = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(afterDelete.getReviewCount()).isEqualTo(1);
+        assertThat(afterDelete.getAverageRating()).isEqualTo(1.0);
+        assertThat(afterDelete.getRating3Count()).isZero();
+        assertThat(afterDelete.getRating1Count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentAddsEditsAndDeletes_matchFullRecount() throws Exception {
+        int writers = 8;
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            users.add(userRepository.save(new User("concurrent" + i + "_" + uniqueId,
+                    "concurrent" + i + "_" + uniqueId + "@example.com", "password123", Role.USER)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                User writer = users.get(i);
+                int seed = i;
+                tasks.add(() -> {
+                    Long productId = product.getId();
+                    Review review = reviewService.addReview(productId, writer, 1 + seed % 5, "first");
+                    reviewService.updateReview(productId, review.getId(), writer, 1 + (seed + 2) % 5, "edited");
+                    if (seed % 2 == 0) {
+                        reviewService.deleteReview(productId, review.getId(), writer);
+                        reviewService.addReview(productId, writer, 1 + (seed + 3) % 5, "again");
+                    }
+                    reviewService.upsertReview(productId, writer, 1 + (seed + 4) % 5, "final");
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Review> reviews = reviewRepository.findByProductOrderByCreatedAtDesc(product);
+        long[] histogram = new long[5];
+        long sum = 0;
+        for (Review review : reviews) {
+            histogram[review.getRating() - 1]++;
+            sum += review.getRating();
+        }
+
+        Product after = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(after.getReviewCount()).isEqualTo(writers).isEqualTo(reviews.size());
+        assertThat(after.getRatingSum()).isEqualTo(sum);
+        assertThat(after.getAverageRating()).isEqualTo((double) sum / writers);
+        assertThat(new long[] {
+                after.getRating1Count(), after.getRating2Count(), after.getRating3Count(),
+                after.getRating4Count(), after.getRating5Count()
+        }).containsExactly(histogram);
+    }
 }
@@ -0,0 +1,148 @@
+package com.alper.product_review_backend.service;
+
+import com.alper.product_review_backend.catalog.TrendingIndex;
+import com.alper.product_review_backend.domain.Product;
+import com.alper.product_review_backend.domain.Role;
+import com.alper.product_review_backend.domain.User;
+import com.alper.product_review_backend.dto.TrendingProductDto;
+import com.alper.product_review_backend.repository.ProductRepository;
+import com.alper.product_review_backend.repository.ReviewRepository;
+import com.alper.product_review_backend.repository.UserRepository;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = "trending.half-life=24h")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class TrendingServiceTest {
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TrendingIndex trendingIndex;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewIngestService ingestService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Instant threeDaysAgo;
+    private Product fresh;
+    private Product old;
+    private Product quiet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reviewRepository.deleteAll();
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(new User("trender" + i, "trender" + i + "@example.com", "password123", Role.USER)));
+        }
+        fresh = productRepository.save(new Product("Fresh", "Desc", "Trending", BigDecimal.TEN));
+        old = productRepository.save(new Product("Old", "Desc", "Trending", BigDecimal.TEN));
+        quiet = productRepository.save(new Product("Quiet", "Desc", "Trending", BigDecimal.TEN));
+
+        reviewService.addReview(fresh.getId(), users.get(0), 4, "New this week");
+        reviewService.addReview(fresh.getId(), users.get(1), 5, "Also new");
+
+        // Five reviews three half-lives old weigh 5 / 8 of a fresh review
+        threeDaysAgo = Instant.now().minus(Duration.ofDays(3));
+        StringBuilder ndjson = new StringBuilder();
+        for (User user : users) {
+            ndjson.append("{\"productId\":").append(old.getId())
+                    .append(",\"userId\":").append(user.getId())
+                    .append(",\"rating\":5,\"createdAt\":\"").append(threeDaysAgo).append("\"}\n");
+        }
+        ingestService.ingest(new BufferedReader(new StringReader(ndjson.toString())));
+    }
+
+    @Test
+    void trending_weighsReviewsByRecency() {
+        List<TrendingProductDto> trending = trendingService.trending(10);
+
+        assertThat(trending).extracting(TrendingProductDto::getId).containsExactly(fresh.getId(), old.getId());
+        assertThat(trending.get(0).getTrendingScore()).isCloseTo(2.0, within(0.01));
+        assertThat(trending.get(1).getTrendingScore()).isCloseTo(0.625, within(0.01));
+        assertThat(trending.get(1).getReviewCount()).isEqualTo(5);
+        assertThat(trendingService.trending(1)).hasSize(1);
+    }
+
+    @Test
+    void activity_isPersistedAndSurvivesReload() {
+        double expected = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < users.size(); i++) {
+            expected = TrendingService.logSum(expected, trendingService.halfLivesSinceEpoch(threeDaysAgo));
+        }
+        assertThat(productRepository.findById(old.getId()).orElseThrow().getTrendingActivity())
+                .isCloseTo(expected, within(1e-6));
+
+        // As after a restart: the ranking is rebuilt from the stored activity
+        trendingIndex.reload();
+        assertThat(trendingService.trending(10)).extracting(TrendingProductDto::getId)
+                .containsExactly(fresh.getId(), old.getId());
+    }
+
+    @Test
+    void newReviews_moveAProductUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = userRepository.save(new User("late" + i, "late" + i + "@example.com", "password123", Role.USER));
+            reviewService.addReview(old.getId(), user, 3, "Back in fashion");
+        }
+
+        assertThat(trendingService.trending(10)).extracting(TrendingProductDto::getId)
+                .containsExactly(old.getId(), fresh.getId());
+    }
+
+    @Test
+    void reconcile_picksUpActivityWrittenByAnotherNode() {
+        double freshActivity = productRepository.findById(fresh.getId()).orElseThrow().getTrendingActivity();
+        // Stored straight to the database, as another node's review would, so this node's index is not told
+        jdbcTemplate.update("update product set trending_activity = ? where id = ?", freshActivity + 1, quiet.getId());
+
+        assertThat(trendingService.trending(10)).extracting(TrendingProductDto::getId)
+                .containsExactly(fresh.getId(), old.getId());
+
+        trendingIndex.reconcile();
+
+        assertThat(trendingService.trending(10)).extracting(TrendingProductDto::getId)
+                .containsExactly(quiet.getId(), fresh.getId(), old.getId());
+    }
+
+    @Test
+    void trending_rejectsInvalidLimit() {
+        assertThatThrownBy(() -> trendingService.trending(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trendingService.trending(TrendingService.MAX_RESULTS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.alper.product_review_backend.stream;
+
+import com.alper.product_review_backend.event.ReviewEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewEventBusTest {
+
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private ReviewEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void publish_fansOutToTenThousandSubscribersOnOneProduct() throws InterruptedException {
+        bus = new ReviewEventBus(16, 4, SEND_TIMEOUT);
+        int subscribers = 10_000;
+        int events = 3;
+        CountDownLatch delivered = new CountDownLatch(subscribers * events);
+
+        for (int i = 0; i < subscribers; i++) {
+            bus.subscribe(1L, new CountingSink(delivered));
+        }
+        assertThat(bus.subscriberCount()).isEqualTo(subscribers);
+
+        for (int i = 0; i < events; i++) {
+            bus.publish(event(1L, i + 1L));
+        }
+
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(bus.subscriberCount()).isEqualTo(subscribers);
+    }
+
+    @Test
+    void publish_onlyReachesSubscribersOfThatProductAndTheFirehose() throws InterruptedException {
+        bus = new ReviewEventBus(16, 2, SEND_TIMEOUT);
+        CountDownLatch delivered = new CountDownLatch(2);
+        CountingSink productOne = new CountingSink(delivered);
+        CountingSink productTwo = new CountingSink(new CountDownLatch(1));
+        CountingSink firehose = new CountingSink(delivered);
+
+        bus.subscribe(1L, productOne);
+        bus.subscribe(2L, productTwo);
+        bus.subscribe(null, firehose);
+
+        bus.publish(event(1L, 1L));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(productOne.received()).isEqualTo(1);
+        assertThat(firehose.received()).isEqualTo(1);
+        assertThat(productTwo.received()).isZero();
+    }
+
+    @Test
+    void publish_dropsSlowSubscriberWithoutStallingOthers() throws InterruptedException {
+        int bufferSize = 4;
+        bus = new ReviewEventBus(bufferSize, 2, Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingSink slow = new BlockingSink(release);
+        int events = bufferSize + 2;
+        CountDownLatch fastDelivered = new CountDownLatch(events);
+        CountingSink fast = new CountingSink(fastDelivered);
+
+        ReviewEventBus.Subscription slowSubscription = bus.subscribe(1L, slow);
+        bus.subscribe(1L, fast);
+
+        for (int i = 0; i < events; i++) {
+            bus.publish(event(1L, i + 1L));
+        }
+
+        assertThat(fastDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowSubscription.isClosed()).isTrue();
+        assertThat(bus.subscriberCount()).isEqualTo(1);
+        // Its connection is closed once the blocked send is given up on, not by the publisher
+        assertThat(eventually(() -> slow.closed)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void publish_evictsStalledSendersSoOthersKeepReceiving() throws InterruptedException {
+        // A single dispatcher thread, held by the stalled subscriber until the send timeout
+        bus = new ReviewEventBus(16, 1, Duration.ofMillis(200));
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingSink stalled = new BlockingSink(release);
+        CountDownLatch delivered = new CountDownLatch(1);
+        CountingSink other = new CountingSink(delivered);
+
+        ReviewEventBus.Subscription stalledSubscription = bus.subscribe(1L, stalled);
+        bus.subscribe(2L, other);
+        bus.publish(event(1L, 1L));
+        bus.publish(event(2L, 2L));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalledSubscription.isClosed()).isTrue();
+        assertThat(eventually(() -> stalled.closed)).isTrue();
+        assertThat(bus.subscriberCount()).isEqualTo(1);
+
+        // The freed dispatcher thread keeps delivering
+        bus.publish(event(2L, 3L));
+        assertThat(eventually(() -> other.received() == 2)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void unsubscribe_stopsDelivery() throws InterruptedException {
+        bus = new ReviewEventBus(16, 1, SEND_TIMEOUT);
+        CountingSink sink = new CountingSink(new CountDownLatch(1));
+        ReviewEventBus.Subscription subscription = bus.subscribe(1L, sink);
+
+        bus.unsubscribe(subscription);
+        bus.publish(event(1L, 1L));
+
+        Thread.sleep(100);
+        assertThat(sink.received()).isZero();
+        assertThat(bus.subscriberCount()).isZero();
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private ReviewEvent event(Long productId, Long reviewId) {
+        return new ReviewEvent(ReviewEvent.Type.CREATED, productId, reviewId, 1L, "testuser",
+                5, "Great", Instant.now(), 5.0, reviewId);
+    }
+
+    private static class CountingSink implements EventSink {
+
+        private final CountDownLatch latch;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingSink(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void send(ReviewEvent event) {
+            count.incrementAndGet();
+            latch.countDown();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        int received() {
+            return count.get();
+        }
+    }
+
+    private static class BlockingSink implements EventSink {
+
+        private final CountDownLatch release;
+        private volatile boolean closed;
+
+        BlockingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(ReviewEvent event) throws IOException {
+            try {
+                // Simulates a client that stopped reading
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
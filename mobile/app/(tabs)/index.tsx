@@ -14,7 +14,7 @@ export default function HomeScreen() {
   const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [currentPage, setCurrentPage] = useState(0);
-  const [totalPages, setTotalPages] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const [showFilterModal, setShowFilterModal] = useState(false);
   const [currentSort, setCurrentSort] = useState<SortParam | undefined>(undefined);
   const [currentCategory, setCurrentCategory] = useState<Category | undefined>(undefined);
@@ -33,9 +33,9 @@ export default function HomeScreen() {
       // Otherwise use pagination
       const pageSize = category ? 1000 : 10;
       const page = await fetchProducts({ page: 0, size: pageSize, sort });
-      setItems(page.content);
+      setItems(page.items);
       setCurrentPage(0);
-      setTotalPages(category ? 1 : page.totalPages);
+      setHasMore(!category && page.nextCursor !== null);
     } catch (e: any) {
       setError(e?.message ?? String(e));
     } finally {
@@ -45,7 +45,7 @@ export default function HomeScreen() {
 
   async function loadMore() {
     // Don't paginate when category filter is active (we already loaded all)
-    if (loadingMore || currentPage >= totalPages - 1 || currentCategory) return;
+    if (loadingMore || !hasMore || currentCategory) return;
     
     try {
       setLoadingMore(true);
@@ -54,11 +54,11 @@ export default function HomeScreen() {
       setItems(prev => {
         // Deduplicate items by ID to avoid key conflicts
         const existingIds = new Set(prev.map(item => item.id));
-        const newItems = page.content.filter(item => !existingIds.has(item.id));
+        const newItems = page.items.filter(item => !existingIds.has(item.id));
         return [...prev, ...newItems];
       });
       setCurrentPage(nextPage);
-      setTotalPages(page.totalPages);
+      setHasMore(page.nextCursor !== null);
     } catch (e: any) {
       console.error('Failed to load more:', e);
     } finally {
@@ -23,7 +23,7 @@ export default function ProductDetailScreen() {
   const [loadingReviews, setLoadingReviews] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [currentPage, setCurrentPage] = useState(0);
-  const [totalPages, setTotalPages] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const [showReviewModal, setShowReviewModal] = useState(false);
 
   const loadProduct = useCallback(async () => {
@@ -37,9 +37,9 @@ export default function ProductDetailScreen() {
       ]);
 
       setProduct(productData);
-      setReviews(reviewsData.content || []);
+      setReviews(reviewsData.items || []);
       setCurrentPage(0);
-      setTotalPages(reviewsData.totalPages || 0);
+      setHasMore(reviewsData.nextCursor !== null);
     } catch (e: any) {
       setError(e?.message ?? String(e));
     } finally {
@@ -48,7 +48,7 @@ export default function ProductDetailScreen() {
   }, [productId]);
 
   async function loadMoreReviews() {
-    if (loadingReviews || currentPage >= totalPages - 1) return;
+    if (loadingReviews || !hasMore) return;
 
     try {
       setLoadingReviews(true);
@@ -57,9 +57,9 @@ export default function ProductDetailScreen() {
         page: nextPage,
         size: 10,
       });
-      setReviews((prev) => [...prev, ...(reviewsData.content || [])]);
+      setReviews((prev) => [...prev, ...(reviewsData.items || [])]);
       setCurrentPage(nextPage);
-      setTotalPages(reviewsData.totalPages || 0);
+      setHasMore(reviewsData.nextCursor !== null);
     } catch (e: any) {
       console.error("Failed to load more reviews:", e);
     } finally {
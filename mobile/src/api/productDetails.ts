@@ -49,11 +49,9 @@ export async function fetchProductReviews(
   // Handle both paginated response and direct array response
   if (Array.isArray(response)) {
     return {
-      content: response,
-      totalPages: 1,
-      totalElements: response.length,
-      number: 0,
-      size: response.length,
+      items: response,
+      nextCursor: null,
+      total: response.length,
     };
   }
   
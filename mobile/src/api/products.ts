@@ -23,11 +23,9 @@ export interface ProductListItem {
 }
 
 export interface PageResponse<T> {
-  content: T[];
-  totalPages: number;
-  totalElements: number;
-  number: number; // current page index
-  size: number;
+  items: T[];
+  nextCursor: string | null; // null on the last page
+  total?: number; // only sent with includeTotal=true
 }
 
 export async function fetchProducts(params?: {